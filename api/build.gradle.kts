@@ -1,5 +1,6 @@
 plugins {
     id("creative.publishing-conventions")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 description = "A resource-pack library for Minecraft: Java Edition."
@@ -10,4 +11,11 @@ dependencies {
     api("net.kyori:adventure-api:4.24.0")
     api("com.google.code.gson:gson:2.13.1")
     implementation("net.kyori:adventure-text-serializer-legacy:4.24.0")
-}
\ No newline at end of file
+}
+
+// benchmarks in src/jmh, run with ./gradlew :creative-api:jmh
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compares the ways of copying {@link Writable} data to an output
+ * stream, for the files resource packs are mostly made of: PNG
+ * textures of 16x16, 64x64 and 256x256 pixels, and a sound of a few
+ * seconds (compressed audio, like an OGG file).
+ *
+ * <p>Data is copied into a presized {@link ByteArrayOutputStream}
+ * that is reset before each copy, so every benchmark actually writes
+ * all the bytes.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WritableCopyBenchmark {
+    @Param({"texture16", "texture64", "texture256", "sound"})
+    public String payload;
+
+    private byte[] data;
+    private Path file;
+    private ByteArrayOutputStream output;
+    private Writable fileWritable;
+    private Writable streamWritable;
+    private Writable directWritable;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        data = switch (payload) {
+            case "texture16" -> texture(16);
+            case "texture64" -> texture(64);
+            case "texture256" -> texture(256);
+            case "sound" -> sound(5);
+            default -> throw new IllegalArgumentException("Unknown payload: " + payload);
+        };
+        output = new ByteArrayOutputStream(data.length);
+        file = Files.createTempFile("creative-benchmark", ".bin");
+        Files.write(file, data);
+        fileWritable = Writable.path(file);
+        streamWritable = Writable.inputStream(() -> new ByteArrayInputStream(data));
+        final ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        directWritable = new ByteBufferWritable(direct.asReadOnlyBuffer());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Creates a PNG texture with a gradient and some noise,
+     * which compresses like a hand-drawn texture.
+     */
+    private static byte[] texture(final int size) throws IOException {
+        final SplittableRandom random = new SplittableRandom(size);
+        final BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                final int shade = (x + y) * 255 / (size * 2) + random.nextInt(16);
+                image.setRGB(x, y, 0xFF000000 | shade << 16 | (255 - shade) << 8 | random.nextInt(256));
+            }
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Creates a compressed 16-bit mono sound (a noisy tone) of the
+     * given seconds, its data has the entropy of an OGG file.
+     */
+    private static byte[] sound(final int seconds) throws IOException {
+        final SplittableRandom random = new SplittableRandom(seconds);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (final DeflaterOutputStream deflater = new DeflaterOutputStream(output, new Deflater(Deflater.BEST_SPEED))) {
+            for (int i = 0; i < seconds * 44100; i++) {
+                final int sample = (int) (Math.sin(i * 0.05) * 8000) + random.nextInt(-2000, 2000);
+                deflater.write(sample);
+                deflater.write(sample >> 8);
+            }
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * The copy loop used before, with a new buffer
+     * of {@link Writable#DEFAULT_BUFFER_LENGTH} bytes.
+     */
+    @Benchmark
+    public int legacyLoop() throws IOException {
+        output.reset();
+        try (final InputStream input = new ByteArrayInputStream(data)) {
+            final byte[] buffer = new byte[Writable.DEFAULT_BUFFER_LENGTH];
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                output.write(buffer, 0, length);
+            }
+        }
+        return output.size();
+    }
+
+    /**
+     * Copy from a stream that doesn't override transferTo, so
+     * the pooled buffer is used.
+     */
+    @Benchmark
+    public int pooledLoop() throws IOException {
+        output.reset();
+        try (final InputStream input = new FilterInputStream(new ByteArrayInputStream(data)) {}) {
+            Buffers.copy(input, output);
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    public int inputStreamWritable() throws IOException {
+        output.reset();
+        streamWritable.write(output);
+        return output.size();
+    }
+
+    @Benchmark
+    public int pathWritable() throws IOException {
+        output.reset();
+        fileWritable.write(output);
+        return output.size();
+    }
+
+    @Benchmark
+    public int directBufferWritable() throws IOException {
+        output.reset();
+        directWritable.write(output);
+        return output.size();
+    }
+}
@@ -38,6 +38,7 @@ import team.unnamed.creative.metadata.pack.PackMeta;
 import team.unnamed.creative.metadata.sodium.SodiumMeta;
 import team.unnamed.creative.overlay.Overlay;
 import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.resources.MergeStrategy;
 
 import java.util.Collection;
 import java.util.function.Consumer;
@@ -68,6 +69,26 @@ public interface ResourcePack extends ResourceContainer {
         return new ResourcePackImpl();
     }
 
+    /**
+     * Creates a new, empty, thread-safe resource-pack instance.
+     *
+     * <p>Resources, overlays, the icon and the metadata can be set
+     * from multiple threads at the same time, e.g. by plugins that
+     * register their resources in parallel. Resources and overlays
+     * are iterated in the order of their keys, so that the written
+     * resource-pack doesn't depend on the order they were added in.</p>
+     *
+     * <p>Compound operations, like {@link #merge(ResourceContainer, MergeStrategy)}
+     * or {@link #editMetadata(Consumer)}, are not atomic.
+     * Use {@link #snapshot()} to get a consistent view for writing.</p>
+     *
+     * @return A new thread-safe resource-pack instance
+     * @since 1.13.0
+     */
+    static @NotNull ResourcePack concurrentResourcePack() {
+        return new ResourcePackImpl(true);
+    }
+
     /**
      * Creates a new, empty resource-pack instance.
      *
@@ -217,6 +238,52 @@ public interface ResourcePack extends ResourceContainer {
     }
     //#endregion
 
+    /**
+     * Creates an immutable snapshot of the current state of this
+     * resource pack, including its overlays.
+     *
+     * <p>The snapshot shares the resources of this pack, so it is
+     * created in constant time (per overlay). Changes made to this
+     * pack after the snapshot is taken are not visible in the snapshot:
+     * every resource category is copied the first time it is modified
+     * after taking the snapshot.</p>
+     *
+     * <p>Snapshots can be safely read (e.g. written or served) from
+     * other threads while this pack keeps being modified. Trying to
+     * modify a snapshot throws an {@link UnsupportedOperationException}.</p>
+     *
+     * <p>The default implementation copies the contents of this pack
+     * into a new resource pack and returns its snapshot.</p>
+     *
+     * @return The resource pack snapshot, or this pack if it is already a snapshot
+     * @since 1.13.0
+     */
+    default @NotNull ResourcePack snapshot() {
+        final ResourcePack copy = resourcePack();
+        copy.merge(this, MergeStrategy.override());
+        return copy.snapshot();
+    }
+
+    /**
+     * Creates a mutable copy of this resource pack, including its
+     * overlays, it can be used to create a new version of a
+     * {@link #snapshot()}.
+     *
+     * <p>Like snapshots, copies share the resources of this pack
+     * until either of them is modified.</p>
+     *
+     * <p>The default implementation merges the contents of this
+     * pack into a new resource pack.</p>
+     *
+     * @return The resource pack copy
+     * @since 1.13.0
+     */
+    default @NotNull ResourcePack copy() {
+        final ResourcePack copy = resourcePack();
+        copy.merge(this, MergeStrategy.override());
+        return copy;
+    }
+
     /**
      * Adds or sets an overlay to this resource-pack.
      *
@@ -29,25 +29,76 @@ import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.metadata.Metadata;
 import team.unnamed.creative.metadata.MetadataPart;
 import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
 import team.unnamed.creative.metadata.pack.PackMeta;
 import team.unnamed.creative.overlay.Overlay;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.overlay.ResourceContainerImpl;
+import team.unnamed.creative.resources.MergeConflict;
 import team.unnamed.creative.resources.MergeStrategy;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import static java.util.Objects.requireNonNull;
 
 final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePack {
 
-    private final Map<String, Overlay> overlays = new LinkedHashMap<>();
+    private final Map<String, Overlay> overlays;
 
-    private @Nullable Writable icon;
-    private Metadata metadata;
+    private volatile @Nullable Writable icon;
+    private volatile Metadata metadata;
+
+    ResourcePackImpl() {
+        this(false);
+    }
+
+    ResourcePackImpl(final boolean concurrent) {
+        super(concurrent);
+        this.overlays = concurrent ? new ConcurrentSkipListMap<>() : new LinkedHashMap<>();
+    }
+
+    private ResourcePackImpl(final @NotNull ResourcePackImpl source, final boolean mutable) {
+        super(source, mutable);
+        this.overlays = source.overlays instanceof ConcurrentSkipListMap ? new ConcurrentSkipListMap<>() : new LinkedHashMap<>();
+        this.icon = source.icon;
+        this.metadata = source.metadata;
+        // overlays are containers too, they are copied in
+        // the same way (there are only a few of them)
+        for (final Overlay overlay : source.overlays.values()) {
+            this.overlays.put(overlay.directory(), copyOverlay(overlay, mutable));
+        }
+    }
+
+    private static @NotNull Overlay copyOverlay(final @NotNull Overlay overlay, final boolean mutable) {
+        if (overlay instanceof ResourceContainerImpl container) {
+            return (Overlay) container.copy(mutable);
+        }
+        // unknown implementation, copy its contents
+        final Overlay copy = Overlay.overlay(overlay.directory());
+        copy.merge(overlay, MergeStrategy.override());
+        return mutable ? copy : (Overlay) ((ResourceContainerImpl) copy).copy(false);
+    }
+
+    @Override
+    public @NotNull ResourcePackImpl copy(final boolean mutable) {
+        return new ResourcePackImpl(this, mutable);
+    }
+
+    @Override
+    public @NotNull ResourcePack snapshot() {
+        return mutable() ? copy(false) : this;
+    }
+
+    @Override
+    public @NotNull ResourcePack copy() {
+        return copy(true);
+    }
 
     @Override
     public @Nullable Writable icon() {
@@ -56,6 +107,7 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
 
     @Override
     public void icon(final @Nullable Writable icon) {
+        checkMutable();
         this.icon = icon;
     }
 
@@ -67,12 +119,14 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
     @Override
     public void metadata(final @NotNull Metadata metadata) {
         requireNonNull(metadata, "metadata");
+        checkMutable();
         this.metadata = metadata;
     }
 
     @Override
     public void overlay(final @NotNull Overlay overlay) {
         requireNonNull(overlay, "overlay");
+        checkMutable();
         overlays.put(overlay.directory(), overlay);
     }
 
@@ -84,90 +138,180 @@ final class ResourcePackImpl extends ResourceContainerImpl implements ResourcePa
 
     @Override
     public @NotNull Collection<Overlay> overlays() {
-        return overlays.values();
+        return mutable() ? overlays.values() : Collections.unmodifiableCollection(overlays.values());
     }
 
     @Override
-    public void merge(final @NotNull ResourceContainer other, final @NotNull MergeStrategy strategy) {
-        super.merge(other, strategy);
+    public @NotNull Runnable prepareMerge(
+            final @NotNull Collection<? extends ResourceContainer> others,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable List<MergeConflict> conflicts
+    ) {
+        // the resources, icon, metadata and overlays are all merged before
+        // writing any of them, so that a failed merge leaves this pack unchanged
+        final Runnable resources = super.prepareMerge(others, strategy, conflicts);
 
-        if (!(other instanceof ResourcePack otherPack)) {
-            return;
+        Writable icon = this.icon;
+        Metadata metadata = this.metadata;
+        // group overlays by directory, so that each of them is merged once
+        final Map<String, List<Overlay>> overlaysByDirectory = new LinkedHashMap<>();
+        for (final ResourceContainer other : others) {
+            if (!(other instanceof ResourcePack otherPack)) {
+                continue;
+            }
+            icon = mergeIcon(icon, otherPack.icon(), strategy, conflicts);
+            metadata = mergeMetadata(metadata, otherPack.metadata(), strategy, conflicts);
+            for (final Overlay overlay : otherPack.overlays()) {
+                overlaysByDirectory.computeIfAbsent(overlay.directory(), k -> new ArrayList<>()).add(overlay);
+            }
         }
 
-        // merge ResourcePack properties
-
-        // merge icon
-        final Writable newIcon = otherPack.icon();
-        if (strategy == MergeStrategy.override()) {
-            if (newIcon != null) {
-                icon = newIcon;
+        final List<Runnable> overlayWrites = new ArrayList<>();
+        for (final Map.Entry<String, List<Overlay>> entry : overlaysByDirectory.entrySet()) {
+            final String directory = entry.getKey();
+            final List<Overlay> group = entry.getValue();
+            final List<MergeConflict> overlayConflicts = conflicts == null ? null : new ArrayList<>();
+            final Overlay existingOverlay = overlays.get(directory);
+            if (existingOverlay instanceof ResourceContainerImpl container) {
+                overlayWrites.add(container.prepareMerge(group, strategy, overlayConflicts));
+            } else {
+                // copied, so that merging into it doesn't modify the other pack, it
+                // is only visible (replacing an unknown implementation) once written
+                final Overlay overlay = existingOverlay == null
+                        ? copyOverlay(group.remove(0), true)
+                        : copyOverlay(existingOverlay, true);
+                if (!group.isEmpty()) {
+                    ((ResourceContainerImpl) overlay).prepareMerge(group, strategy, overlayConflicts).run();
+                }
+                overlayWrites.add(() -> overlays.put(directory, overlay));
             }
-        } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-            if (newIcon != null && icon != null) {
-                throw new IllegalStateException("Can't merge resource packs, icons are already set for both packs");
-            } else if (newIcon != null) {
-                icon = newIcon;
+            if (overlayConflicts != null) {
+                for (final MergeConflict conflict : overlayConflicts) {
+                    conflicts.add(MergeConflict.of(conflict.type(), directory + '/' + conflict.key(), conflict.message()));
+                }
             }
-        } else if (strategy == MergeStrategy.mergeAndKeepFirstOnError()) {
-            if (icon == null && newIcon != null) {
-                icon = newIcon;
+        }
+
+        final Writable mergedIcon = icon;
+        final Metadata mergedMetadata = metadata;
+        return () -> {
+            resources.run();
+            this.icon = mergedIcon;
+            this.metadata = mergedMetadata;
+            for (final Runnable overlayWrite : overlayWrites) {
+                overlayWrite.run();
             }
+        };
+    }
+
+    private static @Nullable Writable mergeIcon(
+            final @Nullable Writable icon,
+            final @Nullable Writable newIcon,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable List<MergeConflict> conflicts
+    ) {
+        if (newIcon == null) {
+            return icon;
+        }
+        if (icon == null || newIcon.equals(icon)) {
+            return newIcon;
         }
+        conflict(conflicts, strategy, Writable.class, "pack.png",
+                "Can't merge resource packs, icons are already set for both packs");
+        return strategy.fallback() == MergeStrategy.override() ? newIcon : icon;
+    }
 
-        // merge metadata
-        final Metadata newMetadata = otherPack.metadata();
-        if (metadata == null || strategy == MergeStrategy.override()) {
-            metadata = newMetadata;
+    private static @NotNull Metadata mergeMetadata(
+            final @Nullable Metadata metadata,
+            final @NotNull Metadata newMetadata,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable List<MergeConflict> conflicts
+    ) {
+        if (metadata == null) {
+            return newMetadata;
+        } else if (strategy.fallback() == MergeStrategy.override()) {
+            final OverlaysMeta oldOverlaysMeta = metadata.meta(OverlaysMeta.class);
+            final OverlaysMeta newOverlaysMeta = newMetadata.meta(OverlaysMeta.class);
+            if (oldOverlaysMeta == null) {
+                return newMetadata;
+            } else if (newOverlaysMeta == null) {
+                // overlays of this pack are kept, so are their entries
+                return newMetadata.toBuilder().addPart(oldOverlaysMeta).build();
+            } else {
+                // overlays of this pack are kept, so are their entries
+                return newMetadata.toBuilder()
+                        .addPart(mergeOverlaysMeta(oldOverlaysMeta, newOverlaysMeta, strategy, conflicts))
+                        .build();
+            }
         } else {
-            // O(n^2) :C
-            final Collection<MetadataPart> oldParts = new HashSet<>(metadata.parts());
+            final Map<Class<?>, MetadataPart> parts = new LinkedHashMap<>();
+            for (final MetadataPart part : metadata.parts()) {
+                parts.put(part.type(), part);
+            }
             for (final MetadataPart part : newMetadata.parts()) {
-                // special case for pack meta merging
-                if (part.type() == PackMeta.class) {
-                    final PackMeta oldPackMeta = metadata.meta(PackMeta.class);
-                    if (oldPackMeta == null || strategy == MergeStrategy.override()) {
-                        // if the receptor resource pack doesn't have a pack meta,
-                        // or we want to override, just use the one from the other
-                        // resource pack
-                        oldParts.add(part);
-                    } else {
-                        // merge formats, keep receptor resource pack description
-                        final PackMeta newPackMeta = (PackMeta) part;
-                        oldParts.add(PackMeta.of(
-                                oldPackMeta.formats().union(newPackMeta.formats()),
-                                oldPackMeta.description() // keep base description
-                        ));
-                    }
-                    continue;
-                }
-                boolean duplicate = false;
-                for (final MetadataPart oldPart : oldParts) {
-                    if (oldPart.type() == part.type()) {
-                        duplicate = true;
-                        break;
-                    }
-                }
-                if (duplicate && strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new IllegalStateException("Can't merge resource packs, metadata part of type " +
-                            part.type().getSimpleName() + " is already set for both packs");
+                final MetadataPart oldPart = parts.get(part.type());
+                if (oldPart == null) {
+                    parts.put(part.type(), part);
+                } else if (part.type() == PackMeta.class) {
+                    // merge formats, keep receptor resource pack description
+                    final PackMeta oldPackMeta = (PackMeta) oldPart;
+                    final PackMeta newPackMeta = (PackMeta) part;
+                    parts.put(PackMeta.class, PackMeta.of(
+                            oldPackMeta.formats().union(newPackMeta.formats()),
+                            oldPackMeta.description() // keep base description
+                    ));
+                } else if (part.type() == OverlaysMeta.class) {
+                    // overlays are merged by directory, so are their entries
+                    parts.put(OverlaysMeta.class, mergeOverlaysMeta((OverlaysMeta) oldPart, (OverlaysMeta) part, strategy, conflicts));
+                } else if (!oldPart.equals(part)) {
+                    conflict(conflicts, strategy, part.type(), "pack.mcmeta",
+                            "Can't merge resource packs, metadata part of type " +
+                                    part.type().getSimpleName() + " is already set for both packs");
                 }
-
-                oldParts.add(part);
             }
-            metadata = Metadata.metadata()
-                    .parts(oldParts)
+            return Metadata.metadata()
+                    .parts(parts.values())
                     .build();
         }
+    }
 
-        // merge overlays
-        for (final Overlay overlay : otherPack.overlays()) {
-            final Overlay existingOverlay = overlays.get(overlay.directory());
-            if (existingOverlay == null) {
-                overlays.put(overlay.directory(), overlay);
-            } else {
-                existingOverlay.merge(overlay, strategy);
+    private static @NotNull OverlaysMeta mergeOverlaysMeta(
+            final @NotNull OverlaysMeta oldOverlaysMeta,
+            final @NotNull OverlaysMeta newOverlaysMeta,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable List<MergeConflict> conflicts
+    ) {
+        final Map<String, OverlayEntry> entries = new LinkedHashMap<>();
+        for (final OverlayEntry entry : oldOverlaysMeta.entries()) {
+            entries.put(entry.directory(), entry);
+        }
+        for (final OverlayEntry entry : newOverlaysMeta.entries()) {
+            final OverlayEntry oldEntry = entries.get(entry.directory());
+            if (oldEntry == null) {
+                entries.put(entry.directory(), entry);
+            } else if (!oldEntry.formats().equals(entry.formats())) {
+                conflict(conflicts, strategy, OverlayEntry.class, entry.directory(),
+                        "Can't merge resource packs, overlay '" + entry.directory()
+                                + "' is declared for different pack formats in both packs");
+                if (strategy.fallback() == MergeStrategy.override()) {
+                    entries.put(entry.directory(), entry);
+                }
             }
         }
+        return OverlaysMeta.of(new ArrayList<>(entries.values()));
+    }
+
+    private static void conflict(
+            final @Nullable List<MergeConflict> conflicts,
+            final @NotNull MergeStrategy strategy,
+            final @NotNull Class<?> type,
+            final @NotNull String key,
+            final @NotNull String message
+    ) {
+        if (conflicts != null) {
+            conflicts.add(MergeConflict.of(type, key, message));
+        } else if (strategy.fallback() == MergeStrategy.mergeAndFailOnError()) {
+            throw new IllegalStateException(message);
+        }
     }
 }
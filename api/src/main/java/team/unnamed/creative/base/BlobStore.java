@@ -0,0 +1,151 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Storage for binary payloads, such as texture and sound data,
+ * that returns {@link Writable} instances backed by the stored
+ * data.
+ *
+ * <p>It can be used to control where the payloads of a large
+ * resource pack live, e.g. outside the Java heap, since
+ * builders accept any {@link Writable} and readers can be
+ * configured to use a store for the files they read.</p>
+ *
+ * <p>Closing a store releases its resources, the writable
+ * instances it returned must not be used after that.</p>
+ *
+ * @since 1.13.0
+ */
+public interface BlobStore extends AutoCloseable {
+    /**
+     * Returns a {@link BlobStore} that keeps data in byte
+     * arrays in the Java heap, this is the default behavior
+     * of {@link Writable#copyInputStream(InputStream)}.
+     *
+     * @return The heap blob store
+     * @since 1.13.0
+     */
+    static @NotNull BlobStore heap() {
+        return HeapBlobStore.INSTANCE;
+    }
+
+    /**
+     * Returns a {@link BlobStore} that keeps data in direct
+     * {@link java.nio.ByteBuffer byte buffers}, outside the
+     * Java heap.
+     *
+     * <p>Direct memory is released when the returned writable
+     * instances are garbage collected, and it is limited by the
+     * {@code -XX:MaxDirectMemorySize} JVM option.</p>
+     *
+     * @return The off-heap blob store
+     * @since 1.13.0
+     */
+    static @NotNull BlobStore direct() {
+        return DirectBlobStore.INSTANCE;
+    }
+
+    /**
+     * Returns a new {@link BlobStore} that keeps the most recently
+     * used data in memory, as long as the total does not exceed the
+     * given memory budget. Least recently used data is spilled to
+     * temporary files in the given directory, and read back when
+     * needed.
+     *
+     * <p>Spilled files are deleted when the store is closed.</p>
+     *
+     * @param directory    The directory for spilled files, created if needed
+     * @param memoryBudget The maximum number of bytes to keep in memory
+     * @return The spilling blob store
+     * @since 1.13.0
+     */
+    static @NotNull BlobStore spilling(final @NotNull Path directory, final long memoryBudget) {
+        return new SpillingBlobStore(directory, memoryBudget);
+    }
+
+    /**
+     * Reads the given {@link InputStream} fully and stores its data.
+     *
+     * <p>Note that this method WILL NOT close the given stream.</p>
+     *
+     * @param input The input stream to read
+     * @return The writable representation of the stored data
+     * @throws IOException If reading fails
+     * @since 1.13.0
+     */
+    @NotNull Writable store(final @NotNull InputStream input) throws IOException;
+
+    /**
+     * Stores a copy of the given bytes.
+     *
+     * @param bytes The bytes to store
+     * @return The writable representation of the stored data
+     * @since 1.13.0
+     */
+    default @NotNull Writable store(final byte @NotNull [] bytes) {
+        requireNonNull(bytes, "bytes");
+        try {
+            return store(new ByteArrayInputStream(bytes));
+        } catch (final IOException e) {
+            // byte array input streams do not throw
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Opens, reads and stores the given {@link Readable} data.
+     *
+     * @param readable The readable to store
+     * @return The writable representation of the stored data
+     * @throws IOException If reading fails
+     * @since 1.13.0
+     */
+    default @NotNull Writable store(final @NotNull Readable readable) throws IOException {
+        requireNonNull(readable, "readable");
+        try (final InputStream input = readable.open()) {
+            return store(input);
+        }
+    }
+
+    /**
+     * Releases the resources held by this store, the heap
+     * and direct stores do not hold any.
+     *
+     * @throws IOException If releasing fails
+     * @since 1.13.0
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
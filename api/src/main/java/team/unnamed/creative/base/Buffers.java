@@ -0,0 +1,101 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A small pool of the byte arrays used to copy data between
+ * streams, so that copying many small files (like textures and
+ * sounds) doesn't allocate a new buffer for each of them.
+ */
+final class Buffers {
+    static final int BUFFER_LENGTH = 16384;
+
+    // enough for the threads copying at the same time in most cases,
+    // buffers acquired when the pool is empty are just allocated
+    private static final ArrayBlockingQueue<byte[]> POOL = new ArrayBlockingQueue<>(32);
+
+    // whether each input stream class overrides InputStream#transferTo
+    private static final ClassValue<Boolean> OVERRIDES_TRANSFER_TO = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final @NotNull Class<?> type) {
+            try {
+                return type.getMethod("transferTo", OutputStream.class).getDeclaringClass() != InputStream.class;
+            } catch (final NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private Buffers() {
+    }
+
+    /**
+     * Takes a buffer from the pool, or allocates a new one if it is
+     * empty, it must be given back using {@link #release(byte[])}.
+     */
+    static byte @NotNull [] acquire() {
+        final byte[] buffer = POOL.poll();
+        return buffer == null ? new byte[BUFFER_LENGTH] : buffer;
+    }
+
+    /**
+     * Gives a buffer back to the pool, it is discarded if the pool is full.
+     */
+    static void release(final byte @NotNull [] buffer) {
+        POOL.offer(buffer);
+    }
+
+    /**
+     * Copies the remaining data of the given input stream to the given
+     * output stream. Neither of them is closed.
+     *
+     * <p>Streams that override {@link InputStream#transferTo(OutputStream)}
+     * (e.g. byte array and file streams, which write without an
+     * intermediate buffer) use it, other streams use a pooled buffer.</p>
+     */
+    static long copy(final @NotNull InputStream input, final @NotNull OutputStream output) throws IOException {
+        if (OVERRIDES_TRANSFER_TO.get(input.getClass())) {
+            return input.transferTo(output);
+        }
+        final byte[] buffer = acquire();
+        try {
+            long transferred = 0;
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                output.write(buffer, 0, length);
+                transferred += length;
+            }
+            return transferred;
+        } finally {
+            release(buffer);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Writable} backed by a byte array owned by this
+ * instance, its length is always known and its checksums
+ * are computed once, when first requested.
+ */
+class ByteArrayWritable implements Writable {
+    private final byte[] bytes;
+    private final String name;
+
+    private @Nullable String sha1;
+    private long crc32 = -1L;
+
+    ByteArrayWritable(final byte @NotNull [] bytes, final @NotNull String name) {
+        this.bytes = requireNonNull(bytes, "bytes");
+        this.name = requireNonNull(name, "name");
+    }
+
+    @Override
+    public void write(final @NotNull OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        output.write(bytes);
+    }
+
+    @Override
+    public byte @NotNull [] toByteArray() {
+        return bytes.clone();
+    }
+
+    @Override
+    public @NotNull String toUTF8String() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public long length() {
+        return bytes.length;
+    }
+
+    @Override
+    public @NotNull String sha1() {
+        // racy, but always computes the same value
+        String hash = sha1;
+        if (hash == null) {
+            hash = Checksums.sha1(bytes);
+            sha1 = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public long crc32() {
+        long checksum = crc32;
+        if (checksum == -1L) {
+            final CRC32 crc = new CRC32();
+            crc.update(bytes);
+            checksum = crc.getValue();
+            crc32 = checksum;
+        }
+        return checksum;
+    }
+
+    @Override
+    public void transferTo(final @NotNull WritableByteChannel channel) throws IOException {
+        requireNonNull(channel, "channel");
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public @NotNull ByteBuffer asByteBuffer() {
+        // no copy needed, the view can't modify the array
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return name;
+    }
+}
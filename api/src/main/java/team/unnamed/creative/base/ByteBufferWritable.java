@@ -0,0 +1,125 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Writable} backed by a read-only {@link ByteBuffer},
+ * that may be direct (off-heap). Every operation works on a
+ * duplicate of the buffer, so it is safe to use concurrently.
+ */
+final class ByteBufferWritable implements Writable {
+    private final ByteBuffer buffer;
+
+    private @Nullable String sha1;
+    private long crc32 = -1L;
+
+    ByteBufferWritable(final @NotNull ByteBuffer buffer) {
+        this.buffer = requireNonNull(buffer, "buffer");
+    }
+
+    @Override
+    public void write(final @NotNull OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        final ByteBuffer source = buffer.duplicate();
+        // copied to the heap in chunks, using a pooled buffer
+        final byte[] chunk = Buffers.acquire();
+        try {
+            while (source.hasRemaining()) {
+                final int length = Math.min(chunk.length, source.remaining());
+                source.get(chunk, 0, length);
+                output.write(chunk, 0, length);
+            }
+        } finally {
+            Buffers.release(chunk);
+        }
+    }
+
+    @Override
+    public byte @NotNull [] toByteArray() {
+        final ByteBuffer source = buffer.duplicate();
+        final byte[] bytes = new byte[source.remaining()];
+        source.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public long length() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public @NotNull String sha1() {
+        String hash = sha1;
+        if (hash == null) {
+            final MessageDigest digest = Checksums.sha1Digest();
+            digest.update(buffer.duplicate());
+            hash = Checksums.hex(digest.digest());
+            sha1 = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public long crc32() {
+        long checksum = crc32;
+        if (checksum == -1L) {
+            final CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            checksum = crc.getValue();
+            crc32 = checksum;
+        }
+        return checksum;
+    }
+
+    @Override
+    public void transferTo(final @NotNull WritableByteChannel channel) throws IOException {
+        requireNonNull(channel, "channel");
+        final ByteBuffer source = buffer.duplicate();
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    @Override
+    public @NotNull ByteBuffer asByteBuffer() {
+        return buffer.duplicate();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Writable.byteBuffer";
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Utility methods for computing the checksums of
+ * {@link Writable} data.
+ */
+final class Checksums {
+    private Checksums() {
+    }
+
+    static @NotNull MessageDigest sha1Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot find SHA-1 algorithm", e);
+        }
+    }
+
+    static @NotNull String sha1(final byte @NotNull [] bytes) {
+        return hex(sha1Digest().digest(bytes));
+    }
+
+    static @NotNull String sha1(final @NotNull Writable writable) throws IOException {
+        final MessageDigest digest = sha1Digest();
+        try (final OutputStream output = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            writable.write(output);
+        }
+        return hex(digest.digest());
+    }
+
+    static long crc32(final @NotNull Writable writable) throws IOException {
+        final CRC32 crc = new CRC32();
+        try (final OutputStream output = new CheckedOutputStream(OutputStream.nullOutputStream(), crc)) {
+            writable.write(output);
+        }
+        return crc.getValue();
+    }
+
+    static @NotNull String hex(final byte @NotNull [] bytes) {
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static java.util.Objects.requireNonNull;
+
+final class DirectBlobStore implements BlobStore {
+    static final BlobStore INSTANCE = new DirectBlobStore();
+
+    private DirectBlobStore() {
+    }
+
+    @Override
+    public @NotNull Writable store(final @NotNull InputStream input) throws IOException {
+        requireNonNull(input, "input");
+        // the heap array is short-lived, only the direct buffer is kept
+        return store0(input.readAllBytes());
+    }
+
+    @Override
+    public @NotNull Writable store(final byte @NotNull [] bytes) {
+        requireNonNull(bytes, "bytes");
+        return store0(bytes);
+    }
+
+    private static @NotNull Writable store0(final byte @NotNull [] bytes) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return new ByteBufferWritable(buffer.asReadOnlyBuffer());
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "BlobStore.direct";
+    }
+}
@@ -26,7 +26,6 @@ package team.unnamed.creative.base;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -77,11 +76,7 @@ public interface Readable {
     default void readAndWrite(final @NotNull OutputStream output) {
         requireNonNull(output, "output");
         try (final InputStream input = this.open()) {
-            final byte[] buf = new byte[Writable.DEFAULT_BUFFER_LENGTH];
-            int len;
-            while ((len = input.read(buf)) != -1) {
-                output.write(buf, 0, len);
-            }
+            Buffers.copy(input, output);
         } catch (final IOException e) {
             throw new UncheckedIOException("Failed to read and write", e);
         }
@@ -97,9 +92,11 @@ public interface Readable {
      * @since 1.0.0
      */
     default byte @NotNull [] readAsByteArray() {
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-        readAndWrite(output);
-        return output.toByteArray();
+        try (final InputStream input = this.open()) {
+            return input.readAllBytes();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read", e);
+        }
     }
 
     /**
@@ -163,7 +160,7 @@ public interface Readable {
      */
     static @NotNull Readable file(final @NotNull File file) {
         requireNonNull(file, "file");
-        return () -> Files.newInputStream(file.toPath());
+        return path(file.toPath());
     }
 
     /**
@@ -179,7 +176,37 @@ public interface Readable {
     static @NotNull Readable path(final @NotNull Path path, final @NotNull OpenOption @NotNull ... options) {
         requireNonNull(path, "path");
         requireNonNull(options, "options");
-        return () -> Files.newInputStream(path, options);
+        if (options.length != 0) {
+            return () -> Files.newInputStream(path, options);
+        }
+        return new Readable() {
+
+            @Override
+            public @NotNull InputStream open() throws IOException {
+                return Files.newInputStream(path);
+            }
+
+            @Override
+            public byte @NotNull [] readAsByteArray() {
+                try {
+                    // presized to the file size
+                    return Files.readAllBytes(path);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException("Failed to read " + path, e);
+                }
+            }
+
+            @Override
+            public @NotNull Writable asWritable() {
+                return Writable.path(path);
+            }
+
+            @Override
+            public @NotNull String toString() {
+                return "Readable.path { path='" + path + "' }";
+            }
+
+        };
     }
 
     /**
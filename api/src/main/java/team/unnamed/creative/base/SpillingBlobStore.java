@@ -0,0 +1,278 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link BlobStore} that keeps the most recently used data in
+ * memory, up to a budget, and spills the rest to files in a
+ * directory, reading them back when needed.
+ */
+final class SpillingBlobStore implements BlobStore {
+    private final Path directory;
+    private final long memoryBudget;
+
+    // blobs whose data is in memory, in least to most recently used order
+    private final Map<Blob, byte[]> memory = new LinkedHashMap<>(16, 0.75F, true);
+    private long memoryUsed;
+
+    private final List<Path> files = new ArrayList<>();
+    private boolean closed;
+
+    SpillingBlobStore(final @NotNull Path directory, final long memoryBudget) {
+        this.directory = requireNonNull(directory, "directory");
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Memory budget must be non-negative, got " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+    }
+
+    @Override
+    public @NotNull Writable store(final @NotNull InputStream input) throws IOException {
+        requireNonNull(input, "input");
+        return store0(input.readAllBytes());
+    }
+
+    @Override
+    public @NotNull Writable store(final byte @NotNull [] bytes) {
+        requireNonNull(bytes, "bytes");
+        try {
+            return store0(bytes.clone());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to spill data to " + directory, e);
+        }
+    }
+
+    private synchronized @NotNull Writable store0(final byte @NotNull [] bytes) throws IOException {
+        ensureOpen();
+        final Blob blob = new Blob(bytes.length);
+        if (bytes.length > memoryBudget) {
+            // would never fit in memory, spill directly
+            spill(blob, bytes);
+        } else {
+            cache(blob, bytes);
+        }
+        return blob;
+    }
+
+    private void cache(final @NotNull Blob blob, final byte @NotNull [] bytes) throws IOException {
+        memory.put(blob, bytes);
+        memoryUsed += bytes.length;
+
+        // evict the least recently used data until we are in budget
+        final Iterator<Map.Entry<Blob, byte[]>> iterator = memory.entrySet().iterator();
+        while (memoryUsed > memoryBudget && iterator.hasNext()) {
+            final Map.Entry<Blob, byte[]> eldest = iterator.next();
+            final Blob evicted = eldest.getKey();
+            if (evicted.file == null) {
+                spill(evicted, eldest.getValue());
+            }
+            memoryUsed -= evicted.length;
+            iterator.remove();
+        }
+    }
+
+    private void spill(final @NotNull Blob blob, final byte @NotNull [] bytes) throws IOException {
+        Files.createDirectories(directory);
+        final Path file = Files.createTempFile(directory, "blob", ".bin");
+        files.add(file);
+        Files.write(file, bytes);
+        blob.file = file;
+    }
+
+    /**
+     * Returns the data of the given blob if it is in memory, null otherwise.
+     */
+    private synchronized byte @Nullable [] memory(final @NotNull Blob blob) {
+        ensureOpen();
+        return memory.get(blob); // marks as recently used
+    }
+
+    private byte @NotNull [] load(final @NotNull Blob blob) throws IOException {
+        byte[] bytes = memory(blob);
+        if (bytes != null) {
+            return bytes;
+        }
+        bytes = Files.readAllBytes(requireNonNull(blob.file, "file"));
+        synchronized (this) {
+            if (bytes.length <= memoryBudget && !memory.containsKey(blob)) {
+                // bring it back, it is now the most recently used
+                cache(blob, bytes);
+            }
+        }
+        return bytes;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Blob store is closed");
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        memory.clear();
+        memoryUsed = 0;
+
+        IOException exception = null;
+        for (final Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        files.clear();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "BlobStore.spilling { directory='" + directory + "', memoryBudget=" + memoryBudget + " }";
+    }
+
+    private final class Blob implements Writable {
+        private final int length;
+        // the file this blob was spilled to, null if it was never spilled
+        private volatile @Nullable Path file;
+
+        private @Nullable String sha1;
+        private long crc32 = -1L;
+
+        Blob(final int length) {
+            this.length = length;
+        }
+
+        @Override
+        public void write(final @NotNull OutputStream output) throws IOException {
+            requireNonNull(output, "output");
+            output.write(load(this));
+        }
+
+        @Override
+        public byte @NotNull [] toByteArray() throws IOException {
+            return load(this).clone();
+        }
+
+        @Override
+        public @NotNull String toUTF8String() throws IOException {
+            return new String(load(this), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public @NotNull String sha1() throws IOException {
+            String hash = sha1;
+            if (hash == null) {
+                hash = Checksums.sha1(load(this));
+                sha1 = hash;
+            }
+            return hash;
+        }
+
+        @Override
+        public long crc32() throws IOException {
+            long checksum = crc32;
+            if (checksum == -1L) {
+                checksum = Checksums.crc32(this);
+                crc32 = checksum;
+            }
+            return checksum;
+        }
+
+        @Override
+        public void transferTo(final @NotNull WritableByteChannel channel) throws IOException {
+            requireNonNull(channel, "channel");
+            final byte[] bytes = memory(this);
+            if (bytes != null) {
+                final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                return;
+            }
+
+            // spilled, let the file system transfer the data
+            try (final FileChannel source = FileChannel.open(requireNonNull(file, "file"), StandardOpenOption.READ)) {
+                long position = 0;
+                while (position < length) {
+                    position += source.transferTo(position, length - position, channel);
+                }
+            }
+        }
+
+        @Override
+        public @NotNull ByteBuffer asByteBuffer() throws IOException {
+            final byte[] bytes = memory(this);
+            if (bytes != null) {
+                return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+            }
+
+            // spilled, map the file instead of loading it in the heap
+            try (final FileChannel source = FileChannel.open(requireNonNull(file, "file"), StandardOpenOption.READ)) {
+                return source.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            }
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "Writable.spilling";
+        }
+    }
+}
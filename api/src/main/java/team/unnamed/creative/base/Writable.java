@@ -30,6 +30,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
@@ -56,6 +59,11 @@ public interface Writable {
         public void write(final @NotNull OutputStream output) {
         }
 
+        @Override
+        public long length() {
+            return 0L;
+        }
+
         @Override
         public @NotNull String toString() {
             return "Writable.EMPTY";
@@ -93,7 +101,9 @@ public interface Writable {
      * @throws IOException If conversion fails
      */
     default byte @NotNull [] toByteArray() throws IOException {
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        // presize the buffer if the length is known
+        final long length = length();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(length > 0 && length < Integer.MAX_VALUE ? (int) length : 32);
         write(output);
         return output.toByteArray();
     }
@@ -110,6 +120,79 @@ public interface Writable {
         return new String(toByteArray(), StandardCharsets.UTF_8);
     }
 
+    /**
+     * Returns the length in bytes of this {@link Writable}
+     * data, or {@code -1} if it is unknown without writing it.
+     *
+     * @return The data length, or -1 if unknown
+     * @since 1.13.0
+     */
+    default long length() {
+        return -1L;
+    }
+
+    /**
+     * Computes the SHA-1 hash of this {@link Writable} data,
+     * as a lowercase hexadecimal string.
+     *
+     * <p>Implementations that hold their data in memory compute
+     * it only once, others write their data every time.</p>
+     *
+     * @return The SHA-1 hash
+     * @throws IOException If writing the data fails
+     * @since 1.13.0
+     */
+    default @NotNull String sha1() throws IOException {
+        return Checksums.sha1(this);
+    }
+
+    /**
+     * Computes the CRC-32 checksum of this {@link Writable}
+     * data, as used by ZIP entries.
+     *
+     * <p>Implementations that hold their data in memory compute
+     * it only once, others write their data every time.</p>
+     *
+     * @return The CRC-32 checksum
+     * @throws IOException If writing the data fails
+     * @since 1.13.0
+     */
+    default long crc32() throws IOException {
+        return Checksums.crc32(this);
+    }
+
+    /**
+     * Writes this object information to a {@link WritableByteChannel},
+     * implementations that hold their data in memory write it directly,
+     * without intermediate copies.
+     *
+     * <p>Note that this operation <strong>won't close</strong> the
+     * given channel</p>
+     *
+     * @param channel The target channel
+     * @throws IOException If write fails
+     * @since 1.13.0
+     */
+    default void transferTo(final @NotNull WritableByteChannel channel) throws IOException {
+        requireNonNull(channel, "channel");
+        final OutputStream output = Channels.newOutputStream(channel);
+        write(output);
+        output.flush();
+    }
+
+    /**
+     * Returns a read-only {@link ByteBuffer} with this {@link Writable}
+     * data. Implementations that hold their data in memory return a view
+     * of it, others write it to a new buffer.
+     *
+     * @return The read-only byte buffer
+     * @throws IOException If writing the data fails
+     * @since 1.13.0
+     */
+    default @NotNull ByteBuffer asByteBuffer() throws IOException {
+        return ByteBuffer.wrap(toByteArray()).asReadOnlyBuffer();
+    }
+
     /**
      * Creates a new {@link Writable} instance that represents
      * the named resource at the specified class loader
@@ -142,7 +225,7 @@ public interface Writable {
      */
     static @NotNull Writable file(final @NotNull File file) {
         requireNonNull(file, "file");
-        return inputStream(() -> Files.newInputStream(file.toPath()));
+        return path(file.toPath());
     }
 
     /**
@@ -158,7 +241,40 @@ public interface Writable {
     static @NotNull Writable path(final @NotNull Path path, final @NotNull OpenOption @NotNull ... options) {
         requireNonNull(path, "path");
         requireNonNull(options, "options");
-        return inputStream(() -> Files.newInputStream(path, options));
+        if (options.length != 0) {
+            return inputStream(() -> Files.newInputStream(path, options));
+        }
+        return new Writable() {
+
+            @Override
+            public void write(final @NotNull OutputStream output) throws IOException {
+                requireNonNull(output, "output");
+                try (final InputStream input = Files.newInputStream(path)) {
+                    Buffers.copy(input, output);
+                }
+            }
+
+            @Override
+            public byte @NotNull [] toByteArray() throws IOException {
+                // presized to the file size
+                return Files.readAllBytes(path);
+            }
+
+            @Override
+            public long length() {
+                try {
+                    return Files.size(path);
+                } catch (final IOException e) {
+                    return -1L;
+                }
+            }
+
+            @Override
+            public @NotNull String toString() {
+                return "Writable.path { path='" + path + "' }";
+            }
+
+        };
     }
 
     /**
@@ -175,11 +291,7 @@ public interface Writable {
         requireNonNull(inputStreamSupplier, "inputStreamSupplier");
         return output -> {
             try (final InputStream input = inputStreamSupplier.call()) {
-                final byte[] buf = new byte[DEFAULT_BUFFER_LENGTH];
-                int len;
-                while ((len = input.read(buf)) != -1) {
-                    output.write(buf, 0, len);
-                }
+                Buffers.copy(input, output);
             } catch (final IOException e) {
                 throw e;
             } catch (final Exception e) {
@@ -203,32 +315,7 @@ public interface Writable {
         requireNonNull(inputStream, "inputStream");
 
         // read input stream data to a byte array
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-        final byte[] buf = new byte[DEFAULT_BUFFER_LENGTH];
-        int len;
-        while ((len = inputStream.read(buf)) != -1) {
-            output.write(buf, 0, len);
-        }
-        final byte[] bytes = output.toByteArray();
-        return new Writable() {
-
-            @Override
-            public void write(final @NotNull OutputStream output) throws IOException {
-                requireNonNull(output, "output");
-                output.write(bytes);
-            }
-
-            @Override
-            public byte @NotNull [] toByteArray() {
-                return bytes.clone();
-            }
-
-            @Override
-            public @NotNull String toString() {
-                return "Writable.copyInputStream";
-            }
-
-        };
+        return new ByteArrayWritable(inputStream.readAllBytes(), "Writable.copyInputStream");
     }
 
     /**
@@ -241,25 +328,7 @@ public interface Writable {
      * @since 1.0.0
      */
     static @NotNull Writable bytes(final byte @NotNull [] bytes) {
-        final byte[] b = bytes.clone();
-        return new Writable() {
-
-            @Override
-            public void write(final @NotNull OutputStream output) throws IOException {
-                requireNonNull(output, "output");
-                output.write(b);
-            }
-
-            @Override
-            public byte @NotNull [] toByteArray() {
-                return b.clone();
-            }
-
-            @Override
-            public @NotNull String toUTF8String() {
-                return new String(b, StandardCharsets.UTF_8);
-            }
-        };
+        return new ByteArrayWritable(bytes.clone(), "Writable.bytes");
     }
 
 
@@ -274,19 +343,7 @@ public interface Writable {
      */
     static @NotNull Writable stringUtf8(final @NotNull String string) {
         requireNonNull(string, "string");
-        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
-        return new Writable() {
-
-            @Override
-            public void write(final @NotNull OutputStream output) throws IOException {
-                requireNonNull(output, "output");
-                output.write(bytes);
-            }
-
-            @Override
-            public byte @NotNull [] toByteArray() {
-                return bytes.clone();
-            }
+        return new ByteArrayWritable(string.getBytes(StandardCharsets.UTF_8), "Writable.stringUtf8") {
 
             @Override
             public @NotNull String toUTF8String() {
@@ -0,0 +1,160 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.model;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.creative.overlay.ResourceContainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Extracts the geometry shared by the models of a container into
+ * synthetic parent models.
+ *
+ * <p>Models with the same parent, ambient occlusion, display transforms,
+ * GUI light and elements are grouped, and every group of two or more
+ * models gets a synthetic parent model holding that geometry. Grouped
+ * models are then rewritten to only reference the synthetic parent and
+ * keep their own textures and overrides, so that the client bakes the
+ * same models while the geometry is serialized once.</p>
+ *
+ * <p>Element faces usually reference texture variables (e.g. {@code #all}),
+ * which the client resolves through the variables of the rewritten models.</p>
+ *
+ * @since 1.13.0
+ */
+public final class ModelDeduplicator {
+    private static final IntFunction<Key> DEFAULT_PARENT_KEYS = index -> Key.key("creative", "geometry/" + index);
+
+    private ModelDeduplicator() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Deduplicates the geometry of the models in the given container,
+     * the synthetic parent models are named {@code creative:geometry/<n>}.
+     *
+     * @param container The resource container
+     * @return The created synthetic parent models
+     * @see #deduplicate(ResourceContainer, IntFunction)
+     * @since 1.13.0
+     */
+    public static @Unmodifiable @NotNull List<Model> deduplicate(final @NotNull ResourceContainer container) {
+        return deduplicate(container, DEFAULT_PARENT_KEYS);
+    }
+
+    /**
+     * Deduplicates the geometry of the models in the given container.
+     *
+     * <p>Synthetic parent models are named by the given function, starting
+     * from index zero. Indexes whose key is already used by a model in the
+     * container are skipped. Models are processed in key order, so the
+     * result is the same for the same models.</p>
+     *
+     * @param container The resource container
+     * @param parentKeys The synthetic parent model key function
+     * @return The created synthetic parent models
+     * @since 1.13.0
+     */
+    public static @Unmodifiable @NotNull List<Model> deduplicate(
+            final @NotNull ResourceContainer container,
+            final @NotNull IntFunction<Key> parentKeys
+    ) {
+        requireNonNull(container, "container");
+        requireNonNull(parentKeys, "parentKeys");
+
+        final List<Model> models = new ArrayList<>(container.models());
+        models.sort(Comparator.comparing(model -> model.key().asString()));
+
+        final Map<Geometry, List<Model>> groups = new LinkedHashMap<>();
+        for (final Model model : models) {
+            if (model.elements().isEmpty() && model.display().isEmpty()) {
+                // nothing to share
+                continue;
+            }
+            groups.computeIfAbsent(Geometry.of(model), k -> new ArrayList<>()).add(model);
+        }
+
+        final List<Model> parents = new ArrayList<>();
+        int index = 0;
+        for (final Map.Entry<Geometry, List<Model>> entry : groups.entrySet()) {
+            final List<Model> group = entry.getValue();
+            if (group.size() < 2) {
+                continue;
+            }
+
+            Key parentKey;
+            do {
+                parentKey = requireNonNull(parentKeys.apply(index++), "parent key");
+            } while (container.model(parentKey) != null);
+
+            final Geometry geometry = entry.getKey();
+            final Model parent = Model.model()
+                    .key(parentKey)
+                    .parent(geometry.parent)
+                    .ambientOcclusion(geometry.ambientOcclusion)
+                    .display(geometry.display)
+                    .guiLight(geometry.guiLight)
+                    .elements(geometry.elements)
+                    .build();
+            container.model(parent);
+            parents.add(parent);
+
+            for (final Model model : group) {
+                // default ambient occlusion and no gui light, so that
+                // they are inherited from the synthetic parent
+                container.model(Model.model()
+                        .key(model.key())
+                        .parent(parentKey)
+                        .textures(model.textures())
+                        .overrides(model.overrides())
+                        .build());
+            }
+        }
+        return Collections.unmodifiableList(parents);
+    }
+
+    private record Geometry(
+            @Nullable Key parent,
+            boolean ambientOcclusion,
+            Map<ItemTransform.Type, ItemTransform> display,
+            Model.@Nullable GuiLight guiLight,
+            List<Element> elements
+    ) {
+        static @NotNull Geometry of(final @NotNull Model model) {
+            return new Geometry(model.parent(), model.ambientOcclusion(), model.display(), model.guiLight(), model.elements());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.model;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.overlay.ResourceContainer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Resolves the effective (flattened) models of a {@link ResourceContainer},
+ * by applying their {@link Model#parent() parent} chains like the client does.
+ *
+ * <p>A flattened model includes the display transforms, texture variables,
+ * elements and GUI light inherited from its ancestors. Texture references
+ * are resolved through the inherited variables, when possible. Its parent is
+ * the first ancestor that is not in the container (e.g. {@code builtin/generated}
+ * or a vanilla model), or {@code null} if there is none.</p>
+ *
+ * <p>Since creative models always have an ambient occlusion value, models with
+ * ambient occlusion enabled (the default) inherit the value of their parent.</p>
+ *
+ * <p>Resolved models are cached per key. The resolver doesn't observe its
+ * container, so after modifying a model, call {@link #invalidate(Key)} (which
+ * also invalidates the models inheriting from it) or {@link #refresh()}.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 1.13.0
+ */
+public final class ModelResolver {
+    private final ResourceContainer container;
+
+    private final Map<Key, Entry> cache = new HashMap<>();
+    // parent key -> keys of the cached models with that parent
+    private final Map<Key, Set<Key>> children = new HashMap<>();
+
+    private ModelResolver(final @NotNull ResourceContainer container) {
+        this.container = requireNonNull(container, "container");
+    }
+
+    /**
+     * Creates a model resolver for the given container.
+     *
+     * @param container The resource container
+     * @return The model resolver
+     * @since 1.13.0
+     */
+    public static @NotNull ModelResolver resolver(final @NotNull ResourceContainer container) {
+        return new ModelResolver(container);
+    }
+
+    /**
+     * Gets the flattened model for the given key.
+     *
+     * @param key The model key
+     * @return The flattened model, or null if the container doesn't have it
+     * @throws IllegalStateException If the model parent chain has a cycle
+     * @since 1.13.0
+     */
+    public @Nullable Model resolve(final @NotNull Key key) {
+        requireNonNull(key, "key");
+        final Entry entry = resolve(key, new HashSet<>());
+        return entry == null ? null : entry.resolved;
+    }
+
+    private @Nullable Entry resolve(final @NotNull Key key, final @NotNull Set<Key> resolving) {
+        final Entry cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Model model = container.model(key);
+        if (model == null) {
+            return null;
+        }
+        if (!resolving.add(key)) {
+            throw new IllegalStateException("Model " + key.asString() + " inherits from itself: " + resolving);
+        }
+
+        final Key parentKey = model.parent();
+        final Entry parent = parentKey == null ? null : resolve(parentKey, resolving);
+        // texture references are resolved once the whole chain is merged,
+        // since variables of a model can be overridden by its children
+        final Model merged = parent == null ? model : flatten(model, parent.merged);
+        final Entry entry = new Entry(model, merged, resolveTextures(merged));
+
+        cache.put(key, entry);
+        if (parentKey != null) {
+            children.computeIfAbsent(parentKey, k -> new HashSet<>()).add(key);
+        }
+        return entry;
+    }
+
+    /**
+     * Invalidates the cached model for the given key, and the
+     * cached models inheriting from it.
+     *
+     * @param key The model key
+     * @since 1.13.0
+     */
+    public void invalidate(final @NotNull Key key) {
+        requireNonNull(key, "key");
+        final List<Key> queue = new ArrayList<>();
+        queue.add(key);
+        while (!queue.isEmpty()) {
+            final Key current = queue.remove(queue.size() - 1);
+            cache.remove(current);
+            final Set<Key> dependents = children.remove(current);
+            if (dependents != null) {
+                queue.addAll(dependents);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the cached models that changed in the container
+     * since they were resolved, and the models inheriting from them,
+     * including models whose parent was added to the container.
+     *
+     * @since 1.13.0
+     */
+    public void refresh() {
+        final List<Key> changed = new ArrayList<>();
+        for (final Map.Entry<Key, Entry> entry : cache.entrySet()) {
+            // models are immutable, so they are compared by identity
+            if (container.model(entry.getKey()) != entry.getValue().source) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (final Key parent : children.keySet()) {
+            // missing when its children were resolved, may have been added
+            if (!cache.containsKey(parent) && container.model(parent) != null) {
+                changed.add(parent);
+            }
+        }
+        for (final Key key : changed) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Clears all the cached models.
+     *
+     * @since 1.13.0
+     */
+    public void clear() {
+        cache.clear();
+        children.clear();
+    }
+
+    private static @NotNull Model flatten(final @NotNull Model model, final @NotNull Model parent) {
+        // display transforms are inherited per type
+        final Map<ItemTransform.Type, ItemTransform> display = new LinkedHashMap<>(parent.display());
+        display.putAll(model.display());
+
+        // texture variables and layers are inherited by name
+        final ModelTextures parentTextures = parent.textures();
+        final ModelTextures textures = model.textures();
+        final Map<String, ModelTexture> variables = new LinkedHashMap<>(parentTextures.variables());
+        variables.putAll(textures.variables());
+        final List<ModelTexture> layers = new ArrayList<>(textures.layers());
+        for (int i = layers.size(); i < parentTextures.layers().size(); i++) {
+            layers.add(parentTextures.layers().get(i));
+        }
+        final ModelTexture particle = textures.particle() == null ? parentTextures.particle() : textures.particle();
+
+        return Model.model()
+                .key(model.key())
+                // the first ancestor that couldn't be flattened
+                .parent(parent.parent())
+                .ambientOcclusion(model.ambientOcclusion() && parent.ambientOcclusion())
+                .display(display)
+                .textures(ModelTextures.builder()
+                        .layers(layers)
+                        .particle(particle)
+                        .variables(variables)
+                        .build())
+                .guiLight(model.guiLight() == null ? parent.guiLight() : model.guiLight())
+                .elements(model.elements().isEmpty() ? parent.elements() : model.elements())
+                // overrides are not inherited
+                .overrides(model.overrides())
+                .build();
+    }
+
+    private static @NotNull Model resolveTextures(final @NotNull Model model) {
+        final ModelTextures textures = model.textures();
+        final ModelTextures resolved = resolveTextures(textures.layers(), textures.particle(), textures.variables());
+        return resolved.equals(textures) ? model : model.toBuilder().textures(resolved).build();
+    }
+
+    private static @NotNull ModelTextures resolveTextures(
+            final @NotNull List<ModelTexture> layers,
+            final @Nullable ModelTexture particle,
+            final @NotNull Map<String, ModelTexture> variables
+    ) {
+        final List<ModelTexture> resolvedLayers = new ArrayList<>(layers.size());
+        for (final ModelTexture layer : layers) {
+            resolvedLayers.add(resolveTexture(layer, variables));
+        }
+        final Map<String, ModelTexture> resolvedVariables = new LinkedHashMap<>();
+        for (final Map.Entry<String, ModelTexture> entry : variables.entrySet()) {
+            resolvedVariables.put(entry.getKey(), resolveTexture(entry.getValue(), variables));
+        }
+        return ModelTextures.builder()
+                .layers(resolvedLayers)
+                .particle(particle == null ? null : resolveTexture(particle, variables))
+                .variables(resolvedVariables)
+                .build();
+    }
+
+    private static @NotNull ModelTexture resolveTexture(final @NotNull ModelTexture texture, final @NotNull Map<String, ModelTexture> variables) {
+        ModelTexture current = texture;
+        // bounded, in case references form a cycle
+        for (int i = 0; i <= variables.size() && current.reference() != null; i++) {
+            final ModelTexture referenced = variables.get(current.reference());
+            if (referenced == null) {
+                // unresolved, may be resolved by a model inheriting from this one
+                break;
+            }
+            current = referenced;
+        }
+        return current.reference() != null ? texture : current;
+    }
+
+    /**
+     * A cached model: as found in the container, merged with its
+     * ancestors and with its texture references resolved.
+     */
+    private record Entry(Model source, Model merged, Model resolved) {
+    }
+}
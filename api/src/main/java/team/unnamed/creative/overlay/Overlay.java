@@ -29,6 +29,7 @@ import org.jetbrains.annotations.NotNull;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.metadata.overlays.OverlayEntry;
 import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.resources.MergeStrategy;
 
 /**
  * Represents a resource-pack overlay. Overlays are sub-packs
@@ -93,4 +94,22 @@ public interface Overlay extends ResourcePackPart, ResourceContainer {
         return new OverlayImpl(directory);
     }
 
+    /**
+     * Creates a new thread-safe overlay object that will live
+     * in the given directory name.
+     *
+     * <p>Resources can be added and removed from multiple threads
+     * at the same time, and are iterated in the order of their keys,
+     * so that the written overlay doesn't depend on the order they
+     * were added in. Compound operations like
+     * {@link #merge(ResourceContainer, MergeStrategy)} are not atomic.</p>
+     *
+     * @param directory The overlay directory name.
+     * @return The created overlay.
+     * @since 1.13.0
+     */
+    static @NotNull Overlay concurrentOverlay(final @NotNull @OverlayEntry.Directory String directory) {
+        return new OverlayImpl(directory, true);
+    }
+
 }
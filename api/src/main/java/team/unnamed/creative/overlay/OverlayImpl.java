@@ -32,9 +32,24 @@ final class OverlayImpl extends ResourceContainerImpl implements Overlay {
     private final String directory;
 
     OverlayImpl(final @NotNull String directory) {
+        this(directory, false);
+    }
+
+    OverlayImpl(final @NotNull String directory, final boolean concurrent) {
+        super(concurrent);
         this.directory = Objects.requireNonNull(directory, "directory");
     }
 
+    private OverlayImpl(final @NotNull OverlayImpl source, final boolean mutable) {
+        super(source, mutable);
+        this.directory = source.directory;
+    }
+
+    @Override
+    public @NotNull OverlayImpl copy(final boolean mutable) {
+        return new OverlayImpl(this, mutable);
+    }
+
     @Override
     public @NotNull String directory() {
         return directory;
@@ -38,7 +38,9 @@ import team.unnamed.creative.lang.Language;
 import team.unnamed.creative.metadata.Metadata;
 import team.unnamed.creative.model.Model;
 import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.resources.MergeConflict;
 import team.unnamed.creative.resources.MergeException;
+import team.unnamed.creative.resources.MergeReport;
 import team.unnamed.creative.resources.MergeStrategy;
 import team.unnamed.creative.sound.Sound;
 import team.unnamed.creative.sound.SoundEvent;
@@ -46,6 +48,7 @@ import team.unnamed.creative.sound.SoundRegistry;
 import team.unnamed.creative.texture.Texture;
 import team.unnamed.creative.waypoint.WaypointStyle;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -773,4 +776,54 @@ public interface ResourceContainer {
      * @since 1.4.0
      */
     void merge(final @NotNull ResourceContainer other, final @NotNull MergeStrategy strategy);
+
+    /**
+     * Merges all the given resource containers with this
+     * resource container, in iteration order.
+     *
+     * <p>The result is the same as merging them one by one, but
+     * implementations may merge every key once, from all of the
+     * containers, instead of rebuilding it for each of them. The built-in
+     * containers (and resource packs) are left unchanged if it fails.</p>
+     *
+     * @param others   The other resource containers
+     * @param strategy The merge strategy
+     * @throws MergeException If the merge fails
+     * @since 1.13.0
+     */
+    default void merge(final @NotNull Collection<? extends ResourceContainer> others, final @NotNull MergeStrategy strategy) {
+        requireNonNull(others, "others");
+        for (final ResourceContainer other : others) {
+            merge(other, strategy);
+        }
+    }
+
+    /**
+     * Merges all the given resource containers with this resource
+     * container, like {@link #merge(Collection, MergeStrategy)}, but
+     * reports every conflict instead of failing on the first one.
+     *
+     * <p>Conflicts are resolved like the strategy does, except for
+     * {@link MergeStrategy#mergeAndFailOnError()}, that keeps the first
+     * resource.</p>
+     *
+     * @param others   The other resource containers
+     * @param strategy The merge strategy
+     * @return The merge report
+     * @since 1.13.0
+     */
+    default @NotNull MergeReport mergeReporting(final @NotNull Collection<? extends ResourceContainer> others, final @NotNull MergeStrategy strategy) {
+        requireNonNull(others, "others");
+        requireNonNull(strategy, "strategy");
+        final List<MergeConflict> conflicts = new ArrayList<>();
+        for (final ResourceContainer other : others) {
+            try {
+                merge(other, strategy);
+            } catch (final MergeException e) {
+                // this implementation can't continue merging this one
+                conflicts.add(MergeConflict.of(ResourceContainer.class, "", String.valueOf(e.getMessage())));
+            }
+        }
+        return MergeReport.of(conflicts);
+    }
 }
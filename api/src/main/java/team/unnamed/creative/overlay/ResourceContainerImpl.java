@@ -34,13 +34,19 @@ import team.unnamed.creative.blockstate.BlockState;
 import team.unnamed.creative.equipment.Equipment;
 import team.unnamed.creative.equipment.EquipmentLayer;
 import team.unnamed.creative.equipment.EquipmentLayerType;
+import team.unnamed.creative.font.BitMapFontProvider;
 import team.unnamed.creative.font.Font;
 import team.unnamed.creative.font.FontProvider;
+import team.unnamed.creative.font.SpaceFontProvider;
 import team.unnamed.creative.item.Item;
 import team.unnamed.creative.lang.Language;
 import team.unnamed.creative.model.ItemOverride;
+import team.unnamed.creative.model.ItemPredicate;
 import team.unnamed.creative.model.Model;
+import team.unnamed.creative.resources.MergeConflict;
 import team.unnamed.creative.resources.MergeException;
+import team.unnamed.creative.resources.MergeReport;
+import team.unnamed.creative.resources.MergeResolver;
 import team.unnamed.creative.resources.MergeStrategy;
 import team.unnamed.creative.sound.Sound;
 import team.unnamed.creative.sound.SoundEvent;
@@ -48,56 +54,230 @@ import team.unnamed.creative.sound.SoundRegistry;
 import team.unnamed.creative.texture.Texture;
 import team.unnamed.creative.waypoint.WaypointStyle;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.UnaryOperator;
 
 import static java.util.Objects.requireNonNull;
 
 @ApiStatus.Internal
 public class ResourceContainerImpl implements ResourceContainer {
 
-    private final Map<Key, Atlas> atlases = new LinkedHashMap<>();
-    private final Map<Key, BlockState> blockStates = new LinkedHashMap<>();
-    private final Map<Key, Equipment> equipment = new LinkedHashMap<>();
-    private final Map<Key, Font> fonts = new LinkedHashMap<>();
-    private final Map<Key, Item> items = new LinkedHashMap<>();
-    private final Map<Key, Language> languages = new LinkedHashMap<>();
-    private final Map<Key, Model> models = new LinkedHashMap<>();
-    private final Map<String, SoundRegistry> soundRegistries = new LinkedHashMap<>();
-    private final Map<Key, Sound> sounds = new LinkedHashMap<>();
-    private final Map<Key, Texture> textures = new LinkedHashMap<>();
-    private final Map<String, WaypointStyle> waypointStyles = new LinkedHashMap<>();
+    private final SharedMap<Key, Atlas> atlases;
+    private final SharedMap<Key, BlockState> blockStates;
+    private final SharedMap<Key, Equipment> equipment;
+    private final SharedMap<Key, Font> fonts;
+    private final SharedMap<Key, Item> items;
+    private final SharedMap<Key, Language> languages;
+    private final SharedMap<Key, Model> models;
+    private final SharedMap<String, SoundRegistry> soundRegistries;
+    private final SharedMap<Key, Sound> sounds;
+    private final SharedMap<Key, Texture> textures;
+    private final SharedMap<String, WaypointStyle> waypointStyles;
 
     // Unknown files we don't know how to parse
-    private final Map<String, Writable> files = new LinkedHashMap<>();
+    private final SharedMap<String, Writable> files;
+
+    // false for snapshots, which can't be modified
+    private final boolean mutable;
+
+    // notified after resources are added, replaced or removed
+    private final List<BiConsumer<Class<?>, Object>> changeListeners = new CopyOnWriteArrayList<>();
+
+    // iteration order of concurrent containers
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::asString);
+
+    public ResourceContainerImpl() {
+        this(false);
+    }
+
+    /**
+     * Creates an empty container.
+     *
+     * <p>Concurrent containers can be safely modified from multiple
+     * threads, and iterate their resources sorted by key, so that the
+     * order doesn't depend on the order they were added in.</p>
+     *
+     * @param concurrent Whether the container must be thread-safe
+     * @since 1.13.0
+     */
+    protected ResourceContainerImpl(final boolean concurrent) {
+        this.atlases = map(concurrent, KEY_ORDER);
+        this.blockStates = map(concurrent, KEY_ORDER);
+        this.equipment = map(concurrent, KEY_ORDER);
+        this.fonts = map(concurrent, KEY_ORDER);
+        this.items = map(concurrent, KEY_ORDER);
+        this.languages = map(concurrent, KEY_ORDER);
+        this.models = map(concurrent, KEY_ORDER);
+        this.soundRegistries = map(concurrent, Comparator.naturalOrder());
+        this.sounds = map(concurrent, KEY_ORDER);
+        this.textures = map(concurrent, KEY_ORDER);
+        this.waypointStyles = map(concurrent, Comparator.naturalOrder());
+        this.files = map(concurrent, Comparator.naturalOrder());
+        this.mutable = true;
+        listen();
+    }
+
+    private static <K, V> @NotNull SharedMap<K, V> map(final boolean concurrent, final @NotNull Comparator<? super K> order) {
+        return concurrent ? SharedMap.concurrent(order) : new SharedMap<>();
+    }
+
+    /**
+     * Creates a container that shares the resources of the given one,
+     * both containers copy a category before modifying it, so this
+     * runs in constant time.
+     *
+     * @param source  The source container
+     * @param mutable Whether the created container can be modified
+     * @since 1.13.0
+     */
+    protected ResourceContainerImpl(final @NotNull ResourceContainerImpl source, final boolean mutable) {
+        requireNonNull(source, "source");
+        this.atlases = source.atlases.share();
+        this.blockStates = source.blockStates.share();
+        this.equipment = source.equipment.share();
+        this.fonts = source.fonts.share();
+        this.items = source.items.share();
+        this.languages = source.languages.share();
+        this.models = source.models.share();
+        this.soundRegistries = source.soundRegistries.share();
+        this.sounds = source.sounds.share();
+        this.textures = source.textures.share();
+        this.waypointStyles = source.waypointStyles.share();
+        this.files = source.files.share();
+        this.mutable = mutable;
+        listen();
+    }
+
+    private void listen() {
+        atlases.listener(key -> changed(Atlas.class, key));
+        blockStates.listener(key -> changed(BlockState.class, key));
+        equipment.listener(key -> changed(Equipment.class, key));
+        fonts.listener(key -> changed(Font.class, key));
+        items.listener(key -> changed(Item.class, key));
+        languages.listener(key -> changed(Language.class, key));
+        models.listener(key -> changed(Model.class, key));
+        soundRegistries.listener(namespace -> changed(SoundRegistry.class, namespace));
+        sounds.listener(key -> changed(Sound.class, key));
+        textures.listener(key -> changed(Texture.class, key));
+        waypointStyles.listener(key -> changed(WaypointStyle.class, key));
+        files.listener(path -> changed(Writable.class, path));
+    }
+
+    private void changed(final @NotNull Class<?> type, final @Nullable Object key) {
+        for (final BiConsumer<Class<?>, Object> listener : changeListeners) {
+            listener.accept(type, key);
+        }
+    }
+
+    /**
+     * Adds a listener called after resources are added to, replaced in
+     * or removed from this container, with the type of the resource (e.g.
+     * {@code Texture.class}) and its key (a {@link Key}, or a string for
+     * sound registries, waypoint styles and unknown files), or a null key
+     * if any resource of that type may have changed.
+     *
+     * <p>Listeners may be called from any thread modifying the container,
+     * and are not copied to snapshots or copies of it.</p>
+     *
+     * @param listener The change listener
+     * @since 1.13.0
+     */
+    public void addChangeListener(final @NotNull BiConsumer<Class<?>, Object> listener) {
+        requireNonNull(listener, "listener");
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addChangeListener(BiConsumer)}.
+     *
+     * @param listener The change listener
+     * @since 1.13.0
+     */
+    public void removeChangeListener(final @NotNull BiConsumer<Class<?>, Object> listener) {
+        requireNonNull(listener, "listener");
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Creates a copy of this container, sharing its resources
+     * until either of them is modified.
+     *
+     * @param mutable Whether the copy can be modified, false for snapshots
+     * @return The created copy
+     * @since 1.13.0
+     */
+    public @NotNull ResourceContainerImpl copy(final boolean mutable) {
+        return new ResourceContainerImpl(this, mutable);
+    }
+
+    /**
+     * Determines whether this container can be modified, snapshots can't.
+     *
+     * @return True if this container can be modified
+     * @since 1.13.0
+     */
+    public boolean mutable() {
+        return mutable;
+    }
+
+    protected final void checkMutable() {
+        if (!mutable) {
+            throw new UnsupportedOperationException("Resource container snapshots can't be modified");
+        }
+    }
+
+    private <K, V> @NotNull SharedMap<K, V> write(final @NotNull SharedMap<K, V> map) {
+        checkMutable();
+        return map;
+    }
+
+    private <K, V> @NotNull Collection<V> values(final @NotNull SharedMap<K, V> map) {
+        // returned collections support removal, which copies the map
+        // first if it is shared with a snapshot or copy
+        return mutable ? map.view().values() : Collections.unmodifiableCollection(map.read().values());
+    }
 
     //#region Atlases (Keyed)
     @Override
     public void atlas(final @NotNull Atlas atlas) {
         requireNonNull(atlas, "atlas");
-        atlases.put(atlas.key(), atlas);
+        write(atlases).put(atlas.key(), atlas);
     }
 
     @Override
     public @Nullable Atlas atlas(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return atlases.get(key);
+        return atlases.read().get(key);
     }
 
     @Override
     public boolean removeAtlas(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return atlases.remove(key) != null;
+        return write(atlases).remove(key) != null;
     }
 
     @Override
     public @NotNull Collection<Atlas> atlases() {
-        return atlases.values();
+        return values(atlases);
     }
     //#endregion
 
@@ -105,24 +285,24 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public void blockState(final @NotNull BlockState state) {
         requireNonNull(state, "state");
-        blockStates.put(state.key(), state);
+        write(blockStates).put(state.key(), state);
     }
 
     @Override
     public @Nullable BlockState blockState(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return blockStates.get(key);
+        return blockStates.read().get(key);
     }
 
     @Override
     public boolean removeBlockState(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return blockStates.remove(key) != null;
+        return write(blockStates).remove(key) != null;
     }
 
     @Override
     public @NotNull Collection<BlockState> blockStates() {
-        return blockStates.values();
+        return values(blockStates);
     }
     //#endregion
 
@@ -130,24 +310,24 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public void equipment(final @NotNull Equipment equipment) {
         requireNonNull(equipment, "equipment");
-        this.equipment.put(equipment.key(), equipment);
+        write(this.equipment).put(equipment.key(), equipment);
     }
 
     @Override
     public @Nullable Equipment equipment(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return equipment.get(key);
+        return equipment.read().get(key);
     }
 
     @Override
     public boolean removeEquipment(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return equipment.remove(key) != null;
+        return write(equipment).remove(key) != null;
     }
 
     @Override
     public @NotNull Collection<Equipment> equipment() {
-        return equipment.values();
+        return values(equipment);
     }
     //#endregion
 
@@ -155,24 +335,24 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public void font(final @NotNull Font font) {
         requireNonNull(font, "font");
-        fonts.put(font.key(), font);
+        write(fonts).put(font.key(), font);
     }
 
     @Override
     public @Nullable Font font(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return fonts.get(key);
+        return fonts.read().get(key);
     }
 
     @Override
     public boolean removeFont(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return fonts.remove(key) != null;
+        return write(fonts).remove(key) != null;
     }
 
     @Override
     public @NotNull Collection<Font> fonts() {
-        return fonts.values();
+        return values(fonts);
     }
     //#endregion
 
@@ -180,24 +360,24 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public void item(final @NotNull Item item) {
         requireNonNull(item, "item");
-        items.put(item.key(), item);
+        write(items).put(item.key(), item);
     }
 
     @Override
     public @Nullable Item item(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return items.get(key);
+        return items.read().get(key);
     }
 
     @Override
     public boolean removeItem(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return items.remove(key) != null;
+        return write(items).remove(key) != null;
     }
 
     @Override
     public @NotNull Collection<Item> items() {
-        return items.values();
+        return values(items);
     }
     //#endregion
 
@@ -205,24 +385,24 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public void language(final @NotNull Language language) {
         requireNonNull(language, "language");
-        languages.put(language.key(), language);
+        write(languages).put(language.key(), language);
     }
 
     @Override
     public @Nullable Language language(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return languages.get(key);
+        return languages.read().get(key);
     }
 
     @Override
     public boolean removeLanguage(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return languages.remove(key) != null;
+        return write(languages).remove(key) != null;
     }
 
     @Override
     public @NotNull Collection<Language> languages() {
-        return languages.values();
+        return values(languages);
     }
     //#endregion
 
@@ -230,24 +410,24 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public void model(final @NotNull Model model) {
         requireNonNull(model, "model");
-        models.put(model.key(), model);
+        write(models).put(model.key(), model);
     }
 
     @Override
     public @Nullable Model model(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return models.get(key);
+        return models.read().get(key);
     }
 
     @Override
     public boolean removeModel(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return models.remove(key) != null;
+        return write(models).remove(key) != null;
     }
 
     @Override
     public @NotNull Collection<Model> models() {
-        return models.values();
+        return values(models);
     }
     //#endregion
 
@@ -255,24 +435,24 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public void soundRegistry(final @NotNull SoundRegistry soundRegistry) {
         requireNonNull(soundRegistry, "soundRegistry");
-        soundRegistries.put(soundRegistry.namespace(), soundRegistry);
+        write(soundRegistries).put(soundRegistry.namespace(), soundRegistry);
     }
 
     @Override
     public @Nullable SoundRegistry soundRegistry(final @NotNull String namespace) {
         requireNonNull(namespace, "namespace");
-        return soundRegistries.get(namespace);
+        return soundRegistries.read().get(namespace);
     }
 
     @Override
     public boolean removeSoundRegistry(final @NotNull String namespace) {
         requireNonNull(namespace, "namespace");
-        return soundRegistries.remove(namespace) != null;
+        return write(soundRegistries).remove(namespace) != null;
     }
 
     @Override
     public @NotNull Collection<SoundRegistry> soundRegistries() {
-        return soundRegistries.values();
+        return values(soundRegistries);
     }
     //#endregion
 
@@ -280,24 +460,24 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public void sound(final @NotNull Sound sound) {
         requireNonNull(sound, "sound");
-        sounds.put(sound.key(), sound);
+        write(sounds).put(sound.key(), sound);
     }
 
     @Override
     public @Nullable Sound sound(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return sounds.get(key);
+        return sounds.read().get(key);
     }
 
     @Override
     public boolean removeSound(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return sounds.remove(key) != null;
+        return write(sounds).remove(key) != null;
     }
 
     @Override
     public @NotNull Collection<Sound> sounds() {
-        return sounds.values();
+        return values(sounds);
     }
     //#endregion
 
@@ -305,47 +485,47 @@ public class ResourceContainerImpl implements ResourceContainer {
     @Override
     public void texture(final @NotNull Texture texture) {
         requireNonNull(texture, "textures");
-        textures.put(texture.key(), texture);
+        write(textures).put(texture.key(), texture);
     }
 
     @Override
     public @Nullable Texture texture(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return textures.get(key);
+        return textures.read().get(key);
     }
 
     @Override
     public boolean removeTexture(final @NotNull Key key) {
         requireNonNull(key, "key");
-        return textures.remove(key) != null;
+        return write(textures).remove(key) != null;
     }
 
     @Override
     public @NotNull Collection<Texture> textures() {
-        return textures.values();
+        return values(textures);
     }
 
     @Override
     public void waypointStyle(@NotNull WaypointStyle style) {
         requireNonNull(style, "style");
-        waypointStyles.put(style.key().asString(), style);
+        write(waypointStyles).put(style.key().asString(), style);
     }
 
     @Override
     public @Nullable WaypointStyle waypointStyle(@NotNull Key key) {
         requireNonNull(key, "key");
-        return waypointStyles.get(key.asString());
+        return waypointStyles.read().get(key.asString());
     }
 
     @Override
     public boolean removeWaypointStyle(@NotNull Key key) {
         requireNonNull(key, "key");
-        return waypointStyles.remove(key.asString()) != null;
+        return write(waypointStyles).remove(key.asString()) != null;
     }
 
     @Override
     public @NotNull Collection<WaypointStyle> waypointStyles() {
-        return waypointStyles.values();
+        return values(waypointStyles);
     }
     //#endregion
 
@@ -354,221 +534,486 @@ public class ResourceContainerImpl implements ResourceContainer {
     public void unknownFile(final @NotNull String path, final @NotNull Writable data) {
         requireNonNull(path, "path");
         requireNonNull(data, "data");
-        files.put(path, data);
+        write(files).put(path, data);
     }
 
     @Override
     public @Nullable Writable unknownFile(final @NotNull String path) {
         requireNonNull(path, "path");
-        return files.get(path);
+        return files.read().get(path);
     }
 
     @Override
     public boolean removeUnknownFile(final @NotNull String path) {
         requireNonNull(path, "path");
-        return files.remove(path) != null;
+        return write(files).remove(path) != null;
     }
 
     @Override
     public @NotNull Map<String, Writable> unknownFiles() {
-        return files;
+        return mutable ? files.view() : Collections.unmodifiableMap(files.read());
     }
     //#endregion
 
     @Override
     public void merge(final @NotNull ResourceContainer other, final @NotNull MergeStrategy strategy) {
-        final boolean override = strategy == MergeStrategy.override();
-
-        // merge atlases
-        for (final Atlas atlas : other.atlases()) {
-            final Atlas oldAtlas = atlases.get(atlas.key());
-            if (oldAtlas == null || override) {
-                atlases.put(atlas.key(), atlas);
-                continue;
+        requireNonNull(other, "other");
+        merge(Collections.singletonList(other), strategy);
+    }
+
+    @Override
+    public void merge(final @NotNull Collection<? extends ResourceContainer> others, final @NotNull MergeStrategy strategy) {
+        merge(others, strategy, null);
+    }
+
+    @Override
+    public @NotNull MergeReport mergeReporting(final @NotNull Collection<? extends ResourceContainer> others, final @NotNull MergeStrategy strategy) {
+        final List<MergeConflict> conflicts = new ArrayList<>();
+        merge(others, strategy, conflicts);
+        return MergeReport.of(conflicts);
+    }
+
+    /**
+     * Merges the given resource containers with this one.
+     *
+     * @param others    The other resource containers
+     * @param strategy  The merge strategy
+     * @param conflicts The list conflicts are added to, or {@code null}
+     *                  to fail on the first one, if the strategy says so
+     * @since 1.13.0
+     */
+    protected void merge(
+            final @NotNull Collection<? extends ResourceContainer> others,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable List<MergeConflict> conflicts
+    ) {
+        prepareMerge(others, strategy, conflicts).run();
+    }
+
+    /**
+     * Computes the merge of the given resource containers with this
+     * one, without modifying this container, and returns the action
+     * that writes the merged resources.
+     *
+     * <p>Merged resources are written with {@link Map#putAll(Map)} on
+     * the current maps, so resources added to a thread-safe container
+     * while the merge is computed are kept.</p>
+     *
+     * @param others    The other resource containers
+     * @param strategy  The merge strategy
+     * @param conflicts The list conflicts are added to, or {@code null}
+     *                  to fail on the first one, if the strategy says so
+     * @return The action that writes the merged resources
+     * @since 1.13.0
+     */
+    public @NotNull Runnable prepareMerge(
+            final @NotNull Collection<? extends ResourceContainer> others,
+            final @NotNull MergeStrategy strategy,
+            final @Nullable List<MergeConflict> conflicts
+    ) {
+        requireNonNull(others, "others");
+        requireNonNull(strategy, "strategy");
+        checkMutable();
+        final boolean override = strategy.fallback() == MergeStrategy.override();
+        final boolean report = conflicts != null;
+        final boolean deduplicate = strategy.deduplicatesContent();
+
+        final List<CategoryMerge<?, ?>> categories = List.of(
+                new CategoryMerge<>(Atlas.class, atlases, others, strategy, report, (container, sink) -> {
+                    for (final Atlas atlas : container.atlases()) {
+                        sink.accept(atlas.key(), atlas);
+                    }
+                }, (key, values, conflictSink) -> {
+                    if (override) {
+                        return values.get(values.size() - 1);
+                    }
+                    // merge atlas sources (use a set to avoid duplicated sources)
+                    final Set<AtlasSource> sources = new LinkedHashSet<>();
+                    for (final Atlas atlas : values) {
+                        sources.addAll(atlas.sources());
+                    }
+                    return values.get(0).toBuilder().sources(new ArrayList<>(sources)).build();
+                }),
+                new CategoryMerge<>(BlockState.class, blockStates, others, strategy, report, (container, sink) -> {
+                    for (final BlockState blockState : container.blockStates()) {
+                        sink.accept(blockState.key(), blockState);
+                    }
+                }, single("block state", override)),
+                new CategoryMerge<>(Equipment.class, equipment, others, strategy, report, (container, sink) -> {
+                    for (final Equipment equipment : container.equipment()) {
+                        sink.accept(equipment.key(), equipment);
+                    }
+                }, (key, values, conflictSink) -> {
+                    if (override) {
+                        return values.get(values.size() - 1);
+                    }
+                    final Map<EquipmentLayerType, List<EquipmentLayer>> layersByType = new LinkedHashMap<>();
+                    for (final Equipment equipment : values) {
+                        for (final Map.Entry<EquipmentLayerType, List<EquipmentLayer>> entry : equipment.layers().entrySet()) {
+                            layersByType.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+                        }
+                    }
+                    return values.get(0).layers(layersByType);
+                }),
+                new CategoryMerge<>(Font.class, fonts, others, strategy, report, (container, sink) -> {
+                    for (final Font font : container.fonts()) {
+                        sink.accept(font.key(), font);
+                    }
+                }, (key, values, conflictSink) -> {
+                    if (override) {
+                        return values.get(values.size() - 1);
+                    }
+                    return values.get(0).providers(mergeProviders(key, values, conflictSink));
+                }),
+                new CategoryMerge<>(Item.class, items, others, strategy, report, (container, sink) -> {
+                    for (final Item item : container.items()) {
+                        sink.accept(item.key(), item);
+                    }
+                }, single("item", override)),
+                new CategoryMerge<>(Language.class, languages, others, strategy, report, (container, sink) -> {
+                    for (final Language language : container.languages()) {
+                        sink.accept(language.key(), language);
+                    }
+                }, (key, values, conflictSink) -> {
+                    if (override) {
+                        return values.get(values.size() - 1);
+                    }
+                    final Map<String, String> translations = new LinkedHashMap<>();
+                    for (final Language language : values) {
+                        for (final Map.Entry<String, String> translation : language.translations().entrySet()) {
+                            final String replaced = translations.put(translation.getKey(), translation.getValue());
+                            if (replaced != null) {
+                                conflictSink.accept("Duplicated translation keys in language " + key
+                                        + ". Translation key: " + translation.getKey()
+                                        + ". Exists in multiple resource containers.");
+                            }
+                        }
+                    }
+                    return Language.language(values.get(0).key(), translations);
+                }),
+                new CategoryMerge<>(Model.class, models, others, strategy, report, (container, sink) -> {
+                    for (final Model model : container.models()) {
+                        sink.accept(model.key(), model);
+                    }
+                }, (key, values, conflictSink) -> {
+                    if (override) {
+                        return values.get(values.size() - 1);
+                    }
+                    return values.get(0).toBuilder().overrides(mergeOverrides(key, values, conflictSink)).build();
+                }),
+                new CategoryMerge<>(SoundRegistry.class, soundRegistries, others, strategy, report, (container, sink) -> {
+                    for (final SoundRegistry soundRegistry : container.soundRegistries()) {
+                        sink.accept(soundRegistry.namespace(), soundRegistry);
+                    }
+                }, (namespace, values, conflictSink) -> {
+                    if (override) {
+                        return values.get(values.size() - 1);
+                    }
+                    final Map<Key, SoundEvent> soundEvents = new LinkedHashMap<>();
+                    for (final SoundRegistry soundRegistry : values) {
+                        for (final SoundEvent soundEvent : soundRegistry.sounds()) {
+                            final SoundEvent replacedSoundEvent = soundEvents.put(soundEvent.key(), soundEvent);
+                            if (replacedSoundEvent != null) {
+                                conflictSink.accept("Duplicated sound event '" + soundEvent + "': exists" +
+                                        " in multiple resource-packs");
+                            }
+                        }
+                    }
+                    return SoundRegistry.soundRegistry(namespace, soundEvents.values());
+                }),
+                new CategoryMerge<>(Sound.class, sounds, others, strategy, report, (container, sink) -> {
+                    for (final Sound sound : container.sounds()) {
+                        sink.accept(sound.key(), sound);
+                    }
+                }, sameContent(single("sound", override), (a, b) -> sameData(a.data(), b.data())))
+                        .deduplicate(deduplicate, Sound::data, (sound, data) -> Sound.sound(sound.key(), data)),
+                new CategoryMerge<>(Texture.class, textures, others, strategy, report, (container, sink) -> {
+                    for (final Texture texture : container.textures()) {
+                        sink.accept(texture.key(), texture);
+                    }
+                }, sameContent(single("texture", override), (a, b) -> sameData(a.data(), b.data()) && a.meta().equals(b.meta())))
+                        .deduplicate(deduplicate, Texture::data, Texture::data),
+                new CategoryMerge<>(Writable.class, files, others, strategy, report,
+                        (container, sink) -> container.unknownFiles().forEach(sink),
+                        single("unknown file", override))
+        );
+
+        // categories are independent, their merged values are computed
+        // in parallel and only written once all of them succeed
+        categories.parallelStream().forEach(CategoryMerge::compute);
+        if (conflicts != null) {
+            for (final CategoryMerge<?, ?> category : categories) {
+                conflicts.addAll(category.conflicts);
             }
-
-            // merge atlas sources (use a set to avoid duplicated sources)
-            final Set<AtlasSource> sources = new LinkedHashSet<>(oldAtlas.sources());
-            sources.addAll(atlas.sources());
-            atlases.put(atlas.key(), oldAtlas.toBuilder().sources(new ArrayList<>(sources)).build());
         }
-
-        // merge block states
-        for (final BlockState blockState : other.blockStates()) {
-            if (blockStates.containsKey(blockState.key())) {
-                if (strategy == MergeStrategy.override()) {
-                    blockStates.put(blockState.key(), blockState);
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicate block state '" + blockState.key()
-                            + "': exists in both resource containers");
+        return () -> {
+            for (final CategoryMerge<?, ?> category : categories) {
+                category.apply(this);
+            }
+        };
+    }
+
+    /**
+     * Merges the providers of the given fonts, in order. The client uses
+     * the first provider of each character, so characters of bitmap and
+     * space providers that were already provided by a previous bitmap or
+     * space provider are reported as conflicts and removed (bitmap cells
+     * are left empty), and so are the providers left without characters.
+     * Providers equal to a previous one are removed.
+     */
+    private static @NotNull List<FontProvider> mergeProviders(
+            final @NotNull String key,
+            final @NotNull List<Font> fonts,
+            final @NotNull Consumer<String> conflicts
+    ) {
+        final Set<FontProvider> providers = new LinkedHashSet<>();
+        final Set<Integer> provided = new HashSet<>();
+        final IntConsumer duplicated = character -> conflicts.accept("Duplicated character '"
+                + new String(Character.toChars(character)) + "' in font " + key
+                + ": provided in multiple resource containers");
+        for (final Font font : fonts) {
+            for (final FontProvider provider : font.providers()) {
+                if (providers.contains(provider)) {
+                    continue;
+                }
+                if (provider instanceof BitMapFontProvider bitMap) {
+                    final List<String> characters = new ArrayList<>(bitMap.characters().size());
+                    boolean empty = true;
+                    for (final String row : bitMap.characters()) {
+                        final StringBuilder characterRow = new StringBuilder(row.length());
+                        row.codePoints().forEach(character -> {
+                            if (character != 0 && !provided.add(character)) {
+                                // already provided, left empty
+                                duplicated.accept(character);
+                                characterRow.append('\u0000');
+                            } else {
+                                characterRow.appendCodePoint(character);
+                            }
+                        });
+                        empty &= characterRow.chars().allMatch(character -> character == 0);
+                        characters.add(characterRow.toString());
+                    }
+                    if (!empty) {
+                        providers.add(characters.equals(bitMap.characters()) ? bitMap : bitMap.characters(characters));
+                    }
+                } else if (provider instanceof SpaceFontProvider space) {
+                    final Map<String, Integer> advances = new LinkedHashMap<>();
+                    for (final Map.Entry<String, Integer> advance : space.advances().entrySet()) {
+                        final int character = advance.getKey().codePointAt(0);
+                        if (provided.add(character)) {
+                            advances.put(advance.getKey(), advance.getValue());
+                        } else {
+                            duplicated.accept(character);
+                        }
+                    }
+                    if (!advances.isEmpty()) {
+                        providers.add(advances.equals(space.advances()) ? space : space.advances(advances));
+                    }
+                } else {
+                    providers.add(provider);
                 }
-            } else {
-                blockStates.put(blockState.key(), blockState);
             }
         }
-
-        // merge equipment
-        for (final Equipment equipment : other.equipment()) {
-            final Equipment oldEquipment = this.equipment.get(equipment.key());
-            if (oldEquipment == null || override) {
-                this.equipment.put(equipment.key(), equipment);
-                continue;
+        return new ArrayList<>(providers);
+    }
+
+    /**
+     * Merges the overrides of the given models, in order. Overrides with
+     * a predicate that was already used are reported as conflicts and
+     * replace the previous override at its position, so that the order
+     * in which the client matches them doesn't change.
+     */
+    private static @NotNull List<ItemOverride> mergeOverrides(
+            final @NotNull String key,
+            final @NotNull List<Model> models,
+            final @NotNull Consumer<String> conflicts
+    ) {
+        final Map<List<ItemPredicate>, ItemOverride> overrides = new LinkedHashMap<>();
+        for (final Model model : models) {
+            for (final ItemOverride override : model.overrides()) {
+                final ItemOverride replaced = overrides.put(override.predicate(), override);
+                if (replaced != null && !replaced.equals(override)) {
+                    conflicts.accept("Duplicated override predicate " + override.predicate()
+                            + " in model " + key + ": exists in multiple resource containers");
+                }
             }
-
-            // merge layers
-            final Map<EquipmentLayerType, List<EquipmentLayer>> layersByType = new LinkedHashMap<>(oldEquipment.layers());
-            for (final Map.Entry<EquipmentLayerType, List<EquipmentLayer>> entry : equipment.layers().entrySet()) {
-                final List<EquipmentLayer> oldLayers = layersByType.get(entry.getKey());
-                if (oldLayers == null) {
-                    layersByType.put(entry.getKey(), entry.getValue());
-                    continue;
+        }
+        return new ArrayList<>(overrides.values());
+    }
+
+    /**
+     * Returns a merge resolver for resources that can't be merged,
+     * only one of them is kept, depending on the strategy.
+     */
+    private static <V> @NotNull MergeResolver<V> single(final @NotNull String name, final boolean override) {
+        return (key, values, conflicts) -> {
+            conflicts.accept("Duplicated " + name + " '" + key + "': exists in multiple resource containers");
+            return values.get(override ? values.size() - 1 : 0);
+        };
+    }
+
+    /**
+     * Returns a merge resolver that keeps the first resource if all of
+     * them are equivalent, e.g. same-key textures with the same content,
+     * or delegates to the given resolver otherwise.
+     */
+    private static <V> @NotNull MergeResolver<V> sameContent(final @NotNull MergeResolver<V> resolver, final @NotNull BiPredicate<V, V> equivalent) {
+        return (key, values, conflicts) -> {
+            final V first = values.get(0);
+            for (int i = 1; i < values.size(); i++) {
+                if (!equivalent.test(first, values.get(i))) {
+                    return resolver.resolve(key, values, conflicts);
                 }
-
-                final List<EquipmentLayer> newLayers = new ArrayList<>(oldLayers);
-                newLayers.addAll(entry.getValue());
-                layersByType.put(entry.getKey(), newLayers);
             }
+            return first;
+        };
+    }
 
-            this.equipment.put(equipment.key(), oldEquipment.layers(layersByType));
+    private static boolean sameData(final @NotNull Writable a, final @NotNull Writable b) {
+        if (a == b) {
+            return true;
+        }
+        final long length = a.length();
+        final long otherLength = b.length();
+        if (length != -1 && otherLength != -1 && length != otherLength) {
+            return false;
         }
+        return hash(a).equals(hash(b));
+    }
 
-        // merge fonts
-        for (final Font font : other.fonts()) {
-            final Font oldFont = fonts.get(font.key());
-            if (oldFont == null || override) {
-                fonts.put(font.key(), font);
-                continue;
-            }
+    private static @NotNull String hash(final @NotNull Writable data) {
+        try {
+            return data.sha1();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to hash resource data", e);
+        }
+    }
 
-            // todo: check for duplicated characters
-            final List<FontProvider> providers = new ArrayList<>(oldFont.providers());
-            providers.addAll(font.providers());
-            fonts.put(font.key(), oldFont.providers(providers));
+    /**
+     * The merge of a single category from multiple sources. Values
+     * are grouped by key, and each merged value is built once, from
+     * all the values with the same key, in source order.
+     */
+    private static final class CategoryMerge<K, V> {
+        private final Class<V> type;
+        private final SharedMap<K, V> target;
+        private final Collection<? extends ResourceContainer> sources;
+        private final BiConsumer<ResourceContainer, BiConsumer<K, V>> values;
+        private final MergeResolver<V> resolver;
+        private final boolean report;
+        private final boolean fail;
+
+        // shares the data of values with the same content, if set
+        private @Nullable ContentIndex<V> contentIndex;
+
+        // the values to write, in the order they were found
+        private final Map<K, V> result = new LinkedHashMap<>();
+        private final List<MergeConflict> conflicts = new ArrayList<>();
+
+        CategoryMerge(
+                final @NotNull Class<V> type,
+                final @NotNull SharedMap<K, V> target,
+                final @NotNull Collection<? extends ResourceContainer> sources,
+                final @NotNull MergeStrategy strategy,
+                final boolean report,
+                final @NotNull BiConsumer<ResourceContainer, BiConsumer<K, V>> values,
+                final @NotNull MergeResolver<V> defaultResolver
+        ) {
+            this.type = type;
+            this.target = target;
+            this.sources = sources;
+            this.values = values;
+            final MergeResolver<V> resolver = strategy.resolver(type);
+            this.resolver = resolver == null ? defaultResolver : resolver;
+            this.report = report;
+            this.fail = !report && strategy.fallback() == MergeStrategy.mergeAndFailOnError();
         }
 
-        // merge items
-        for (final Item item : other.items()) {
-            if (items.containsKey(item.key())) {
-                if (override) {
-                    items.put(item.key(), item);
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated item '" + item.key()
-                            + "': exists in both resource containers");
-                }
-            } else {
-                items.put(item.key(), item);
+        @NotNull CategoryMerge<K, V> deduplicate(
+                final boolean deduplicate,
+                final @NotNull Function<V, Writable> data,
+                final @NotNull BiFunction<V, Writable, V> withData
+        ) {
+            if (deduplicate) {
+                this.contentIndex = new ContentIndex<>(data, withData);
             }
+            return this;
         }
 
-        // merge languages
-        for (final Language language : other.languages()) {
-            final Language oldLanguage = languages.get(language.key());
-            if (oldLanguage == null || override) {
-                languages.put(language.key(), language);
-                continue;
-            }
+        void compute() {
+            final Map<K, V> existing = target.read();
+            // only keys found more than once need a list
+            final Map<K, List<V>> collisions = new LinkedHashMap<>();
 
-            final Map<String, String> translations = new LinkedHashMap<>(oldLanguage.translations());
-            for (final Map.Entry<String, String> translation : language.translations().entrySet()) {
-                final String replaced = translations.put(translation.getKey(), translation.getValue());
-                if (replaced != null && strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException(
-                            "Duplicated translation keys in language " + language.key()
-                                    + ". Translation key: " + translation.getKey()
-                                    + ". Exists in both resource containers."
-                    );
+            final ContentIndex<V> contentIndex = this.contentIndex;
+            if (contentIndex != null) {
+                for (final V value : existing.values()) {
+                    contentIndex.apply(value);
                 }
             }
-            languages.put(language.key(), Language.language(language.key(), translations));
-        }
 
-        // merge models
-        for (final Model model : other.models()) {
-            final Model oldModel = models.get(model.key());
-            if (oldModel == null || strategy == MergeStrategy.override()) {
-                models.put(model.key(), model);
-                continue;
+            for (final ResourceContainer source : sources) {
+                values.accept(source, (key, sourceValue) -> {
+                    final V value = contentIndex == null ? sourceValue : contentIndex.apply(sourceValue);
+                    List<V> group = collisions.get(key);
+                    if (group != null) {
+                        group.add(value);
+                        return;
+                    }
+                    V previous = result.get(key);
+                    if (previous == null) {
+                        previous = existing.get(key);
+                    }
+                    if (previous == null) {
+                        result.put(key, value);
+                        return;
+                    }
+                    group = new ArrayList<>(4);
+                    group.add(previous);
+                    group.add(value);
+                    collisions.put(key, group);
+                });
             }
 
-            final Model.Builder oldModelBuilder = oldModel.toBuilder();
-            for (final ItemOverride itemOverride : model.overrides()) {
-                // todo: detect duplicated override keys
-                oldModelBuilder.addOverride(itemOverride);
+            for (final Map.Entry<K, List<V>> entry : collisions.entrySet()) {
+                final String key = entry.getKey() instanceof Key k ? k.asString() : entry.getKey().toString();
+                final V merged = resolver.resolve(key, Collections.unmodifiableList(entry.getValue()), message -> {
+                    if (fail) {
+                        throw new MergeException(message);
+                    } else if (report) {
+                        conflicts.add(MergeConflict.of(type, key, message));
+                    }
+                });
+                result.put(entry.getKey(), requireNonNull(merged, "merged"));
             }
-            models.put(model.key(), oldModelBuilder.build());
         }
 
-        // merge sound registries
-        for (final SoundRegistry soundRegistry : other.soundRegistries()) {
-            final SoundRegistry oldSoundRegistry = soundRegistries.get(soundRegistry.namespace());
-            if (oldSoundRegistry == null || override) {
-                soundRegistries.put(soundRegistry.namespace(), soundRegistry);
-                continue;
-            }
-
-            final Map<Key, SoundEvent> soundEvents = new LinkedHashMap<>();
-            for (final SoundEvent soundEvent : oldSoundRegistry.sounds()) {
-                soundEvents.put(soundEvent.key(), soundEvent);
+        void apply(final @NotNull ResourceContainerImpl container) {
+            if (!result.isEmpty()) {
+                container.write(target).putAll(result);
             }
-
-            for (final SoundEvent soundEvent : soundRegistry.sounds()) {
-                final SoundEvent replacedSoundEvent = soundEvents.put(soundEvent.key(), soundEvent);
-                if (replacedSoundEvent != null && strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated sound event '" + soundEvent + "': exists" +
-                            " in both resource-packs");
-                }
-            }
-
-            soundRegistries.put(
-                    soundRegistry.namespace(),
-                    SoundRegistry.soundRegistry()
-                            .namespace(soundRegistry.namespace())
-                            .sounds(soundEvents.values())
-                            .build()
-            );
         }
+    }
 
-        // merge sounds
-        for (final Sound sound : other.sounds()) {
-            if (sounds.containsKey(sound.key())) {
-                if (override) {
-                    sounds.put(sound.key(), sound);
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated sound '" + sound.key()
-                            + "': exists in both resource containers");
-                }
-            } else {
-                sounds.put(sound.key(), sound);
-            }
-        }
+    /**
+     * Index of resource data by content hash, used to make resources
+     * with the same content share a single {@link Writable}.
+     */
+    private static final class ContentIndex<V> implements UnaryOperator<V> {
+        private final Function<V, Writable> data;
+        private final BiFunction<V, Writable, V> withData;
+        private final Map<String, Writable> dataByHash = new HashMap<>();
 
-        // merge textures
-        // todo: should we merge metadata?
-        for (final Texture texture : other.textures()) {
-            if (textures.containsKey(texture.key())) {
-                if (override) {
-                    textures.put(texture.key(), texture);
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated texture '" + texture.key()
-                            + "': exists in both resource containers");
-                }
-            } else {
-                textures.put(texture.key(), texture);
-            }
+        ContentIndex(final @NotNull Function<V, Writable> data, final @NotNull BiFunction<V, Writable, V> withData) {
+            this.data = data;
+            this.withData = withData;
         }
 
-        // merge unknown files
-        for (final Map.Entry<String, Writable> entry : other.unknownFiles().entrySet()) {
-            if (files.containsKey(entry.getKey())) {
-                if (override) {
-                    files.put(entry.getKey(), entry.getValue());
-                } else if (strategy == MergeStrategy.mergeAndFailOnError()) {
-                    throw new MergeException("Duplicated unknown file: '" + entry.getKey()
-                            + "': exists in both resource containers");
-                }
-            } else {
-                files.put(entry.getKey(), entry.getValue());
-            }
+        @Override
+        public V apply(final V value) {
+            final Writable data = this.data.apply(value);
+            final Writable shared = dataByHash.putIfAbsent(hash(data), data);
+            return shared == null || shared == data ? value : withData.apply(value, shared);
         }
     }
 }
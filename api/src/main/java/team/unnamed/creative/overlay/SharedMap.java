@@ -0,0 +1,252 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * A {@link LinkedHashMap} holder that can share its map with other
+ * holders, copying it before the first modification (copy-on-write).
+ *
+ * <p>Used by resource containers so that snapshots and copies share
+ * their categories until they are modified.</p>
+ *
+ * <p>Concurrent holders use a {@link ConcurrentSkipListMap} instead,
+ * which is never shared, since it may be modified at any time.</p>
+ *
+ * <p>Modifications must be made through the methods of the holder (or
+ * its views), so that its listener is notified of the changed keys.</p>
+ */
+final class SharedMap<K, V> {
+    // only replaced (copied) by non-concurrent holders
+    private Map<K, V> map;
+    // true if the map may be referenced by other holders
+    private boolean shared;
+    private final boolean concurrent;
+    // called with the changed key, or null if any key may have changed
+    private @Nullable Consumer<? super K> listener;
+
+    SharedMap() {
+        this.map = new LinkedHashMap<>();
+        this.concurrent = false;
+    }
+
+    private SharedMap(final @NotNull Map<K, V> map, final boolean shared, final boolean concurrent) {
+        this.map = map;
+        this.shared = shared;
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * Creates a thread-safe holder, its map is iterated
+     * in the order given by the comparator.
+     */
+    static <K, V> @NotNull SharedMap<K, V> concurrent(final @NotNull Comparator<? super K> order) {
+        return new SharedMap<>(new ConcurrentSkipListMap<>(order), false, true);
+    }
+
+    /**
+     * Returns the map for reading, it must not be modified.
+     */
+    @NotNull Map<K, V> read() {
+        return map;
+    }
+
+    /**
+     * Sets the listener called after keys are added, replaced or
+     * removed, with the changed key, or null if any key may have
+     * changed.
+     */
+    void listener(final @NotNull Consumer<? super K> listener) {
+        this.listener = listener;
+    }
+
+    V put(final K key, final V value) {
+        final V previous = write().put(key, value);
+        changed(key);
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(final Object key) {
+        final V removed = write().remove(key);
+        if (removed != null) {
+            changed((K) key);
+        }
+        return removed;
+    }
+
+    void putAll(final @NotNull Map<? extends K, ? extends V> values) {
+        write().putAll(values);
+        for (final K key : values.keySet()) {
+            changed(key);
+        }
+    }
+
+    void clear() {
+        if (!map.isEmpty()) {
+            write().clear();
+            changed(null);
+        }
+    }
+
+    private void changed(final @Nullable K key) {
+        final Consumer<? super K> listener = this.listener;
+        if (listener != null) {
+            listener.accept(key);
+        }
+    }
+
+    /**
+     * Returns the map for writing, copying it first if it is shared.
+     */
+    private @NotNull Map<K, V> write() {
+        if (concurrent) {
+            return map;
+        }
+        if (shared) {
+            map = new LinkedHashMap<>(map);
+            shared = false;
+        }
+        return map;
+    }
+
+    /**
+     * Returns a modifiable view of this holder, reads go to the
+     * current map and modifications copy it first if it is shared,
+     * so views obtained before sharing it don't modify other holders.
+     */
+    @NotNull Map<K, V> view() {
+        return new View();
+    }
+
+    /**
+     * Creates a new holder sharing the map of this holder.
+     */
+    @NotNull SharedMap<K, V> share() {
+        if (concurrent) {
+            // copy it now, keeping its order
+            return new SharedMap<>(new ConcurrentSkipListMap<>((ConcurrentSkipListMap<K, V>) map), false, true);
+        }
+        shared = true;
+        return new SharedMap<>(map, true, false);
+    }
+
+    private final class View extends AbstractMap<K, V> {
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public V get(final Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public V put(final K key, final V value) {
+            return SharedMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(final Object key) {
+            return SharedMap.this.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            SharedMap.this.clear();
+        }
+
+        @Override
+        public @NotNull Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return map.size();
+                }
+
+                @Override
+                public @NotNull Iterator<Entry<K, V>> iterator() {
+                    return new ViewIterator();
+                }
+            };
+        }
+    }
+
+    private final class ViewIterator implements Iterator<Map.Entry<K, V>> {
+        private final Map<K, V> iterated = map;
+        private final Iterator<Map.Entry<K, V>> delegate = iterated.entrySet().iterator();
+        private Map.Entry<K, V> last;
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            last = delegate.next();
+            return new AbstractMap.SimpleEntry<>(last) {
+                @Override
+                public V setValue(final V value) {
+                    put(getKey(), value);
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            final Map<K, V> target = write();
+            if (target == iterated) {
+                delegate.remove();
+            } else {
+                // copied, the iterated map now belongs to other holders
+                target.remove(last.getKey());
+            }
+            changed(last.getKey());
+            last = null;
+        }
+    }
+}
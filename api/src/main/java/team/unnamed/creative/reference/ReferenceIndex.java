@@ -0,0 +1,335 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.reference;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.overlay.ResourceContainerImpl;
+import team.unnamed.creative.sound.SoundEvent;
+import team.unnamed.creative.sound.SoundRegistry;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An index of the references between the resources of a
+ * {@link ResourceContainer}, e.g. the textures used by each
+ * model, and the models using each texture.
+ *
+ * <p>Both directions can be queried in constant time. The built-in
+ * containers notify the index of their modifications, which are applied
+ * on the next query, only re-reading the changed resources (or the changed
+ * category, for merges that replace it at once). Other containers aren't
+ * observed, the index must be updated after modifying them, using
+ * {@link #refresh()}, that re-reads every resource and only re-indexes the
+ * ones that changed, or {@link #update(ResourceReference)} for a single one.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @since 1.13.0
+ */
+public final class ReferenceIndex {
+    private final ResourceContainer container;
+
+    // the resource each reference was indexed from, resources
+    // are immutable, so they are compared by identity
+    private final Map<ResourceReference, Object> resources = new HashMap<>();
+    private final Map<ResourceReference, Set<ResourceReference>> references = new HashMap<>();
+    private final Map<ResourceReference, Set<ResourceReference>> referencedBy = new HashMap<>();
+    private final Map<ResourceType, Set<ResourceReference>> resourcesByType = new EnumMap<>(ResourceType.class);
+
+    // changes notified by the container and not applied yet,
+    // null if the container doesn't notify its changes
+    private final @Nullable Set<Change> changes;
+
+    private ReferenceIndex(final @NotNull ResourceContainer container) {
+        this.container = requireNonNull(container, "container");
+        if (container instanceof ResourceContainerImpl observable) {
+            this.changes = ConcurrentHashMap.newKeySet();
+            observable.addChangeListener(new ChangeListener(changes, observable));
+        } else {
+            this.changes = null;
+        }
+        for (final ResourceType type : ResourceType.values()) {
+            rescan(type);
+        }
+    }
+
+    /**
+     * Creates an index of the references between the
+     * resources in the given container.
+     *
+     * @param container The resource container
+     * @return The reference index
+     * @since 1.13.0
+     */
+    public static @NotNull ReferenceIndex index(final @NotNull ResourceContainer container) {
+        return new ReferenceIndex(container);
+    }
+
+    /**
+     * Gets the indexed resource container.
+     *
+     * @return The resource container
+     * @since 1.13.0
+     */
+    public @NotNull ResourceContainer container() {
+        return container;
+    }
+
+    /**
+     * Gets the references to all the indexed resources, i.e.
+     * the resources in the container.
+     *
+     * @return The indexed resources
+     * @since 1.13.0
+     */
+    public @Unmodifiable @NotNull Set<ResourceReference> resources() {
+        applyChanges();
+        return Collections.unmodifiableSet(resources.keySet());
+    }
+
+    /**
+     * Determines whether the referenced resource exists
+     * in the container.
+     *
+     * @param reference The resource reference
+     * @return True if the resource exists
+     * @since 1.13.0
+     */
+    public boolean contains(final @NotNull ResourceReference reference) {
+        requireNonNull(reference, "reference");
+        applyChanges();
+        return resources.containsKey(reference);
+    }
+
+    /**
+     * Gets the resources directly referenced by the given
+     * resource, whether they exist or not.
+     *
+     * @param reference The resource reference
+     * @return The referenced resources
+     * @since 1.13.0
+     */
+    public @Unmodifiable @NotNull Set<ResourceReference> references(final @NotNull ResourceReference reference) {
+        requireNonNull(reference, "reference");
+        applyChanges();
+        return view(references.get(reference));
+    }
+
+    /**
+     * Gets the resources that directly reference the given
+     * resource, whether it exists or not.
+     *
+     * @param reference The resource reference
+     * @return The referencing resources
+     * @since 1.13.0
+     */
+    public @Unmodifiable @NotNull Set<ResourceReference> referencedBy(final @NotNull ResourceReference reference) {
+        requireNonNull(reference, "reference");
+        applyChanges();
+        return view(referencedBy.get(reference));
+    }
+
+    /**
+     * Updates the index with the current state of the container.
+     *
+     * <p>For the built-in containers, this only applies the notified
+     * changes (which queries already do). For other containers, every
+     * resource is re-read, and only the references of added, changed
+     * or removed resources are recomputed.</p>
+     *
+     * @since 1.13.0
+     */
+    public void refresh() {
+        if (changes != null) {
+            applyChanges();
+            return;
+        }
+        for (final ResourceType type : ResourceType.values()) {
+            rescan(type);
+        }
+    }
+
+    private void applyChanges() {
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        final Iterator<Change> iterator = changes.iterator();
+        while (iterator.hasNext()) {
+            final Change change = iterator.next();
+            // removed first, so that it is not lost if notified again meanwhile
+            iterator.remove();
+            if (change.key == null) {
+                rescan(change.type);
+            } else if (change.type == ResourceType.SOUND_EVENT) {
+                rescanSoundEvents((String) change.key);
+            } else {
+                update(ResourceReference.reference(change.type, (Key) change.key));
+            }
+        }
+    }
+
+    private void rescan(final @NotNull ResourceType type) {
+        final Set<ResourceReference> removed = new HashSet<>(resourcesByType.getOrDefault(type, Set.of()));
+        References.forEachResource(container, type, (reference, resource) -> {
+            removed.remove(reference);
+            if (resources.get(reference) != resource) {
+                index(reference, resource);
+            }
+        });
+        for (final ResourceReference reference : removed) {
+            unindex(reference);
+        }
+    }
+
+    private void rescanSoundEvents(final @NotNull String namespace) {
+        final Set<ResourceReference> removed = new HashSet<>();
+        for (final ResourceReference reference : resourcesByType.getOrDefault(ResourceType.SOUND_EVENT, Set.of())) {
+            if (reference.key().namespace().equals(namespace)) {
+                removed.add(reference);
+            }
+        }
+        final SoundRegistry soundRegistry = container.soundRegistry(namespace);
+        if (soundRegistry != null) {
+            for (final SoundEvent soundEvent : soundRegistry.sounds()) {
+                final ResourceReference reference = ResourceReference.reference(ResourceType.SOUND_EVENT, soundEvent.key());
+                removed.remove(reference);
+                if (resources.get(reference) != soundEvent) {
+                    index(reference, soundEvent);
+                }
+            }
+        }
+        for (final ResourceReference reference : removed) {
+            unindex(reference);
+        }
+    }
+
+    /**
+     * Updates the index with the current state of a single
+     * resource in the container, e.g. after adding, replacing
+     * or removing it.
+     *
+     * @param reference The resource reference
+     * @since 1.13.0
+     */
+    public void update(final @NotNull ResourceReference reference) {
+        requireNonNull(reference, "reference");
+        final Object resource = References.resource(container, reference);
+        if (resource == null) {
+            unindex(reference);
+        } else if (resources.get(reference) != resource) {
+            index(reference, resource);
+        }
+    }
+
+    private void index(final @NotNull ResourceReference reference, final @NotNull Object resource) {
+        unindex(reference);
+        resources.put(reference, resource);
+        resourcesByType.computeIfAbsent(reference.type(), k -> new HashSet<>()).add(reference);
+
+        final Set<ResourceReference> targets = new LinkedHashSet<>();
+        References.collect(resource, targets::add);
+        if (targets.isEmpty()) {
+            return;
+        }
+        references.put(reference, targets);
+        for (final ResourceReference target : targets) {
+            referencedBy.computeIfAbsent(target, k -> new LinkedHashSet<>()).add(reference);
+        }
+    }
+
+    private void unindex(final @NotNull ResourceReference reference) {
+        if (resources.remove(reference) != null) {
+            resourcesByType.get(reference.type()).remove(reference);
+        }
+        final Set<ResourceReference> targets = references.remove(reference);
+        if (targets == null) {
+            return;
+        }
+        for (final ResourceReference target : targets) {
+            final Set<ResourceReference> sources = referencedBy.get(target);
+            if (sources != null) {
+                sources.remove(reference);
+                if (sources.isEmpty()) {
+                    referencedBy.remove(target);
+                }
+            }
+        }
+    }
+
+    private static @NotNull Set<ResourceReference> view(final @Nullable Set<ResourceReference> set) {
+        return set == null ? Collections.emptySet() : Collections.unmodifiableSet(set);
+    }
+
+    private record Change(ResourceType type, @Nullable Object key) {
+    }
+
+    /**
+     * Records the changes of a container, only referencing the index
+     * weakly, so that it can be collected without being closed.
+     */
+    private static final class ChangeListener implements BiConsumer<Class<?>, Object> {
+        private final WeakReference<Set<Change>> changes;
+        private final ResourceContainerImpl container;
+
+        ChangeListener(final @NotNull Set<Change> changes, final @NotNull ResourceContainerImpl container) {
+            this.changes = new WeakReference<>(changes);
+            this.container = container;
+        }
+
+        @Override
+        public void accept(final @NotNull Class<?> resourceClass, final @Nullable Object key) {
+            final Set<Change> changes = this.changes.get();
+            if (changes == null) {
+                // the index was collected
+                container.removeChangeListener(this);
+                return;
+            }
+            final ResourceType type = References.type(resourceClass);
+            if (type != null) {
+                changes.add(new Change(type, key));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceIndex{resources=" + resources.size() + ", references=" + references.size() + '}';
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.reference;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.atlas.PalettedPermutationsAtlasSource;
+import team.unnamed.creative.atlas.SingleAtlasSource;
+import team.unnamed.creative.atlas.UnstitchAtlasSource;
+import team.unnamed.creative.blockstate.BlockState;
+import team.unnamed.creative.blockstate.MultiVariant;
+import team.unnamed.creative.blockstate.Selector;
+import team.unnamed.creative.blockstate.Variant;
+import team.unnamed.creative.equipment.Equipment;
+import team.unnamed.creative.equipment.EquipmentLayer;
+import team.unnamed.creative.equipment.EquipmentLayerType;
+import team.unnamed.creative.font.BitMapFontProvider;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.font.FontProvider;
+import team.unnamed.creative.font.ReferenceFontProvider;
+import team.unnamed.creative.item.CompositeItemModel;
+import team.unnamed.creative.item.ConditionItemModel;
+import team.unnamed.creative.item.Item;
+import team.unnamed.creative.item.ItemModel;
+import team.unnamed.creative.item.RangeDispatchItemModel;
+import team.unnamed.creative.item.ReferenceItemModel;
+import team.unnamed.creative.item.SelectItemModel;
+import team.unnamed.creative.item.SpecialItemModel;
+import team.unnamed.creative.model.ItemOverride;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.model.ModelTexture;
+import team.unnamed.creative.model.ModelTextures;
+import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.sound.Sound;
+import team.unnamed.creative.sound.SoundEntry;
+import team.unnamed.creative.sound.SoundEvent;
+import team.unnamed.creative.sound.SoundRegistry;
+import team.unnamed.creative.texture.Texture;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Finds the resources in a container and the references
+ * between them.
+ */
+final class References {
+    static final String TEXTURE_EXTENSION = ".png";
+
+    private References() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Iterates over all the resources in the given container
+     * that can reference other resources or be referenced.
+     */
+    static void forEachResource(final @NotNull ResourceContainer container, final @NotNull BiConsumer<ResourceReference, Object> consumer) {
+        for (final ResourceType type : ResourceType.values()) {
+            forEachResource(container, type, consumer);
+        }
+    }
+
+    /**
+     * Iterates over all the resources of the given type in the given container.
+     */
+    static void forEachResource(
+            final @NotNull ResourceContainer container,
+            final @NotNull ResourceType type,
+            final @NotNull BiConsumer<ResourceReference, Object> consumer
+    ) {
+        switch (type) {
+            case ATLAS -> {
+                for (final Atlas atlas : container.atlases()) {
+                    consumer.accept(ResourceReference.reference(ResourceType.ATLAS, atlas.key()), atlas);
+                }
+            }
+            case BLOCK_STATE -> {
+                for (final BlockState blockState : container.blockStates()) {
+                    consumer.accept(ResourceReference.reference(ResourceType.BLOCK_STATE, blockState.key()), blockState);
+                }
+            }
+            case EQUIPMENT -> {
+                for (final Equipment equipment : container.equipment()) {
+                    consumer.accept(ResourceReference.reference(ResourceType.EQUIPMENT, equipment.key()), equipment);
+                }
+            }
+            case FONT -> {
+                for (final Font font : container.fonts()) {
+                    consumer.accept(ResourceReference.reference(ResourceType.FONT, font.key()), font);
+                }
+            }
+            case ITEM -> {
+                for (final Item item : container.items()) {
+                    consumer.accept(ResourceReference.reference(ResourceType.ITEM, item.key()), item);
+                }
+            }
+            case MODEL -> {
+                for (final Model model : container.models()) {
+                    consumer.accept(ResourceReference.reference(ResourceType.MODEL, model.key()), model);
+                }
+            }
+            case SOUND -> {
+                for (final Sound sound : container.sounds()) {
+                    consumer.accept(ResourceReference.reference(ResourceType.SOUND, sound.key()), sound);
+                }
+            }
+            case SOUND_EVENT -> {
+                for (final SoundRegistry soundRegistry : container.soundRegistries()) {
+                    for (final SoundEvent soundEvent : soundRegistry.sounds()) {
+                        consumer.accept(ResourceReference.reference(ResourceType.SOUND_EVENT, soundEvent.key()), soundEvent);
+                    }
+                }
+            }
+            case TEXTURE -> {
+                for (final Texture texture : container.textures()) {
+                    consumer.accept(ResourceReference.reference(ResourceType.TEXTURE, texture.key()), texture);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the type of the references to resources of the given
+     * class, or null if they can't reference or be referenced.
+     */
+    static @Nullable ResourceType type(final @NotNull Class<?> resourceClass) {
+        if (resourceClass == Atlas.class) {
+            return ResourceType.ATLAS;
+        } else if (resourceClass == BlockState.class) {
+            return ResourceType.BLOCK_STATE;
+        } else if (resourceClass == Equipment.class) {
+            return ResourceType.EQUIPMENT;
+        } else if (resourceClass == Font.class) {
+            return ResourceType.FONT;
+        } else if (resourceClass == Item.class) {
+            return ResourceType.ITEM;
+        } else if (resourceClass == Model.class) {
+            return ResourceType.MODEL;
+        } else if (resourceClass == Sound.class) {
+            return ResourceType.SOUND;
+        } else if (resourceClass == SoundRegistry.class) {
+            return ResourceType.SOUND_EVENT;
+        } else if (resourceClass == Texture.class) {
+            return ResourceType.TEXTURE;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the resource for the given reference from the
+     * given container, or null if it doesn't exist.
+     */
+    static @Nullable Object resource(final @NotNull ResourceContainer container, final @NotNull ResourceReference reference) {
+        final Key key = reference.key();
+        return switch (reference.type()) {
+            case ATLAS -> container.atlas(key);
+            case BLOCK_STATE -> container.blockState(key);
+            case EQUIPMENT -> container.equipment(key);
+            case FONT -> container.font(key);
+            case ITEM -> container.item(key);
+            case MODEL -> container.model(key);
+            case SOUND -> container.sound(key);
+            case SOUND_EVENT -> container.soundEvent(key);
+            case TEXTURE -> container.texture(key);
+        };
+    }
+
+    /**
+     * Finds the resources directly referenced by the given resource.
+     */
+    static void collect(final @NotNull Object resource, final @NotNull Consumer<ResourceReference> consumer) {
+        if (resource instanceof Model model) {
+            collectModel(model, consumer);
+        } else if (resource instanceof Item item) {
+            collectItemModel(item.model(), consumer);
+        } else if (resource instanceof BlockState blockState) {
+            for (final MultiVariant multiVariant : blockState.variants().values()) {
+                collectVariants(multiVariant, consumer);
+            }
+            for (final Selector selector : blockState.multipart()) {
+                collectVariants(selector.variant(), consumer);
+            }
+        } else if (resource instanceof Atlas atlas) {
+            for (final AtlasSource source : atlas.sources()) {
+                collectAtlasSource(source, consumer);
+            }
+        } else if (resource instanceof Font font) {
+            for (final FontProvider provider : font.providers()) {
+                if (provider instanceof BitMapFontProvider bitMap) {
+                    // bitmap files already include the extension
+                    consumer.accept(ResourceReference.reference(ResourceType.TEXTURE, bitMap.file()));
+                } else if (provider instanceof ReferenceFontProvider reference) {
+                    consumer.accept(ResourceReference.reference(ResourceType.FONT, reference.id()));
+                }
+            }
+        } else if (resource instanceof Equipment equipment) {
+            for (final Map.Entry<EquipmentLayerType, List<EquipmentLayer>> entry : equipment.layers().entrySet()) {
+                final String folder = "entity/equipment/" + entry.getKey().name().toLowerCase(Locale.ROOT) + '/';
+                for (final EquipmentLayer layer : entry.getValue()) {
+                    final Key texture = layer.texture();
+                    consumer.accept(ResourceReference.reference(
+                            ResourceType.TEXTURE,
+                            Key.key(texture.namespace(), folder + texture.value() + TEXTURE_EXTENSION)
+                    ));
+                }
+            }
+        } else if (resource instanceof SoundEvent soundEvent) {
+            for (final SoundEntry entry : soundEvent.sounds()) {
+                final ResourceType type = entry.type() == SoundEntry.Type.EVENT ? ResourceType.SOUND_EVENT : ResourceType.SOUND;
+                consumer.accept(ResourceReference.reference(type, entry.key()));
+            }
+        }
+    }
+
+    private static void collectModel(final @NotNull Model model, final @NotNull Consumer<ResourceReference> consumer) {
+        final Key parent = model.parent();
+        if (parent != null) {
+            consumer.accept(ResourceReference.reference(ResourceType.MODEL, parent));
+        }
+
+        final ModelTextures textures = model.textures();
+        for (final ModelTexture layer : textures.layers()) {
+            collectModelTexture(layer, consumer);
+        }
+        if (textures.particle() != null) {
+            collectModelTexture(textures.particle(), consumer);
+        }
+        for (final ModelTexture variable : textures.variables().values()) {
+            collectModelTexture(variable, consumer);
+        }
+
+        for (final ItemOverride override : model.overrides()) {
+            consumer.accept(ResourceReference.reference(ResourceType.MODEL, override.model()));
+        }
+    }
+
+    private static void collectModelTexture(final @NotNull ModelTexture texture, final @NotNull Consumer<ResourceReference> consumer) {
+        // references to texture variables (#name) are resolved by the model itself
+        final Key key = texture.key();
+        if (key != null) {
+            consumer.accept(texture(key));
+        }
+    }
+
+    private static void collectItemModel(final @Nullable ItemModel model, final @NotNull Consumer<ResourceReference> consumer) {
+        if (model instanceof ReferenceItemModel reference) {
+            consumer.accept(ResourceReference.reference(ResourceType.MODEL, reference.model()));
+        } else if (model instanceof SpecialItemModel special) {
+            consumer.accept(ResourceReference.reference(ResourceType.MODEL, special.base()));
+        } else if (model instanceof CompositeItemModel composite) {
+            for (final ItemModel child : composite.models()) {
+                collectItemModel(child, consumer);
+            }
+        } else if (model instanceof ConditionItemModel condition) {
+            collectItemModel(condition.onTrue(), consumer);
+            collectItemModel(condition.onFalse(), consumer);
+        } else if (model instanceof SelectItemModel select) {
+            for (final SelectItemModel.Case selectCase : select.cases()) {
+                collectItemModel(selectCase.model(), consumer);
+            }
+            collectItemModel(select.fallback(), consumer);
+        } else if (model instanceof RangeDispatchItemModel rangeDispatch) {
+            for (final RangeDispatchItemModel.Entry entry : rangeDispatch.entries()) {
+                collectItemModel(entry.model(), consumer);
+            }
+            collectItemModel(rangeDispatch.fallback(), consumer);
+        }
+    }
+
+    private static void collectVariants(final @NotNull MultiVariant multiVariant, final @NotNull Consumer<ResourceReference> consumer) {
+        for (final Variant variant : multiVariant.variants()) {
+            consumer.accept(ResourceReference.reference(ResourceType.MODEL, variant.model()));
+        }
+    }
+
+    private static void collectAtlasSource(final @NotNull AtlasSource source, final @NotNull Consumer<ResourceReference> consumer) {
+        // directory sources reference textures by prefix, not by key
+        if (source instanceof SingleAtlasSource single) {
+            consumer.accept(texture(single.resource()));
+        } else if (source instanceof UnstitchAtlasSource unstitch) {
+            consumer.accept(texture(unstitch.resource()));
+        } else if (source instanceof PalettedPermutationsAtlasSource paletted) {
+            for (final Key texture : paletted.textures()) {
+                consumer.accept(texture(texture));
+            }
+            consumer.accept(texture(paletted.paletteKey()));
+            for (final Key permutation : paletted.permutations().values()) {
+                consumer.accept(texture(permutation));
+            }
+        }
+    }
+
+    /**
+     * Creates a texture reference for a texture location, which
+     * doesn't include the extension, unlike texture keys.
+     */
+    static @NotNull ResourceReference texture(final @NotNull Key location) {
+        return ResourceReference.reference(ResourceType.TEXTURE, Key.key(location.namespace(), location.value() + TEXTURE_EXTENSION));
+    }
+}
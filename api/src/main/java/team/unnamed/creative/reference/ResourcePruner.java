@@ -0,0 +1,261 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.reference;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.atlas.DirectoryAtlasSource;
+import team.unnamed.creative.atlas.FilterAtlasSource;
+import team.unnamed.creative.overlay.ResourceContainer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Finds and removes the resources of a container that can't be
+ * reached from any root resource, e.g. models and textures that
+ * no item, block state, font or equipment uses.
+ *
+ * <p>Resources are reached by following the references in a
+ * {@link ReferenceIndex}, and textures are also reached by the
+ * directory sources of root atlases (minus the sprites removed by
+ * their filter sources). The analysis runs in linear time on the
+ * number of resources and references.</p>
+ *
+ * @since 1.13.0
+ */
+public final class ResourcePruner {
+    private static final Predicate<ResourceReference> DEFAULT_ROOTS = reference -> switch (reference.type()) {
+        case ATLAS, BLOCK_STATE, EQUIPMENT, FONT, ITEM, SOUND_EVENT -> true;
+        // the game itself uses vanilla resources
+        default -> reference.key().namespace().equals(Key.MINECRAFT_NAMESPACE);
+    };
+
+    private static final Comparator<ResourceReference> ORDER = Comparator
+            .comparing(ResourceReference::type)
+            .thenComparing(reference -> reference.key().asString());
+
+    private ResourcePruner() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Returns the default root predicate, atlases, block states,
+     * equipment, fonts, items and sound events are roots, as well
+     * as every resource in the {@code minecraft} namespace, since
+     * they may be used by the game itself.
+     *
+     * @return The default root predicate
+     * @since 1.13.0
+     */
+    public static @NotNull Predicate<ResourceReference> defaultRoots() {
+        return DEFAULT_ROOTS;
+    }
+
+    /**
+     * Finds the resources that can't be reached from the
+     * {@link #defaultRoots() default roots}.
+     *
+     * @param container The resource container
+     * @return The unreachable resources
+     * @since 1.13.0
+     */
+    public static @Unmodifiable @NotNull Set<ResourceReference> unreachable(final @NotNull ResourceContainer container) {
+        return unreachable(ReferenceIndex.index(container), DEFAULT_ROOTS);
+    }
+
+    /**
+     * Finds the resources in the index container that can't
+     * be reached from the resources matching the given predicate.
+     *
+     * @param index The reference index, must be up to date
+     * @param roots The root predicate
+     * @return The unreachable resources, sorted by type and key
+     * @since 1.13.0
+     */
+    public static @Unmodifiable @NotNull Set<ResourceReference> unreachable(
+            final @NotNull ReferenceIndex index,
+            final @NotNull Predicate<ResourceReference> roots
+    ) {
+        requireNonNull(index, "index");
+        requireNonNull(roots, "roots");
+
+        final Set<ResourceReference> reached = new HashSet<>();
+        final Deque<ResourceReference> queue = new ArrayDeque<>();
+        // texture path -> textures with that path (in any namespace)
+        final NavigableMap<String, List<ResourceReference>> textures = new TreeMap<>();
+        final List<Atlas> atlases = new ArrayList<>();
+
+        for (final ResourceReference reference : index.resources()) {
+            if (reference.type() == ResourceType.TEXTURE) {
+                textures.computeIfAbsent(reference.key().value(), path -> new ArrayList<>(1)).add(reference);
+            }
+            if (roots.test(reference)) {
+                reached.add(reference);
+                queue.add(reference);
+                if (reference.type() == ResourceType.ATLAS) {
+                    final Atlas atlas = index.container().atlas(reference.key());
+                    if (atlas != null) {
+                        atlases.add(atlas);
+                    }
+                }
+            }
+        }
+
+        // textures stitched by the directory sources of root atlases
+        for (final Atlas atlas : atlases) {
+            for (final ResourceReference texture : sprites(atlas, textures)) {
+                if (reached.add(texture)) {
+                    queue.add(texture);
+                }
+            }
+        }
+
+        ResourceReference reference;
+        while ((reference = queue.poll()) != null) {
+            for (final ResourceReference target : index.references(reference)) {
+                if (reached.add(target)) {
+                    queue.add(target);
+                }
+            }
+        }
+
+        final List<ResourceReference> unreachable = new ArrayList<>();
+        for (final ResourceReference resource : index.resources()) {
+            if (!reached.contains(resource)) {
+                unreachable.add(resource);
+            }
+        }
+        unreachable.sort(ORDER);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(unreachable));
+    }
+
+    /**
+     * Removes the resources that can't be reached from the
+     * {@link #defaultRoots() default roots}.
+     *
+     * @param container The resource container
+     * @return The removed resources
+     * @since 1.13.0
+     */
+    public static @Unmodifiable @NotNull Set<ResourceReference> prune(final @NotNull ResourceContainer container) {
+        return prune(ReferenceIndex.index(container), DEFAULT_ROOTS);
+    }
+
+    /**
+     * Removes the resources in the index container that can't be
+     * reached from the resources matching the given predicate, the
+     * index is refreshed afterward.
+     *
+     * @param index The reference index, must be up to date
+     * @param roots The root predicate
+     * @return The removed resources
+     * @since 1.13.0
+     */
+    public static @Unmodifiable @NotNull Set<ResourceReference> prune(
+            final @NotNull ReferenceIndex index,
+            final @NotNull Predicate<ResourceReference> roots
+    ) {
+        final Set<ResourceReference> unreachable = unreachable(index, roots);
+        final ResourceContainer container = index.container();
+        for (final ResourceReference reference : unreachable) {
+            final Key key = reference.key();
+            switch (reference.type()) {
+                case ATLAS -> container.removeAtlas(key);
+                case BLOCK_STATE -> container.removeBlockState(key);
+                case EQUIPMENT -> container.removeEquipment(key);
+                case FONT -> container.removeFont(key);
+                case ITEM -> container.removeItem(key);
+                case MODEL -> container.removeModel(key);
+                case SOUND -> container.removeSound(key);
+                case SOUND_EVENT -> container.removeSoundEvent(key);
+                case TEXTURE -> container.removeTexture(key);
+            }
+        }
+        index.refresh();
+        return unreachable;
+    }
+
+    /**
+     * Finds the textures added to the given atlas by its directory
+     * sources and not removed by its filter sources.
+     *
+     * <p>Textures are sorted by path, so each directory source only
+     * visits the range of textures inside its folder.</p>
+     */
+    private static @NotNull Iterable<ResourceReference> sprites(final @NotNull Atlas atlas, final @NotNull NavigableMap<String, List<ResourceReference>> textures) {
+        // sprite key -> texture
+        final Map<Key, ResourceReference> sprites = new LinkedHashMap<>();
+        for (final AtlasSource source : atlas.sources()) {
+            if (source instanceof DirectoryAtlasSource directory) {
+                final String folder = directory.source().isEmpty() ? "" : directory.source() + '/';
+                for (final Map.Entry<String, List<ResourceReference>> entry : folder(textures, folder).entrySet()) {
+                    final String path = entry.getKey();
+                    if (!path.endsWith(References.TEXTURE_EXTENSION)) {
+                        continue;
+                    }
+                    final String name = path.substring(folder.length(), path.length() - References.TEXTURE_EXTENSION.length());
+                    for (final ResourceReference texture : entry.getValue()) {
+                        sprites.put(Key.key(texture.key().namespace(), directory.prefix() + name), texture);
+                    }
+                }
+            } else if (source instanceof FilterAtlasSource filter) {
+                // filters remove the sprites added by the previous sources
+                sprites.keySet().removeIf(filter.pattern()::test);
+            }
+        }
+        return sprites.values();
+    }
+
+    /**
+     * Returns the entries whose path starts with the given folder,
+     * which is empty or ends with '/'.
+     */
+    private static <V> @NotNull SortedMap<String, V> folder(final @NotNull NavigableMap<String, V> paths, final @NotNull String folder) {
+        if (folder.isEmpty()) {
+            return paths;
+        }
+        // paths starting with the folder sort before the folder with its '/' replaced by '0'
+        final String end = folder.substring(0, folder.length() - 1) + (char) ('/' + 1);
+        return paths.subMap(folder, true, end, false);
+    }
+}
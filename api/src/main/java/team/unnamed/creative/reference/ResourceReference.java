@@ -0,0 +1,69 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.reference;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.examination.Examinable;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A reference to a resource, by its type and key, whether the
+ * resource exists or not.
+ *
+ * <p>Keys are the same used by the resources, e.g. texture
+ * keys include the {@code .png} extension.</p>
+ *
+ * @since 1.13.0
+ */
+@ApiStatus.NonExtendable
+public interface ResourceReference extends Examinable {
+    /**
+     * Gets the type of the referenced resource.
+     *
+     * @return The resource type
+     * @since 1.13.0
+     */
+    @NotNull ResourceType type();
+
+    /**
+     * Gets the key of the referenced resource.
+     *
+     * @return The resource key
+     * @since 1.13.0
+     */
+    @NotNull Key key();
+
+    /**
+     * Creates a new {@link ResourceReference} instance.
+     *
+     * @param type The resource type
+     * @param key  The resource key
+     * @return The resource reference
+     * @since 1.13.0
+     */
+    static @NotNull ResourceReference reference(final @NotNull ResourceType type, final @NotNull Key key) {
+        return new ResourceReferenceImpl(type, key);
+    }
+}
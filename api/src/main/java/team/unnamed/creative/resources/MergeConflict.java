@@ -0,0 +1,80 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import net.kyori.examination.Examinable;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a conflict found while merging resource containers,
+ * e.g. two textures with the same key, that couldn't be merged.
+ *
+ * @see MergeReport
+ * @since 1.13.0
+ */
+@ApiStatus.NonExtendable
+public interface MergeConflict extends Examinable {
+    /**
+     * Gets the type of the conflicting resources, e.g.
+     * {@code Texture.class}, or the type of the metadata
+     * part for metadata conflicts.
+     *
+     * @return The resource type
+     * @since 1.13.0
+     */
+    @NotNull Class<?> type();
+
+    /**
+     * Gets the key of the conflicting resources, as a string.
+     *
+     * <p>Keys of resources inside overlays are prefixed with the
+     * overlay directory, e.g. {@code v20/minecraft:item/apple}.</p>
+     *
+     * @return The resource key
+     * @since 1.13.0
+     */
+    @NotNull String key();
+
+    /**
+     * Gets the conflict description.
+     *
+     * @return The conflict message
+     * @since 1.13.0
+     */
+    @NotNull String message();
+
+    /**
+     * Creates a new {@link MergeConflict} instance.
+     *
+     * @param type    The resource type
+     * @param key     The resource key
+     * @param message The conflict message
+     * @return The merge conflict
+     * @since 1.13.0
+     */
+    static @NotNull MergeConflict of(final @NotNull Class<?> type, final @NotNull String key, final @NotNull String message) {
+        return new MergeConflictImpl(type, key, message);
+    }
+}
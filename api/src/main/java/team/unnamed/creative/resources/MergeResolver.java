@@ -0,0 +1,57 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Resolves the merge of resources of the same type with the
+ * same key, coming from different resource containers.
+ *
+ * @param <T> The resource type
+ * @see MergeStrategy#withResolver(Class, MergeResolver)
+ * @since 1.13.0
+ */
+@FunctionalInterface
+public interface MergeResolver<T> {
+    /**
+     * Merges the given resources into one.
+     *
+     * <p>Conflicts that can't be resolved must be given to the
+     * {@code conflicts} consumer, instead of thrown, so that all
+     * of them can be reported. Depending on the strategy, the first
+     * conflict may end the merge by throwing a {@link MergeException}.</p>
+     *
+     * @param key       The key of the resources, as a string
+     * @param values    The resources to merge, in merge order (at least two,
+     *                  the first one is the one in the receiving container, if any)
+     * @param conflicts The consumer of conflict messages
+     * @return The merged resource
+     * @since 1.13.0
+     */
+    @NotNull T resolve(final @NotNull String key, final @NotNull List<T> values, final @NotNull Consumer<String> conflicts);
+}
@@ -25,8 +25,11 @@ package team.unnamed.creative.resources;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.overlay.ResourceContainer;
 
+import java.util.Map;
+
 /**
  * Represents a merging strategy, determines how to merge
  * two {@link ResourceContainer} instances in one.
@@ -73,4 +76,77 @@ public interface MergeStrategy {
     static @NotNull MergeStrategy mergeAndKeepFirstOnError() {
         return MergeStrategyImpl.MERGE_AND_KEEP_FIRST_ON_ERROR;
     }
+
+    /**
+     * Gets the built-in strategy that determines how resources
+     * without a {@link MergeResolver} are merged.
+     *
+     * @return The fallback strategy, this one for built-in strategies
+     * @since 1.13.0
+     */
+    default @NotNull MergeStrategy fallback() {
+        return this;
+    }
+
+    /**
+     * Gets the resolver used to merge resources of the given
+     * type, or {@code null} if they are merged by the
+     * {@link #fallback() fallback strategy}.
+     *
+     * @param type The resource type, e.g. {@code Font.class}
+     * @param <T>  The resource type
+     * @return The resolver for the given type
+     * @since 1.13.0
+     */
+    default <T> @Nullable MergeResolver<T> resolver(final @NotNull Class<T> type) {
+        return null;
+    }
+
+    /**
+     * Returns a merge strategy that merges resources of the given
+     * type using the given resolver, and any other resource like
+     * this strategy.
+     *
+     * <p>Resource types are the resource interfaces, i.e. {@code Atlas},
+     * {@code BlockState}, {@code Equipment}, {@code Font}, {@code Item},
+     * {@code Language}, {@code Model}, {@code SoundRegistry}, {@code Sound}
+     * and {@code Texture}, or {@code Writable} for unknown files.</p>
+     *
+     * @param type     The resource type
+     * @param resolver The resolver
+     * @param <T>      The resource type
+     * @return The new merge strategy
+     * @since 1.13.0
+     */
+    default <T> @NotNull MergeStrategy withResolver(final @NotNull Class<T> type, final @NotNull MergeResolver<T> resolver) {
+        return new ResolvingMergeStrategy(this, Map.of(type, resolver), false);
+    }
+
+    /**
+     * Determines whether textures and sounds with the same content
+     * share their data after merging.
+     *
+     * @return True if content is deduplicated
+     * @see #withContentDeduplication()
+     * @since 1.13.0
+     */
+    default boolean deduplicatesContent() {
+        return false;
+    }
+
+    /**
+     * Returns a merge strategy that, besides merging like this strategy,
+     * makes textures and sounds with the same content (by SHA-1 hash)
+     * share a single {@link team.unnamed.creative.base.Writable} instance,
+     * even if they have different keys.
+     *
+     * <p>Note that the content of every texture and sound in the merged
+     * containers is hashed, which reads it if it isn't in memory.</p>
+     *
+     * @return The new merge strategy
+     * @since 1.13.0
+     */
+    default @NotNull MergeStrategy withContentDeduplication() {
+        return new ResolvingMergeStrategy(this, Map.of(), true);
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link MergeStrategy} with resolvers for some resource types,
+ * the rest of them are merged using its fallback strategy.
+ */
+final class ResolvingMergeStrategy implements MergeStrategy {
+    private final MergeStrategy fallback;
+    private final Map<Class<?>, MergeResolver<?>> resolvers;
+    private final boolean deduplicate;
+
+    ResolvingMergeStrategy(
+            final @NotNull MergeStrategy fallback,
+            final @NotNull Map<Class<?>, MergeResolver<?>> resolvers,
+            final boolean deduplicate
+    ) {
+        this.fallback = requireNonNull(fallback, "fallback");
+        this.resolvers = Map.copyOf(resolvers);
+        this.deduplicate = deduplicate;
+    }
+
+    @Override
+    public @NotNull MergeStrategy fallback() {
+        return fallback;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable MergeResolver<T> resolver(final @NotNull Class<T> type) {
+        return (MergeResolver<T>) resolvers.get(type);
+    }
+
+    @Override
+    public <T> @NotNull MergeStrategy withResolver(final @NotNull Class<T> type, final @NotNull MergeResolver<T> resolver) {
+        requireNonNull(type, "type");
+        requireNonNull(resolver, "resolver");
+        final Map<Class<?>, MergeResolver<?>> resolvers = new HashMap<>(this.resolvers);
+        resolvers.put(type, resolver);
+        return new ResolvingMergeStrategy(fallback, resolvers, deduplicate);
+    }
+
+    @Override
+    public boolean deduplicatesContent() {
+        return deduplicate;
+    }
+
+    @Override
+    public @NotNull MergeStrategy withContentDeduplication() {
+        return new ResolvingMergeStrategy(fallback, resolvers, true);
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvingMergeStrategy{fallback=" + fallback + ", resolvers=" + resolvers.keySet()
+                + ", deduplicate=" + deduplicate + '}';
+    }
+}
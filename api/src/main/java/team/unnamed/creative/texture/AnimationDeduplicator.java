@@ -0,0 +1,246 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.metadata.animation.AnimationFrame;
+import team.unnamed.creative.metadata.animation.AnimationMeta;
+import team.unnamed.creative.overlay.ResourceContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Removes the repeated and unused frames of animated textures.
+ *
+ * <p>The frames of an animated texture are decoded and compared, the
+ * texture is rebuilt as a vertical strip with each distinct frame once,
+ * and its {@link AnimationMeta#frames() frame sequence} is rewritten to
+ * reference them, keeping the time of every frame. Consecutive entries
+ * of the same frame are joined, adding their times, unless the animation
+ * {@link AnimationMeta#interpolate() interpolates} its frames.</p>
+ *
+ * <p>A texture is only replaced if the result is smaller than its
+ * current data.</p>
+ *
+ * @since 1.13.0
+ */
+public final class AnimationDeduplicator {
+    private AnimationDeduplicator() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Deduplicates the frames of the animated textures of the given
+     * container, textures are processed in parallel.
+     *
+     * @param container The resource container
+     * @return The optimization report
+     * @since 1.13.0
+     */
+    public static @NotNull OptimizationReport deduplicate(final @NotNull ResourceContainer container) {
+        requireNonNull(container, "container");
+        final List<Texture> animated = new ArrayList<>();
+        for (final Texture texture : container.textures()) {
+            if (texture.meta().meta(AnimationMeta.class) != null) {
+                animated.add(texture);
+            }
+        }
+        final List<Textures.Optimized> results = animated.parallelStream()
+                .map(AnimationDeduplicator::deduplicate0)
+                .filter(Objects::nonNull)
+                .toList();
+
+        long originalSize = 0;
+        long optimizedSize = 0;
+        for (final Textures.Optimized result : results) {
+            container.texture(result.texture());
+            originalSize += result.originalSize();
+            optimizedSize += result.optimizedSize();
+        }
+        return OptimizationReport.of(animated.size(), results.size(), originalSize, optimizedSize);
+    }
+
+    /**
+     * Deduplicates the frames of the given texture.
+     *
+     * @param texture The texture
+     * @return The deduplicated texture, or the same texture if it is not
+     * animated, it has no repeated frames or it is not a valid PNG image
+     * @since 1.13.0
+     */
+    public static @NotNull Texture deduplicate(final @NotNull Texture texture) {
+        requireNonNull(texture, "texture");
+        final Textures.Optimized result = deduplicate0(texture);
+        return result == null ? texture : result.texture();
+    }
+
+    private static @Nullable Textures.Optimized deduplicate0(final @NotNull Texture texture) {
+        final AnimationMeta animation = texture.meta().meta(AnimationMeta.class);
+        if (animation == null) {
+            return null;
+        }
+
+        final Textures.Png png = Textures.read(texture);
+        if (png == null) {
+            return null;
+        }
+        final byte[] original = png.data();
+        final TextureImageImpl image = png.image();
+
+        // frame size, as computed by the client
+        int frameWidth = animation.width();
+        int frameHeight = animation.height();
+        if (frameWidth == AnimationMeta.DEFAULT_WIDTH && frameHeight == AnimationMeta.DEFAULT_HEIGHT) {
+            frameWidth = frameHeight = Math.min(image.width(), image.height());
+        } else if (frameWidth == AnimationMeta.DEFAULT_WIDTH) {
+            frameWidth = image.width();
+        } else if (frameHeight == AnimationMeta.DEFAULT_HEIGHT) {
+            frameHeight = image.height();
+        }
+        if (frameWidth <= 0 || frameHeight <= 0 || image.width() % frameWidth != 0 || image.height() % frameHeight != 0) {
+            // invalid, the client won't load it either
+            return null;
+        }
+        final int columns = image.width() / frameWidth;
+        final int frameCount = columns * (image.height() / frameHeight);
+
+        // the played sequence, as (index, time) pairs
+        final List<int[]> sequence = new ArrayList<>();
+        if (animation.frames().isEmpty()) {
+            for (int i = 0; i < frameCount; i++) {
+                sequence.add(new int[] { i, animation.frameTime() });
+            }
+        } else {
+            for (final AnimationFrame frame : animation.frames()) {
+                if (frame.index() < 0 || frame.index() >= frameCount) {
+                    return null;
+                }
+                final int time = frame.frameTime() == AnimationFrame.DELEGATE_FRAME_TIME ? animation.frameTime() : frame.frameTime();
+                sequence.add(new int[] { frame.index(), time });
+            }
+        }
+
+        // distinct frames, in order of appearance
+        final Map<Frame, Integer> distinct = new HashMap<>();
+        final List<Frame> frames = new ArrayList<>();
+        final List<AnimationFrame> rewritten = new ArrayList<>();
+        int previous = -1;
+        for (final int[] entry : sequence) {
+            final Frame frame = Frame.of(image, entry[0] % columns * frameWidth, entry[0] / columns * frameHeight, frameWidth, frameHeight);
+            Integer index = distinct.get(frame);
+            if (index == null) {
+                index = frames.size();
+                distinct.put(frame, index);
+                frames.add(frame);
+            }
+            if (index == previous && !animation.interpolate()) {
+                // join consecutive entries of the same frame, not when interpolating,
+                // since the client blends each entry towards the next one during its time
+                final AnimationFrame last = rewritten.remove(rewritten.size() - 1);
+                rewritten.add(AnimationFrame.frame(index, last.frameTime() + entry[1]));
+            } else {
+                rewritten.add(AnimationFrame.frame(index, entry[1]));
+            }
+            previous = index;
+        }
+
+        if (frames.size() == frameCount && rewritten.size() == sequence.size()) {
+            // nothing to remove
+            return null;
+        }
+
+        final int[] strip = new int[Math.multiplyExact(frameWidth, frameHeight * frames.size())];
+        for (int i = 0; i < frames.size(); i++) {
+            System.arraycopy(frames.get(i).pixels, 0, strip, i * frameWidth * frameHeight, frameWidth * frameHeight);
+        }
+
+        final AnimationMeta.Builder meta = AnimationMeta.animation()
+                .interpolate(animation.interpolate())
+                .frameTime(animation.frameTime())
+                .frames(useDefaultTimes(rewritten, animation.frameTime()));
+        if (frameWidth != frameHeight || animation.width() != AnimationMeta.DEFAULT_WIDTH || animation.height() != AnimationMeta.DEFAULT_HEIGHT) {
+            // frames are now in a single column, so explicit sizes must be complete
+            meta.width(frameWidth).height(frameHeight);
+        }
+
+        final byte[] data = PngCodec.encode(frameWidth, frameHeight * frames.size(), strip);
+        if (data.length >= original.length) {
+            return null;
+        }
+        final Texture result = texture.toBuilder()
+                .data(Writable.bytes(data))
+                .animationMeta(meta.build())
+                .build();
+        return new Textures.Optimized(result, original.length, data.length);
+    }
+
+    /**
+     * Writes the default frame time as {@link AnimationFrame#DELEGATE_FRAME_TIME},
+     * so that frames are serialized as plain indexes.
+     */
+    private static @NotNull List<AnimationFrame> useDefaultTimes(final @NotNull List<AnimationFrame> frames, final int defaultTime) {
+        final List<AnimationFrame> result = new ArrayList<>(frames.size());
+        for (final AnimationFrame frame : frames) {
+            result.add(frame.frameTime() == defaultTime ? AnimationFrame.frame(frame.index()) : frame);
+        }
+        return result;
+    }
+
+    private static final class Frame {
+        private final int[] pixels;
+        private final int hash;
+
+        private Frame(final int @NotNull [] pixels) {
+            this.pixels = pixels;
+            this.hash = Arrays.hashCode(pixels);
+        }
+
+        static @NotNull Frame of(final @NotNull TextureImageImpl image, final int x, final int y, final int width, final int height) {
+            final int[] pixels = new int[width * height];
+            for (int row = 0; row < height; row++) {
+                System.arraycopy(image.argb(), (y + row) * image.width() + x, pixels, row * width, width);
+            }
+            return new Frame(pixels);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Frame that && hash == that.hash && Arrays.equals(pixels, that.pixels);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
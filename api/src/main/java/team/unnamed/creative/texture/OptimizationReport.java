@@ -0,0 +1,93 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The result of a texture optimization pass.
+ *
+ * @since 1.13.0
+ */
+@ApiStatus.NonExtendable
+public interface OptimizationReport {
+    /**
+     * Gets the amount of textures that were processed.
+     *
+     * @return The amount of processed textures
+     * @since 1.13.0
+     */
+    int processedTextures();
+
+    /**
+     * Gets the amount of textures that were replaced
+     * by an optimized version.
+     *
+     * @return The amount of optimized textures
+     * @since 1.13.0
+     */
+    int optimizedTextures();
+
+    /**
+     * Gets the total size of the optimized textures,
+     * before optimizing them.
+     *
+     * @return The original size, in bytes
+     * @since 1.13.0
+     */
+    long originalSize();
+
+    /**
+     * Gets the total size of the optimized textures.
+     *
+     * @return The optimized size, in bytes
+     * @since 1.13.0
+     */
+    long optimizedSize();
+
+    /**
+     * Gets the amount of bytes saved by the optimization.
+     *
+     * @return The saved bytes
+     * @since 1.13.0
+     */
+    default long savedBytes() {
+        return originalSize() - optimizedSize();
+    }
+
+    /**
+     * Creates a new {@link OptimizationReport}.
+     *
+     * @param processedTextures The amount of processed textures
+     * @param optimizedTextures The amount of optimized textures
+     * @param originalSize The original size, in bytes
+     * @param optimizedSize The optimized size, in bytes
+     * @return The optimization report
+     * @since 1.13.0
+     */
+    static @NotNull OptimizationReport of(final int processedTextures, final int optimizedTextures, final long originalSize, final long optimizedSize) {
+        return new OptimizationReportImpl(processedTextures, optimizedTextures, originalSize, optimizedSize);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+
+/**
+ * The result of packing textures into sheets.
+ *
+ * @see TexturePacker
+ * @since 1.13.0
+ */
+@ApiStatus.NonExtendable
+public interface PackingReport {
+    /**
+     * Gets the keys of the created sheet textures.
+     *
+     * @return The sheet texture keys
+     * @since 1.13.0
+     */
+    @Unmodifiable @NotNull List<Key> sheets();
+
+    /**
+     * Gets the amount of textures that were packed into
+     * sheets (and removed from the container).
+     *
+     * @return The amount of packed textures
+     * @since 1.13.0
+     */
+    int packedTextures();
+
+    /**
+     * Gets the amount of sheet pixels used by packed
+     * textures or glyphs.
+     *
+     * @return The used area, in pixels
+     * @since 1.13.0
+     */
+    long usedArea();
+
+    /**
+     * Gets the total amount of pixels of the created sheets.
+     *
+     * @return The sheets area, in pixels
+     * @since 1.13.0
+     */
+    long totalArea();
+
+    /**
+     * Gets the packing efficiency, the fraction of the sheets
+     * area that is used, or one if no sheet was created.
+     *
+     * @return The packing efficiency, between zero and one
+     * @since 1.13.0
+     */
+    default double efficiency() {
+        return totalArea() == 0 ? 1D : (double) usedArea() / totalArea();
+    }
+
+    /**
+     * Creates a new {@link PackingReport}.
+     *
+     * @param sheets The created sheet texture keys
+     * @param packedTextures The amount of packed textures
+     * @param usedArea The used area, in pixels
+     * @param totalArea The sheets area, in pixels
+     * @return The packing report
+     * @since 1.13.0
+     */
+    static @NotNull PackingReport of(final @NotNull List<Key> sheets, final int packedTextures, final long usedArea, final long totalArea) {
+        return new PackingReportImpl(List.copyOf(sheets), packedTextures, usedArea, totalArea);
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.atlas.PalettedPermutationsAtlasSource;
+import team.unnamed.creative.atlas.SingleAtlasSource;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.reference.ReferenceIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Finds textures that only differ by the mapping of their colors
+ * (recolors), and replaces them by a {@link PalettedPermutationsAtlasSource},
+ * so that the client generates them when loading the atlas.
+ *
+ * <p>Two textures are permutations of each other when they have the same
+ * size and alpha channel, and there is a one-to-one mapping between their
+ * colors. Since the client names generated sprites after the base texture
+ * ({@code <base>_<suffix>}), only textures named that way can be replaced.
+ * Textures used by anything other than models and atlases (e.g. fonts or equipment,
+ * which don't use atlases) are never replaced.</p>
+ *
+ * <p>This trades download size for some work done by the client when
+ * loading the resource pack.</p>
+ *
+ * @since 1.13.0
+ */
+public final class PaletteAnalyzer {
+    private static final String PALETTES_DIRECTORY = "palettes/";
+
+    private PaletteAnalyzer() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Finds the groups of textures in the given container that only
+     * differ by the mapping of their colors, without modifying it.
+     *
+     * <p>Textures are decoded in parallel.</p>
+     *
+     * <p>Textures referenced by atlases are considered convertible,
+     * as long as they are compacted into the same atlas.</p>
+     *
+     * @param container The resource container
+     * @return The permutation groups
+     * @since 1.13.0
+     */
+    public static @Unmodifiable @NotNull List<PermutationGroup> analyze(final @NotNull ResourceContainer container) {
+        requireNonNull(container, "container");
+        final List<PermutationGroup> groups = new ArrayList<>();
+        for (final Analysis analysis : analyze0(container, null, new ArrayList<>())) {
+            groups.add(analysis.group);
+        }
+        return List.copyOf(groups);
+    }
+
+    /**
+     * Replaces the convertible {@link PermutationGroup#permutations() permutations}
+     * of the given container by palette textures and a paletted permutations source
+     * in the given atlas, when that saves space.
+     *
+     * <p>Palettes are named after the base texture, in the {@code palettes}
+     * directory, e.g. {@code palettes/block/wool.png} for the palette key and
+     * {@code palettes/block/wool_red.png} for a permutation, groups whose
+     * palette names are already used are skipped.</p>
+     *
+     * @param container The resource container
+     * @param atlas The atlas of the textures, e.g. {@code minecraft:blocks}
+     * @return The optimization report, replaced textures are counted as optimized
+     * @since 1.13.0
+     */
+    public static @NotNull OptimizationReport compact(final @NotNull ResourceContainer container, final @NotNull Key atlas) {
+        requireNonNull(container, "container");
+        requireNonNull(atlas, "atlas");
+
+        final List<Decoded> decoded = new ArrayList<>();
+        final List<Analysis> analyses = analyze0(container, atlas, decoded);
+        final Set<Key> removed = new HashSet<>();
+        final List<AtlasSource> added = new ArrayList<>();
+        long originalSize = 0;
+        long optimizedSize = 0;
+        for (final Analysis analysis : analyses) {
+            final PermutationGroup group = analysis.group;
+            if (group.permutations().isEmpty() || group.savings() <= 0) {
+                continue;
+            }
+            final Key base = Textures.location(group.base());
+            final Key paletteKey = Key.key(base.namespace(), PALETTES_DIRECTORY + base.value());
+            final Map<String, Key> palettes = new LinkedHashMap<>();
+            for (final String suffix : group.permutations().keySet()) {
+                palettes.put(suffix, Key.key(base.namespace(), PALETTES_DIRECTORY + base.value() + '_' + suffix));
+            }
+            if (container.texture(Textures.texture(paletteKey)) != null
+                    || palettes.values().stream().anyMatch(palette -> container.texture(Textures.texture(palette)) != null)) {
+                continue;
+            }
+
+            container.texture(Texture.texture(Textures.texture(paletteKey), Writable.bytes(analysis.keyPalette)));
+            optimizedSize += analysis.keyPalette.length;
+            for (final Map.Entry<String, Key> entry : palettes.entrySet()) {
+                final byte[] palette = analysis.palettes.get(entry.getKey());
+                container.texture(Texture.texture(Textures.texture(entry.getValue()), Writable.bytes(palette)));
+                optimizedSize += palette.length;
+            }
+            for (final Key permutation : group.permutations().values()) {
+                originalSize += analysis.sizes.get(permutation);
+                container.removeTexture(permutation);
+                removed.add(Textures.location(permutation));
+            }
+            added.add(AtlasSource.palettedPermutations(List.of(base), paletteKey, palettes));
+        }
+
+        if (!added.isEmpty()) {
+            final Atlas existing = container.atlas(atlas);
+            final List<AtlasSource> sources = new ArrayList<>();
+            if (existing != null) {
+                for (final AtlasSource source : existing.sources()) {
+                    // generated now, so single sources of them are dropped
+                    if (!(source instanceof SingleAtlasSource single && removed.contains(single.resource()))) {
+                        sources.add(source);
+                    }
+                }
+            }
+            sources.addAll(added);
+            container.atlas(Atlas.atlas(atlas, sources));
+        }
+        return OptimizationReport.of(decoded.size(), removed.size(), originalSize, optimizedSize);
+    }
+
+    private static @NotNull List<Analysis> analyze0(
+            final @NotNull ResourceContainer container,
+            final @Nullable Key atlas,
+            final @NotNull List<Decoded> decoded
+    ) {
+        final List<Texture> textures = new ArrayList<>();
+        for (final Texture texture : container.textures()) {
+            if (texture.meta().parts().isEmpty() && texture.key().value().endsWith(Textures.EXTENSION)) {
+                textures.add(texture);
+            }
+        }
+        textures.sort(Comparator.comparing(texture -> texture.key().asString()));
+        decoded.addAll(textures.parallelStream()
+                .map(PaletteAnalyzer::decode)
+                .filter(Objects::nonNull)
+                .toList());
+
+        final Map<Signature, List<Decoded>> candidates = new LinkedHashMap<>();
+        for (final Decoded texture : decoded) {
+            candidates.computeIfAbsent(texture.signature, k -> new ArrayList<>()).add(texture);
+        }
+
+        final ReferenceIndex index = ReferenceIndex.index(container);
+        final List<Analysis> analyses = new ArrayList<>();
+        for (final List<Decoded> members : candidates.values()) {
+            if (members.size() > 1) {
+                analyses.add(analyze(index, atlas, members));
+            }
+        }
+        return analyses;
+    }
+
+    private static @NotNull Analysis analyze(
+            final @NotNull ReferenceIndex index,
+            final @Nullable Key atlas,
+            final @NotNull List<Decoded> members
+    ) {
+        // the base is the texture with more members named after it
+        Decoded base = members.get(0);
+        List<Decoded> named = List.of();
+        for (final Decoded candidate : members) {
+            final List<Decoded> candidateNamed = new ArrayList<>();
+            for (final Decoded member : members) {
+                if (suffix(candidate.key, member.key) != null) {
+                    candidateNamed.add(member);
+                }
+            }
+            if (candidateNamed.size() > named.size()) {
+                base = candidate;
+                named = candidateNamed;
+            }
+        }
+
+        // colors of the base that change in any permutation
+        final int[] basePixels = base.image.argb();
+        final Map<String, Decoded> permutations = new LinkedHashMap<>();
+        final Map<Integer, Integer> changed = new LinkedHashMap<>(); // base rgb -> index
+        for (final Decoded member : named) {
+            if (!Textures.onlyUsedByModels(index, atlas, member.key)) {
+                continue;
+            }
+            final int[] pixels = member.image.argb();
+            boolean differs = false;
+            for (int i = 0; i < basePixels.length; i++) {
+                if (basePixels[i] != pixels[i]) {
+                    changed.putIfAbsent(basePixels[i] & 0xFFFFFF, changed.size());
+                    differs = true;
+                }
+            }
+            if (differs) {
+                permutations.put(suffix(base.key, member.key), member);
+            }
+        }
+
+        final List<Key> textures = new ArrayList<>();
+        for (final Decoded member : members) {
+            textures.add(member.key);
+        }
+        final Map<String, Key> permutationKeys = new LinkedHashMap<>();
+        final Map<String, byte[]> palettes = new LinkedHashMap<>();
+        final Map<Key, Long> sizes = new HashMap<>();
+        byte[] keyPalette = null;
+        long savings = 0;
+        if (!permutations.isEmpty()) {
+            final int[] key = new int[changed.size()];
+            for (final Map.Entry<Integer, Integer> entry : changed.entrySet()) {
+                key[entry.getValue()] = 0xFF000000 | entry.getKey();
+            }
+            keyPalette = PngCodec.encode(key.length, 1, key);
+            savings -= keyPalette.length;
+
+            for (final Map.Entry<String, Decoded> entry : permutations.entrySet()) {
+                final Decoded member = entry.getValue();
+                final int[] palette = key.clone();
+                final int[] pixels = member.image.argb();
+                for (int i = 0; i < basePixels.length; i++) {
+                    final Integer paletteIndex = changed.get(basePixels[i] & 0xFFFFFF);
+                    if (paletteIndex != null && basePixels[i] >>> 24 != 0) {
+                        palette[paletteIndex] = 0xFF000000 | (pixels[i] & 0xFFFFFF);
+                    }
+                }
+                final byte[] encoded = PngCodec.encode(palette.length, 1, palette);
+                permutationKeys.put(entry.getKey(), member.key);
+                palettes.put(entry.getKey(), encoded);
+                sizes.put(member.key, member.size);
+                savings += member.size - encoded.length;
+            }
+        }
+
+        final PermutationGroup group = new PermutationGroupImpl(base.key, List.copyOf(textures), Map.copyOf(permutationKeys), savings);
+        return new Analysis(group, keyPalette, palettes, sizes);
+    }
+
+    /**
+     * Returns the suffix of the given texture, if it is named after
+     * the given base texture, e.g. {@code red} for {@code block/wool_red.png}
+     * and {@code block/wool.png}.
+     */
+    private static @Nullable String suffix(final @NotNull Key base, final @NotNull Key texture) {
+        if (!base.namespace().equals(texture.namespace())) {
+            return null;
+        }
+        final String prefix = Textures.location(base).value() + '_';
+        final String value = Textures.location(texture).value();
+        if (!value.startsWith(prefix) || value.length() == prefix.length()) {
+            return null;
+        }
+        final String suffix = value.substring(prefix.length());
+        return suffix.indexOf('/') == -1 ? suffix : null;
+    }
+
+    private static @Nullable Decoded decode(final @NotNull Texture texture) {
+        final Textures.Png png = Textures.read(texture);
+        return png == null ? null : new Decoded(texture.key(), png.image(), png.data().length, Signature.of(png.image()));
+    }
+
+    private record Decoded(Key key, TextureImageImpl image, long size, Signature signature) {
+    }
+
+    private record Analysis(PermutationGroup group, byte @Nullable [] keyPalette, Map<String, byte[]> palettes, Map<Key, Long> sizes) {
+    }
+
+    /**
+     * The structure of an image, equal for images that only differ
+     * by a one-to-one mapping of their colors. Each pixel is encoded
+     * as its alpha and the index of its RGB color in order of appearance
+     * or, for fully transparent pixels, as the pixel itself (the client
+     * doesn't map them).
+     */
+    private static final class Signature {
+        private static final long TRANSPARENT = 1L << 40;
+
+        private final int width;
+        private final long[] pixels;
+        private final int hash;
+
+        private Signature(final int width, final long @NotNull [] pixels) {
+            this.width = width;
+            this.pixels = pixels;
+            this.hash = 31 * width + Arrays.hashCode(pixels);
+        }
+
+        static @NotNull Signature of(final @NotNull TextureImageImpl image) {
+            final int[] argb = image.argb();
+            final long[] pixels = new long[argb.length];
+            final Map<Integer, Integer> colors = new HashMap<>();
+            for (int i = 0; i < argb.length; i++) {
+                final int pixel = argb[i];
+                final int alpha = pixel >>> 24;
+                if (alpha == 0) {
+                    pixels[i] = TRANSPARENT | (pixel & 0xFFFFFFFFL);
+                } else {
+                    final int color = colors.computeIfAbsent(pixel & 0xFFFFFF, k -> colors.size());
+                    pixels[i] = (long) alpha << 32 | color;
+                }
+            }
+            return new Signature(image.width(), pixels);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Signature that && hash == that.hash && width == that.width && Arrays.equals(pixels, that.pixels);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
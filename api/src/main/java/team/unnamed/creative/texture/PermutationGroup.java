@@ -0,0 +1,79 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of textures that only differ by the mapping of
+ * their colors, found by the {@link PaletteAnalyzer}.
+ *
+ * @since 1.13.0
+ */
+@ApiStatus.NonExtendable
+public interface PermutationGroup {
+    /**
+     * Gets the base texture, the one the rest of textures
+     * can be generated from.
+     *
+     * @return The base texture key
+     * @since 1.13.0
+     */
+    @NotNull Key base();
+
+    /**
+     * Gets all the textures in this group, including the base.
+     *
+     * @return The texture keys
+     * @since 1.13.0
+     */
+    @Unmodifiable @NotNull List<Key> textures();
+
+    /**
+     * Gets the textures that can be generated by a paletted
+     * permutations atlas source, by their suffix. Their name is
+     * the base texture name followed by {@code _} and the suffix,
+     * and they are only used by models.
+     *
+     * @return The convertible textures, by suffix
+     * @since 1.13.0
+     */
+    @Unmodifiable @NotNull Map<String, Key> permutations();
+
+    /**
+     * Gets the amount of bytes that would be saved by replacing
+     * the {@link #permutations()} by palette textures, it may be
+     * negative if the palettes are bigger.
+     *
+     * @return The estimated saved bytes
+     * @since 1.13.0
+     */
+    long savings();
+}
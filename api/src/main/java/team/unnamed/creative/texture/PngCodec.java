@@ -0,0 +1,908 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A minimal PNG decoder and encoder, pixels are represented as
+ * non-premultiplied 8-bit ARGB integers, in row-major order.
+ *
+ * <p>The decoder supports every standard color type, bit depth and
+ * interlace method, and the {@code tRNS} transparency chunk. 16-bit
+ * samples are reduced to 8 bits. It is push-based (an {@link OutputStream}),
+ * so that images can be decoded row by row while a {@link Writable} writes
+ * them, and so that reading the header stops after the first chunk.</p>
+ *
+ * <p>The encoder picks the most compact lossless color type and bit depth
+ * (grayscale, palette, dropping an opaque alpha channel), only writes the
+ * critical chunks and chooses a filter per scanline.</p>
+ */
+final class PngCodec {
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    static final int IHDR = chunkType("IHDR");
+    static final int PLTE = chunkType("PLTE");
+    static final int TRNS = chunkType("tRNS");
+    static final int IDAT = chunkType("IDAT");
+    static final int IEND = chunkType("IEND");
+
+    // Adam7 interlace passes: x start, y start, x step, y step
+    private static final int[][] ADAM7 = {
+            { 0, 0, 8, 8 }, { 4, 0, 8, 8 }, { 0, 4, 4, 8 }, { 2, 0, 4, 4 },
+            { 0, 2, 2, 4 }, { 1, 0, 2, 2 }, { 0, 1, 1, 2 }
+    };
+    private static final int[][] NO_INTERLACE = { { 0, 0, 1, 1 } };
+
+    // chooses a filter per scanline
+    private static final int FILTER_ADAPTIVE = -1;
+
+    private PngCodec() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    private static int chunkType(final @NotNull String name) {
+        return (name.charAt(0) << 24) | (name.charAt(1) << 16) | (name.charAt(2) << 8) | name.charAt(3);
+    }
+
+    record Header(int width, int height, int bitDepth, PngHeader.ColorType colorType, boolean interlaced) implements PngHeader {
+        int bitsPerPixel() {
+            return colorType.channels() * bitDepth;
+        }
+
+        int bytesPerRow(final int width) {
+            return (int) (((long) width * bitsPerPixel() + 7) / 8);
+        }
+    }
+
+    /**
+     * Reads the header of the given PNG image, the image
+     * is only written until its first chunk.
+     */
+    static @NotNull Header header(final @NotNull Writable data) throws IOException {
+        final Decoder decoder = new Decoder(null);
+        try {
+            data.write(decoder);
+        } catch (final IOException | UncheckedIOException e) {
+            // thrown by the decoder to stop writing, or by the writable
+            // because of it, either way, the header was already read
+            if (decoder.header == null) {
+                throw e;
+            }
+        }
+        if (decoder.header == null) {
+            throw new IOException("Invalid PNG, missing IHDR chunk");
+        }
+        return decoder.header;
+    }
+
+    /**
+     * Decodes the given PNG image row by row.
+     */
+    static @NotNull Header decode(final @NotNull Writable data, final @NotNull ScanlineConsumer consumer) throws IOException {
+        try (final Decoder decoder = new Decoder(requireNonNull(consumer, "consumer"))) {
+            data.write(decoder);
+            return decoder.finish();
+        }
+    }
+
+    /**
+     * Decodes the given PNG image.
+     */
+    static @NotNull TextureImageImpl decode(final @NotNull Writable data) throws IOException {
+        final ImageCollector collector = new ImageCollector();
+        try (final Decoder decoder = new Decoder(collector)) {
+            collector.decoder = decoder;
+            data.write(decoder);
+            final Header header = decoder.finish();
+            return new TextureImageImpl(header.width, header.height, collector.pixels);
+        }
+    }
+
+    /**
+     * Decodes the given PNG stream.
+     */
+    static @NotNull TextureImageImpl decode(final @NotNull InputStream stream) throws IOException {
+        final ImageCollector collector = new ImageCollector();
+        try (final Decoder decoder = new Decoder(collector)) {
+            collector.decoder = decoder;
+            stream.transferTo(decoder);
+            final Header header = decoder.finish();
+            return new TextureImageImpl(header.width, header.height, collector.pixels);
+        }
+    }
+
+    private static final class ImageCollector implements ScanlineConsumer {
+        private @Nullable Decoder decoder;
+        private int[] pixels;
+
+        @Override
+        public void scanline(final int y, final int @NotNull [] row) {
+            if (pixels == null) {
+                final Header header = requireNonNull(decoder, "decoder").header;
+                pixels = new int[Math.multiplyExact(header.width, header.height)];
+            }
+            System.arraycopy(row, 0, pixels, y * row.length, row.length);
+        }
+    }
+
+    /**
+     * Thrown to stop reading an image once its header is read.
+     */
+    private static final class HeaderRead extends IOException {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class Decoder extends OutputStream {
+        private static final int SIGNATURE_STATE = 0;
+        private static final int CHUNK_HEADER_STATE = 1;
+        private static final int CHUNK_DATA_STATE = 2;
+        private static final int CHUNK_CRC_STATE = 3;
+        private static final int END_STATE = 4;
+
+        private final @Nullable ScanlineConsumer consumer;
+
+        private int state = SIGNATURE_STATE;
+        private final byte[] small = new byte[8];
+        private int smallLength;
+        private int chunkType;
+        private int chunkRemaining;
+        private final ByteArrayOutputStream chunkData = new ByteArrayOutputStream();
+
+        private @Nullable Header header;
+        private int[] palette;
+        private byte[] transparency;
+
+        // created with the first image data chunk, so reading
+        // only the header doesn't allocate a native zlib stream
+        private @Nullable Inflater inflater;
+        private final byte[] inflated = new byte[8192];
+        private boolean imageStarted;
+
+        // row assembly
+        private int[][] passes;
+        private int pass;
+        private int passWidth;
+        private int passHeight;
+        private int passY;
+        private int bytesPerPixel;
+        private byte[] row;
+        private byte[] previous;
+        private int rowPosition;
+        private int[] rowPixels;
+        private int[] image; // only for interlaced images
+        private boolean imageDone;
+
+        Decoder(final @Nullable ScanlineConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte @NotNull [] data, int offset, int length) throws IOException {
+            while (length > 0) {
+                switch (state) {
+                    case SIGNATURE_STATE, CHUNK_HEADER_STATE, CHUNK_CRC_STATE -> {
+                        final int needed = (state == CHUNK_CRC_STATE ? 4 : 8) - smallLength;
+                        final int count = Math.min(needed, length);
+                        System.arraycopy(data, offset, small, smallLength, count);
+                        smallLength += count;
+                        offset += count;
+                        length -= count;
+                        if (count == needed) {
+                            smallLength = 0;
+                            completeSmall();
+                        }
+                    }
+                    case CHUNK_DATA_STATE -> {
+                        final int count = Math.min(chunkRemaining, length);
+                        if (chunkType == IDAT) {
+                            inflate(data, offset, count);
+                        } else if (chunkType == IHDR || chunkType == PLTE || chunkType == TRNS) {
+                            chunkData.write(data, offset, count);
+                        }
+                        // other (ancillary) chunks are skipped
+                        chunkRemaining -= count;
+                        offset += count;
+                        length -= count;
+                        if (chunkRemaining == 0) {
+                            completeChunk();
+                        }
+                    }
+                    default -> {
+                        // trailing data after IEND is ignored
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void completeSmall() throws IOException {
+            switch (state) {
+                case SIGNATURE_STATE -> {
+                    for (int i = 0; i < SIGNATURE.length; i++) {
+                        if (small[i] != SIGNATURE[i]) {
+                            throw new IOException("Invalid PNG signature");
+                        }
+                    }
+                    state = CHUNK_HEADER_STATE;
+                }
+                case CHUNK_HEADER_STATE -> {
+                    chunkRemaining = readInt(small, 0);
+                    chunkType = readInt(small, 4);
+                    if (chunkRemaining < 0) {
+                        throw new IOException("Invalid PNG chunk length: " + chunkRemaining);
+                    }
+                    if (header == null && chunkType != IHDR) {
+                        throw new IOException("Invalid PNG, first chunk must be IHDR");
+                    }
+                    chunkData.reset();
+                    state = CHUNK_DATA_STATE;
+                    if (chunkRemaining == 0) {
+                        completeChunk();
+                    }
+                }
+                default -> state = chunkType == IEND ? END_STATE : CHUNK_HEADER_STATE;
+            }
+        }
+
+        private void completeChunk() throws IOException {
+            state = CHUNK_CRC_STATE;
+            if (chunkType == IHDR) {
+                header = readHeader(chunkData.toByteArray());
+                if (consumer == null) {
+                    throw new HeaderRead();
+                }
+            } else if (chunkType == PLTE) {
+                final byte[] data = chunkData.toByteArray();
+                palette = new int[data.length / 3];
+                for (int i = 0; i < palette.length; i++) {
+                    palette[i] = 0xFF000000 | (data[i * 3] & 0xFF) << 16 | (data[i * 3 + 1] & 0xFF) << 8 | (data[i * 3 + 2] & 0xFF);
+                }
+            } else if (chunkType == TRNS) {
+                transparency = chunkData.toByteArray();
+            }
+        }
+
+        private void inflate(final byte @NotNull [] data, final int offset, final int length) throws IOException {
+            if (!imageStarted) {
+                startImage();
+            }
+            final Inflater inflater = this.inflater;
+            inflater.setInput(data, offset, length);
+            try {
+                while (!inflater.needsInput() && !inflater.finished()) {
+                    final int count = inflater.inflate(inflated);
+                    if (count == 0 && inflater.needsDictionary()) {
+                        throw new IOException("Invalid PNG image data, preset dictionaries are not allowed");
+                    }
+                    consumeInflated(count);
+                }
+            } catch (final DataFormatException e) {
+                throw new IOException("Invalid PNG image data", e);
+            }
+        }
+
+        private void startImage() throws IOException {
+            imageStarted = true;
+            inflater = new Inflater();
+            final Header header = this.header;
+            if (header.colorType == PngHeader.ColorType.PALETTE) {
+                if (palette == null) {
+                    throw new IOException("Invalid PNG, missing palette");
+                }
+                if (transparency != null) {
+                    for (int i = 0; i < transparency.length && i < palette.length; i++) {
+                        palette[i] = (palette[i] & 0xFFFFFF) | (transparency[i] & 0xFF) << 24;
+                    }
+                }
+            }
+            bytesPerPixel = Math.max(1, header.bitsPerPixel() / 8);
+            passes = header.interlaced ? ADAM7 : NO_INTERLACE;
+            if (header.interlaced) {
+                image = new int[Math.multiplyExact(header.width, header.height)];
+            }
+            pass = -1;
+            nextPass();
+        }
+
+        private void nextPass() {
+            final Header header = this.header;
+            while (++pass < passes.length) {
+                final int[] current = passes[pass];
+                passWidth = (header.width - current[0] + current[2] - 1) / current[2];
+                passHeight = (header.height - current[1] + current[3] - 1) / current[3];
+                if (passWidth > 0 && passHeight > 0) {
+                    final int rowLength = header.bytesPerRow(passWidth);
+                    row = new byte[rowLength + 1];
+                    previous = new byte[rowLength + 1];
+                    rowPixels = new int[passWidth];
+                    passY = 0;
+                    rowPosition = 0;
+                    return;
+                }
+            }
+            imageDone = true;
+        }
+
+        private void consumeInflated(final int count) throws IOException {
+            int offset = 0;
+            while (offset < count) {
+                if (imageDone) {
+                    // extra data, ignored
+                    return;
+                }
+                final int copied = Math.min(row.length - rowPosition, count - offset);
+                System.arraycopy(inflated, offset, row, rowPosition, copied);
+                rowPosition += copied;
+                offset += copied;
+                if (rowPosition == row.length) {
+                    completeRow();
+                }
+            }
+        }
+
+        private void completeRow() throws IOException {
+            final Header header = this.header;
+            unfilterRow(row[0], row, previous, bytesPerPixel);
+            for (int x = 0; x < passWidth; x++) {
+                rowPixels[x] = pixel(header, row, x, palette, transparency);
+            }
+            if (image == null) {
+                consumer.scanline(passY, rowPixels);
+            } else {
+                final int[] current = passes[pass];
+                final int y = current[1] + passY * current[3];
+                for (int x = 0; x < passWidth; x++) {
+                    image[y * header.width + current[0] + x * current[2]] = rowPixels[x];
+                }
+            }
+            final byte[] swap = previous;
+            previous = row;
+            row = swap;
+            rowPosition = 0;
+            if (++passY == passHeight) {
+                nextPass();
+            }
+        }
+
+        /**
+         * Releases the inflater, even if the image wasn't completely decoded.
+         */
+        @Override
+        public void close() {
+            if (inflater != null) {
+                inflater.end();
+                inflater = null;
+            }
+        }
+
+        @NotNull Header finish() throws IOException {
+            if (state != END_STATE) {
+                throw new IOException("Invalid PNG, missing IEND chunk");
+            }
+            if (!imageDone) {
+                throw new IOException("Invalid PNG, image data is truncated");
+            }
+            final Header header = this.header;
+            if (image != null) {
+                // interlaced images are only complete at the end
+                final int[] line = new int[header.width];
+                for (int y = 0; y < header.height; y++) {
+                    System.arraycopy(image, y * header.width, line, 0, header.width);
+                    consumer.scanline(y, line);
+                }
+            }
+            return header;
+        }
+    }
+
+    private static @NotNull Header readHeader(final byte @NotNull [] data) throws IOException {
+        if (data.length != 13) {
+            throw new IOException("Invalid PNG, IHDR chunk must have 13 bytes");
+        }
+        final int width = readInt(data, 0);
+        final int height = readInt(data, 4);
+        final int bitDepth = data[8] & 0xFF;
+        final int colorTypeId = data[9] & 0xFF;
+        final int interlace = data[12] & 0xFF;
+        if (width <= 0 || height <= 0) {
+            throw new IOException("Invalid PNG dimensions: " + width + 'x' + height);
+        }
+        PngHeader.ColorType colorType = null;
+        for (final PngHeader.ColorType type : PngHeader.ColorType.values()) {
+            if (type.id() == colorTypeId) {
+                colorType = type;
+            }
+        }
+        if (colorType == null) {
+            throw new IOException("Unknown PNG color type: " + colorTypeId);
+        }
+        final boolean validDepth = switch (colorType) {
+            case GRAYSCALE -> bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8 || bitDepth == 16;
+            case PALETTE -> bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8;
+            default -> bitDepth == 8 || bitDepth == 16;
+        };
+        if (!validDepth) {
+            throw new IOException("Invalid bit depth " + bitDepth + " for PNG color type " + colorType);
+        }
+        if (interlace > 1) {
+            throw new IOException("Unknown PNG interlace method: " + interlace);
+        }
+        return new Header(width, height, bitDepth, colorType, interlace == 1);
+    }
+
+    static void unfilterRow(final int filter, final byte @NotNull [] row, final byte @NotNull [] previous, final int bpp) throws IOException {
+        // row[0] is the filter type
+        switch (filter) {
+            case 0 -> {
+            }
+            case 1 -> {
+                for (int i = 1 + bpp; i < row.length; i++) {
+                    row[i] += row[i - bpp];
+                }
+            }
+            case 2 -> {
+                for (int i = 1; i < row.length; i++) {
+                    row[i] += previous[i];
+                }
+            }
+            case 3 -> {
+                for (int i = 1; i < row.length; i++) {
+                    final int left = i > bpp ? row[i - bpp] & 0xFF : 0;
+                    row[i] += (byte) ((left + (previous[i] & 0xFF)) >>> 1);
+                }
+            }
+            case 4 -> {
+                for (int i = 1; i < row.length; i++) {
+                    final int left = i > bpp ? row[i - bpp] & 0xFF : 0;
+                    final int upLeft = i > bpp ? previous[i - bpp] & 0xFF : 0;
+                    row[i] += (byte) paeth(left, previous[i] & 0xFF, upLeft);
+                }
+            }
+            default -> throw new IOException("Unknown PNG filter type: " + filter);
+        }
+    }
+
+    private static int paeth(final int a, final int b, final int c) {
+        final int p = a + b - c;
+        final int pa = Math.abs(p - a);
+        final int pb = Math.abs(p - b);
+        final int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    private static int pixel(final @NotNull Header header, final byte @NotNull [] row, final int x, final int[] palette, final byte[] transparency) throws IOException {
+        final int depth = header.bitDepth;
+        switch (header.colorType) {
+            case PALETTE -> {
+                final int index = sample(row, x, depth);
+                if (index >= palette.length) {
+                    throw new IOException("Invalid PNG, palette index out of bounds: " + index);
+                }
+                return palette[index];
+            }
+            case GRAYSCALE -> {
+                final int raw = sample(row, x, depth);
+                final int gray = scale(raw, depth);
+                final int alpha = transparency != null && transparency.length >= 2 && raw == readShort(transparency, 0) ? 0 : 0xFF;
+                return alpha << 24 | gray << 16 | gray << 8 | gray;
+            }
+            case GRAYSCALE_ALPHA -> {
+                final int gray = scale(sample(row, x * 2, depth), depth);
+                final int alpha = scale(sample(row, x * 2 + 1, depth), depth);
+                return alpha << 24 | gray << 16 | gray << 8 | gray;
+            }
+            case RGB -> {
+                final int r = sample(row, x * 3, depth);
+                final int g = sample(row, x * 3 + 1, depth);
+                final int b = sample(row, x * 3 + 2, depth);
+                final boolean transparent = transparency != null && transparency.length >= 6
+                        && r == readShort(transparency, 0) && g == readShort(transparency, 2) && b == readShort(transparency, 4);
+                return (transparent ? 0 : 0xFF000000) | scale(r, depth) << 16 | scale(g, depth) << 8 | scale(b, depth);
+            }
+            default -> {
+                final int r = scale(sample(row, x * 4, depth), depth);
+                final int g = scale(sample(row, x * 4 + 1, depth), depth);
+                final int b = scale(sample(row, x * 4 + 2, depth), depth);
+                final int a = scale(sample(row, x * 4 + 3, depth), depth);
+                return a << 24 | r << 16 | g << 8 | b;
+            }
+        }
+    }
+
+    /**
+     * Reads a sample from a row, skipping the filter type byte.
+     */
+    private static int sample(final byte @NotNull [] row, final int index, final int depth) {
+        return switch (depth) {
+            case 16 -> (row[1 + index * 2] & 0xFF) << 8 | (row[2 + index * 2] & 0xFF);
+            case 8 -> row[1 + index] & 0xFF;
+            default -> {
+                final int perByte = 8 / depth;
+                final int shift = 8 - depth * (index % perByte + 1);
+                yield (row[1 + index / perByte] >> shift) & ((1 << depth) - 1);
+            }
+        };
+    }
+
+    private static int scale(final int value, final int depth) {
+        return switch (depth) {
+            case 16 -> value >>> 8;
+            case 8 -> value;
+            default -> value * 255 / ((1 << depth) - 1);
+        };
+    }
+
+    private static int readInt(final byte @NotNull [] data, final int offset) {
+        return (data[offset] & 0xFF) << 24 | (data[offset + 1] & 0xFF) << 16 | (data[offset + 2] & 0xFF) << 8 | (data[offset + 3] & 0xFF);
+    }
+
+    private static int readShort(final byte @NotNull [] data, final int offset) {
+        return (data[offset] & 0xFF) << 8 | (data[offset + 1] & 0xFF);
+    }
+
+    /**
+     * Encodes the given ARGB pixels, using the most compact color
+     * type and bit depth that can represent them losslessly.
+     */
+    static byte @NotNull [] encode(final int width, final int height, final int @NotNull [] pixels) {
+        return encode(width, height, pixels, false);
+    }
+
+    /**
+     * Encodes the given ARGB pixels, losslessly.
+     *
+     * <p>If {@code exhaustive}, every applicable color type is tried with
+     * several filter and deflate strategies, and the smallest result is
+     * returned. Otherwise, the most compact color type is used with
+     * per-scanline adaptive filtering.</p>
+     */
+    static byte @NotNull [] encode(final int width, final int height, final int @NotNull [] pixels, final boolean exhaustive) {
+        requireNonNull(pixels, "pixels");
+        if (width <= 0 || height <= 0 || (long) width * height != pixels.length) {
+            throw new IllegalArgumentException("Invalid image dimensions: " + width + 'x' + height + " for " + pixels.length + " pixels");
+        }
+
+        final List<Format> formats = Format.candidates(pixels);
+        byte[] smallest = null;
+        for (final Format format : exhaustive ? formats : formats.subList(0, 1)) {
+            final byte[][] rows = format.rows(width, height, pixels);
+            final int bpp = Math.max(1, format.bitsPerPixel() / 8);
+            // filter none is usually the best for paletted and low bit depth images,
+            // the rest benefit from adaptive filtering (minimum sum of absolute differences)
+            final int[] filterStrategies = exhaustive
+                    ? new int[] { FILTER_ADAPTIVE, 0, 1, 2, 3, 4 }
+                    : new int[] { format.colorType == PngHeader.ColorType.PALETTE || format.bitDepth < 8 ? 0 : FILTER_ADAPTIVE };
+            final int[] deflateStrategies = exhaustive
+                    ? new int[] { Deflater.DEFAULT_STRATEGY, Deflater.FILTERED }
+                    : new int[] { Deflater.DEFAULT_STRATEGY };
+            for (final int filterStrategy : filterStrategies) {
+                final byte[] raw = filter(rows, bpp, filterStrategy);
+                for (final int deflateStrategy : deflateStrategies) {
+                    final byte[] encoded = write(width, height, format, deflate(raw, Deflater.BEST_COMPRESSION, deflateStrategy));
+                    if (smallest == null || encoded.length < smallest.length) {
+                        smallest = encoded;
+                    }
+                }
+            }
+        }
+        return smallest;
+    }
+
+    private static byte @NotNull [] filter(final byte @NotNull [] @NotNull [] rows, final int bpp, final int strategy) {
+        final int rowLength = rows[0].length;
+        final byte[] raw = new byte[(rowLength + 1) * rows.length];
+        final byte[] filtered = new byte[rowLength];
+        byte[] previous = new byte[rowLength];
+        for (int y = 0; y < rows.length; y++) {
+            final byte[] row = rows[y];
+            final int offset = y * (rowLength + 1);
+            if (strategy != FILTER_ADAPTIVE) {
+                raw[offset] = (byte) strategy;
+                filterRow(strategy, row, previous, bpp, filtered);
+                System.arraycopy(filtered, 0, raw, offset + 1, rowLength);
+            } else {
+                long bestSum = Long.MAX_VALUE;
+                for (int filter = 0; filter <= 4; filter++) {
+                    filterRow(filter, row, previous, bpp, filtered);
+                    long sum = 0;
+                    for (final byte value : filtered) {
+                        sum += Math.abs(value);
+                    }
+                    if (sum < bestSum) {
+                        bestSum = sum;
+                        raw[offset] = (byte) filter;
+                        System.arraycopy(filtered, 0, raw, offset + 1, rowLength);
+                    }
+                }
+            }
+            previous = row;
+        }
+        return raw;
+    }
+
+    private static byte @NotNull [] write(final int width, final int height, final @NotNull Format format, final byte @NotNull [] data) {
+        final byte[] header = new byte[13];
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8] = (byte) format.bitDepth;
+        header[9] = (byte) format.colorType.id();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(data.length + 128);
+        output.writeBytes(SIGNATURE);
+        writeChunk(output, IHDR, header);
+        if (format.palette != null) {
+            final byte[] palette = new byte[format.palette.length * 3];
+            int transparent = 0;
+            for (int i = 0; i < format.palette.length; i++) {
+                final int argb = format.palette[i];
+                palette[i * 3] = (byte) (argb >>> 16);
+                palette[i * 3 + 1] = (byte) (argb >>> 8);
+                palette[i * 3 + 2] = (byte) argb;
+                if (argb >>> 24 != 0xFF) {
+                    // translucent entries are sorted first
+                    transparent = i + 1;
+                }
+            }
+            writeChunk(output, PLTE, palette);
+            if (transparent > 0) {
+                final byte[] alpha = new byte[transparent];
+                for (int i = 0; i < transparent; i++) {
+                    alpha[i] = (byte) (format.palette[i] >>> 24);
+                }
+                writeChunk(output, TRNS, alpha);
+            }
+        }
+        writeChunk(output, IDAT, data);
+        writeChunk(output, IEND, new byte[0]);
+        return output.toByteArray();
+    }
+
+    /**
+     * A lossless pixel format for an image.
+     */
+    private static final class Format {
+        private static final int MAX_PALETTE_SIZE = 256;
+
+        private final PngHeader.ColorType colorType;
+        private final int bitDepth;
+        private final int @Nullable [] palette;
+        private final @Nullable Map<Integer, Integer> indexes;
+
+        private Format(final PngHeader.@NotNull ColorType colorType, final int bitDepth, final int @Nullable [] palette) {
+            this.colorType = colorType;
+            this.bitDepth = bitDepth;
+            this.palette = palette;
+            if (palette == null) {
+                this.indexes = null;
+            } else {
+                this.indexes = new HashMap<>();
+                for (int i = 0; i < palette.length; i++) {
+                    indexes.put(palette[i], i);
+                }
+            }
+        }
+
+        int bitsPerPixel() {
+            return colorType.channels() * bitDepth;
+        }
+
+        /**
+         * Returns the formats that can represent the given pixels
+         * losslessly, the most compact one first.
+         */
+        static @NotNull List<Format> candidates(final int @NotNull [] pixels) {
+            boolean opaque = true;
+            boolean gray = true;
+            final Set<Integer> colors = new LinkedHashSet<>();
+            for (final int argb : pixels) {
+                final int r = (argb >>> 16) & 0xFF;
+                final int g = (argb >>> 8) & 0xFF;
+                final int b = argb & 0xFF;
+                opaque &= argb >>> 24 == 0xFF;
+                gray &= r == g && g == b;
+                if (colors.size() <= MAX_PALETTE_SIZE) {
+                    colors.add(argb);
+                }
+            }
+
+            final List<Format> formats = new ArrayList<>();
+            if (gray && opaque) {
+                formats.add(new Format(PngHeader.ColorType.GRAYSCALE, grayBitDepth(pixels), null));
+            }
+            if (colors.size() <= MAX_PALETTE_SIZE) {
+                final int[] palette = colors.stream()
+                        // translucent entries first, so that the tRNS chunk is shorter
+                        .sorted(Comparator.comparingInt(argb -> argb >>> 24 == 0xFF ? 1 : 0))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                final int depth = palette.length <= 2 ? 1 : palette.length <= 4 ? 2 : palette.length <= 16 ? 4 : 8;
+                formats.add(new Format(PngHeader.ColorType.PALETTE, depth, palette));
+            }
+            if (gray && !opaque) {
+                formats.add(new Format(PngHeader.ColorType.GRAYSCALE_ALPHA, 8, null));
+            }
+            if (opaque) {
+                formats.add(new Format(PngHeader.ColorType.RGB, 8, null));
+            }
+            formats.add(new Format(PngHeader.ColorType.RGBA, 8, null));
+            return formats;
+        }
+
+        private static int grayBitDepth(final int @NotNull [] pixels) {
+            // 255 divided by the max value of each bit depth
+            final int[][] depths = { { 1, 255 }, { 2, 85 }, { 4, 17 } };
+            for (final int[] depth : depths) {
+                boolean fits = true;
+                for (final int argb : pixels) {
+                    if ((argb & 0xFF) % depth[1] != 0) {
+                        fits = false;
+                        break;
+                    }
+                }
+                if (fits) {
+                    return depth[0];
+                }
+            }
+            return 8;
+        }
+
+        byte @NotNull [] @NotNull [] rows(final int width, final int height, final int @NotNull [] pixels) {
+            final int rowLength = (int) (((long) width * bitsPerPixel() + 7) / 8);
+            final byte[][] rows = new byte[height][rowLength];
+            for (int y = 0; y < height; y++) {
+                final byte[] row = rows[y];
+                for (int x = 0; x < width; x++) {
+                    final int argb = pixels[y * width + x];
+                    switch (colorType) {
+                        case GRAYSCALE -> pack(row, x, (argb & 0xFF) / (255 / ((1 << bitDepth) - 1)));
+                        case PALETTE -> pack(row, x, indexes.get(argb));
+                        case GRAYSCALE_ALPHA -> {
+                            row[x * 2] = (byte) argb;
+                            row[x * 2 + 1] = (byte) (argb >>> 24);
+                        }
+                        case RGB -> {
+                            row[x * 3] = (byte) (argb >>> 16);
+                            row[x * 3 + 1] = (byte) (argb >>> 8);
+                            row[x * 3 + 2] = (byte) argb;
+                        }
+                        default -> {
+                            row[x * 4] = (byte) (argb >>> 16);
+                            row[x * 4 + 1] = (byte) (argb >>> 8);
+                            row[x * 4 + 2] = (byte) argb;
+                            row[x * 4 + 3] = (byte) (argb >>> 24);
+                        }
+                    }
+                }
+            }
+            return rows;
+        }
+
+        private void pack(final byte @NotNull [] row, final int index, final int value) {
+            if (bitDepth == 8) {
+                row[index] = (byte) value;
+                return;
+            }
+            final int perByte = 8 / bitDepth;
+            final int shift = 8 - bitDepth * (index % perByte + 1);
+            row[index / perByte] |= (byte) (value << shift);
+        }
+    }
+
+    static void filterRow(final int filter, final byte @NotNull [] row, final byte @NotNull [] previous, final int bpp, final byte @NotNull [] out) {
+        for (int i = 0; i < row.length; i++) {
+            final int value = row[i] & 0xFF;
+            final int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+            final int up = previous[i] & 0xFF;
+            out[i] = (byte) switch (filter) {
+                case 1 -> value - left;
+                case 2 -> value - up;
+                case 3 -> value - ((left + up) >>> 1);
+                case 4 -> value - paeth(left, up, i >= bpp ? previous[i - bpp] & 0xFF : 0);
+                default -> value;
+            };
+        }
+    }
+
+    static byte @NotNull [] deflate(final byte @NotNull [] data, final int level) {
+        return deflate(data, level, Deflater.DEFAULT_STRATEGY);
+    }
+
+    static byte @NotNull [] deflate(final byte @NotNull [] data, final int level, final int strategy) {
+        final Deflater deflater = new Deflater(level);
+        try {
+            deflater.setStrategy(strategy);
+            deflater.setInput(data);
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 2 + 64);
+            final byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static void writeChunk(final @NotNull OutputStream output, final int type, final byte @NotNull [] data) {
+        final byte[] typeBytes = new byte[4];
+        writeInt(typeBytes, 0, type);
+        final byte[] length = new byte[4];
+        writeInt(length, 0, data.length);
+        final CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        final byte[] checksum = new byte[4];
+        writeInt(checksum, 0, (int) crc.getValue());
+        try {
+            output.write(length);
+            output.write(typeBytes);
+            output.write(data);
+            output.write(checksum);
+        } catch (final IOException e) {
+            // only used with in-memory streams
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void writeInt(final byte @NotNull [] data, final int offset, final int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+}
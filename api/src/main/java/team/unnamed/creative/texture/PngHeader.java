@@ -0,0 +1,133 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the header (IHDR chunk) of a PNG image, it is
+ * read without decoding the image data.
+ *
+ * @see Texture#header()
+ * @since 1.13.0
+ */
+@ApiStatus.NonExtendable
+public interface PngHeader {
+    /**
+     * Gets the image width, in pixels.
+     *
+     * @return The image width
+     * @since 1.13.0
+     */
+    int width();
+
+    /**
+     * Gets the image height, in pixels.
+     *
+     * @return The image height
+     * @since 1.13.0
+     */
+    int height();
+
+    /**
+     * Gets the amount of bits per sample (or per palette index),
+     * either 1, 2, 4, 8 or 16.
+     *
+     * @return The bit depth
+     * @since 1.13.0
+     */
+    int bitDepth();
+
+    /**
+     * Gets the image color type.
+     *
+     * @return The color type
+     * @since 1.13.0
+     */
+    @NotNull ColorType colorType();
+
+    /**
+     * Determines whether the image is interlaced (Adam7),
+     * interlaced images can't be decoded row by row.
+     *
+     * @return True if the image is interlaced
+     * @since 1.13.0
+     */
+    boolean interlaced();
+
+    /**
+     * The PNG color types.
+     *
+     * @since 1.13.0
+     */
+    enum ColorType {
+        GRAYSCALE(0, 1),
+        RGB(2, 3),
+        PALETTE(3, 1),
+        GRAYSCALE_ALPHA(4, 2),
+        RGBA(6, 4);
+
+        private final int id;
+        private final int channels;
+
+        ColorType(final int id, final int channels) {
+            this.id = id;
+            this.channels = channels;
+        }
+
+        /**
+         * Gets the identifier of this color type, as
+         * written in the PNG header.
+         *
+         * @return The color type identifier
+         * @since 1.13.0
+         */
+        public int id() {
+            return id;
+        }
+
+        /**
+         * Gets the amount of samples per pixel.
+         *
+         * @return The amount of channels
+         * @since 1.13.0
+         */
+        public int channels() {
+            return channels;
+        }
+
+        /**
+         * Determines whether this color type has an alpha channel,
+         * note that other color types may still have transparency
+         * through a {@code tRNS} chunk.
+         *
+         * @return True if this color type has an alpha channel
+         * @since 1.13.0
+         */
+        public boolean alpha() {
+            return this == GRAYSCALE_ALPHA || this == RGBA;
+        }
+    }
+}
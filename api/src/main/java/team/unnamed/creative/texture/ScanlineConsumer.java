@@ -0,0 +1,47 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives the rows of an image while it is being decoded.
+ *
+ * @see Texture#readScanlines(ScanlineConsumer)
+ * @since 1.13.0
+ */
+@FunctionalInterface
+public interface ScanlineConsumer {
+    /**
+     * Accepts a decoded row, rows are received in order.
+     *
+     * <p>The given array is reused for the next row, so it must
+     * be copied if it is needed after this method returns.</p>
+     *
+     * @param y The row index
+     * @param pixels The row pixels, as non-premultiplied ARGB integers
+     * @since 1.13.0
+     */
+    void scanline(final int y, final int @NotNull [] pixels);
+}
@@ -0,0 +1,322 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.atlas.UnstitchAtlasSource;
+import team.unnamed.creative.base.Vector2Float;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Slices sprite sheet textures into {@link UnstitchAtlasSource}
+ * regions, so that a single sheet can be shipped instead of a
+ * texture per sprite.
+ *
+ * <p>Sprites can be detected in a fixed grid, or as the bounds of
+ * the non-transparent areas of the sheet. Sheets are decoded row by
+ * row, without holding all of their pixels.</p>
+ *
+ * <p>Regions use pixel coordinates, the divisor of the created sources
+ * is the size of the sheet.</p>
+ *
+ * @since 1.13.0
+ */
+public final class SpriteSlicer {
+    private SpriteSlicer() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Slices the given sheet in a grid, the sprites are named
+     * after the sheet, e.g. {@code gui/icons_0}.
+     *
+     * @param sheet The sheet texture
+     * @param cellWidth The width of the grid cells
+     * @param cellHeight The height of the grid cells
+     * @return The unstitch source
+     * @see #grid(Texture, int, int, IntFunction)
+     * @since 1.13.0
+     */
+    public static @NotNull UnstitchAtlasSource grid(final @NotNull Texture sheet, final int cellWidth, final int cellHeight) {
+        return grid(sheet, cellWidth, cellHeight, defaultNames(sheet));
+    }
+
+    /**
+     * Slices the given sheet in a grid.
+     *
+     * <p>Fully transparent cells are skipped, as well as incomplete
+     * cells at the right and bottom edges of the sheet.</p>
+     *
+     * @param sheet The sheet texture
+     * @param cellWidth The width of the grid cells
+     * @param cellHeight The height of the grid cells
+     * @param names The sprite name function, receives the index of
+     *              the cell in the grid, in row-major order
+     * @return The unstitch source
+     * @throws java.io.UncheckedIOException If the sheet is not a valid PNG image
+     * @since 1.13.0
+     */
+    public static @NotNull UnstitchAtlasSource grid(
+            final @NotNull Texture sheet,
+            final int cellWidth,
+            final int cellHeight,
+            final @NotNull IntFunction<Key> names
+    ) {
+        requireNonNull(sheet, "sheet");
+        requireNonNull(names, "names");
+        if (cellWidth <= 0 || cellHeight <= 0) {
+            throw new IllegalArgumentException("Invalid cell size: " + cellWidth + 'x' + cellHeight);
+        }
+
+        final PngHeader header = sheet.header();
+        final int columns = header.width() / cellWidth;
+        final int rows = header.height() / cellHeight;
+        final boolean[] used = new boolean[columns * rows];
+        sheet.readScanlines((y, pixels) -> {
+            final int row = y / cellHeight;
+            if (row >= rows) {
+                return;
+            }
+            for (int column = 0; column < columns; column++) {
+                if (used[row * columns + column]) {
+                    continue;
+                }
+                for (int x = column * cellWidth, end = x + cellWidth; x < end; x++) {
+                    if (pixels[x] >>> 24 != 0) {
+                        used[row * columns + column] = true;
+                        break;
+                    }
+                }
+            }
+        });
+
+        final List<UnstitchAtlasSource.Region> regions = new ArrayList<>();
+        for (int cell = 0; cell < used.length; cell++) {
+            if (used[cell]) {
+                regions.add(UnstitchAtlasSource.Region.region(
+                        requireNonNull(names.apply(cell), "sprite name"),
+                        new Vector2Float(cell % columns * cellWidth, cell / columns * cellHeight),
+                        new Vector2Float(cellWidth, cellHeight)
+                ));
+            }
+        }
+        return source(sheet, header, regions);
+    }
+
+    /**
+     * Slices the given sheet by the bounds of its non-transparent
+     * areas, the sprites are named after the sheet, e.g.
+     * {@code gui/icons_0}.
+     *
+     * @param sheet The sheet texture
+     * @return The unstitch source
+     * @see #alphaBounded(Texture, IntFunction)
+     * @since 1.13.0
+     */
+    public static @NotNull UnstitchAtlasSource alphaBounded(final @NotNull Texture sheet) {
+        return alphaBounded(sheet, defaultNames(sheet));
+    }
+
+    /**
+     * Slices the given sheet by the bounds of its non-transparent areas.
+     *
+     * <p>Non-transparent pixels that touch each other (including
+     * diagonally) form an area, and a sprite is created for every area
+     * bounds. Bounds that overlap are joined, so that sprites never
+     * overlap.</p>
+     *
+     * @param sheet The sheet texture
+     * @param names The sprite name function, receives the index of the
+     *              sprite, sprites are sorted top to bottom, left to right
+     * @return The unstitch source
+     * @throws java.io.UncheckedIOException If the sheet is not a valid PNG image
+     * @since 1.13.0
+     */
+    public static @NotNull UnstitchAtlasSource alphaBounded(final @NotNull Texture sheet, final @NotNull IntFunction<Key> names) {
+        requireNonNull(sheet, "sheet");
+        requireNonNull(names, "names");
+
+        final Labeler labeler = new Labeler(sheet.header().width());
+        final PngHeader header = sheet.readScanlines(labeler);
+        final List<int[]> bounds = labeler.bounds();
+
+        // join overlapping bounds until none overlap
+        boolean joined = true;
+        while (joined) {
+            joined = false;
+            for (int i = 0; i < bounds.size() && !joined; i++) {
+                for (int j = i + 1; j < bounds.size(); j++) {
+                    final int[] a = bounds.get(i);
+                    final int[] b = bounds.get(j);
+                    if (a[0] <= b[2] && b[0] <= a[2] && a[1] <= b[3] && b[1] <= a[3]) {
+                        a[0] = Math.min(a[0], b[0]);
+                        a[1] = Math.min(a[1], b[1]);
+                        a[2] = Math.max(a[2], b[2]);
+                        a[3] = Math.max(a[3], b[3]);
+                        bounds.remove(j);
+                        joined = true;
+                        break;
+                    }
+                }
+            }
+        }
+        bounds.sort(Comparator.<int[]>comparingInt(box -> box[1]).thenComparingInt(box -> box[0]));
+
+        final List<UnstitchAtlasSource.Region> regions = new ArrayList<>(bounds.size());
+        for (int i = 0; i < bounds.size(); i++) {
+            final int[] box = bounds.get(i);
+            regions.add(UnstitchAtlasSource.Region.region(
+                    requireNonNull(names.apply(i), "sprite name"),
+                    new Vector2Float(box[0], box[1]),
+                    new Vector2Float(box[2] - box[0] + 1, box[3] - box[1] + 1)
+            ));
+        }
+        return source(sheet, header, regions);
+    }
+
+    private static @NotNull IntFunction<Key> defaultNames(final @NotNull Texture sheet) {
+        final Key location = Textures.location(sheet.key());
+        return index -> Key.key(location.namespace(), location.value() + '_' + index);
+    }
+
+    private static @NotNull UnstitchAtlasSource source(
+            final @NotNull Texture sheet,
+            final @NotNull PngHeader header,
+            final @NotNull List<UnstitchAtlasSource.Region> regions
+    ) {
+        return AtlasSource.unstitch(Textures.location(sheet.key()), regions, new Vector2Float(header.width(), header.height()));
+    }
+
+    /**
+     * Labels the connected non-transparent areas of an image row by
+     * row, using a union-find of labels and only two rows of labels.
+     */
+    private static final class Labeler implements ScanlineConsumer {
+        private int[] previous;
+        private int[] current;
+
+        // per label: parent and bounds (min x, min y, max x, max y)
+        private int[] parents = new int[64];
+        private int[] boxes = new int[64 * 4];
+        private int labels = 1; // zero is the background
+
+        Labeler(final int width) {
+            this.previous = new int[width];
+            this.current = new int[width];
+        }
+
+        @Override
+        public void scanline(final int y, final int @NotNull [] pixels) {
+            for (int x = 0; x < pixels.length; x++) {
+                if (pixels[x] >>> 24 == 0) {
+                    current[x] = 0;
+                    continue;
+                }
+                int label = 0;
+                label = join(label, x > 0 ? current[x - 1] : 0);
+                label = join(label, x > 0 ? previous[x - 1] : 0);
+                label = join(label, previous[x]);
+                label = join(label, x + 1 < pixels.length ? previous[x + 1] : 0);
+                if (label == 0) {
+                    label = create(x, y);
+                }
+                current[x] = label;
+                final int box = label * 4;
+                boxes[box] = Math.min(boxes[box], x);
+                boxes[box + 1] = Math.min(boxes[box + 1], y);
+                boxes[box + 2] = Math.max(boxes[box + 2], x);
+                boxes[box + 3] = Math.max(boxes[box + 3], y);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        private int create(final int x, final int y) {
+            if (labels == parents.length) {
+                parents = Arrays.copyOf(parents, labels * 2);
+                boxes = Arrays.copyOf(boxes, labels * 8);
+            }
+            final int label = labels++;
+            parents[label] = label;
+            boxes[label * 4] = x;
+            boxes[label * 4 + 1] = y;
+            boxes[label * 4 + 2] = x;
+            boxes[label * 4 + 3] = y;
+            return label;
+        }
+
+        private int find(int label) {
+            while (parents[label] != label) {
+                parents[label] = parents[parents[label]];
+                label = parents[label];
+            }
+            return label;
+        }
+
+        private int join(final int label, final int neighbor) {
+            if (neighbor == 0) {
+                return label;
+            }
+            if (label == 0) {
+                return neighbor;
+            }
+            final int a = find(label);
+            final int b = find(neighbor);
+            if (a != b) {
+                parents[b] = a;
+            }
+            return label;
+        }
+
+        @NotNull List<int[]> bounds() {
+            final int[][] roots = new int[labels][];
+            final List<int[]> bounds = new ArrayList<>();
+            for (int label = 1; label < labels; label++) {
+                final int root = find(label);
+                int[] box = roots[root];
+                if (box == null) {
+                    box = Arrays.copyOfRange(boxes, label * 4, label * 4 + 4);
+                    roots[root] = box;
+                    bounds.add(box);
+                } else {
+                    box[0] = Math.min(box[0], boxes[label * 4]);
+                    box[1] = Math.min(box[1], boxes[label * 4 + 1]);
+                    box[2] = Math.max(box[2], boxes[label * 4 + 2]);
+                    box[3] = Math.max(box[3], boxes[label * 4 + 3]);
+                }
+            }
+            return bounds;
+        }
+    }
+}
@@ -39,6 +39,11 @@ import team.unnamed.creative.metadata.villager.VillagerMeta;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.part.ResourcePackPart;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static java.util.Objects.requireNonNull;
+
 /**
  * Represents a Minecraft texture (PNG image) in the
  * resource pack, textures are an essential part of
@@ -189,6 +194,104 @@ public interface Texture extends ResourcePackPart, Keyed, Examinable, Metadatabl
         return toBuilder().data(data).build();
     }
 
+    /**
+     * Reads the PNG header of this texture's data, only the
+     * header is read, and it is cached by the texture.
+     *
+     * @return The PNG header
+     * @throws UncheckedIOException If the data can't be read or is not a PNG image
+     * @since 1.13.0
+     */
+    default @NotNull PngHeader header() {
+        try {
+            return PngCodec.header(data());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read the PNG header of texture " + key().asString(), e);
+        }
+    }
+
+    /**
+     * Returns the width of this texture's image, in pixels.
+     *
+     * @return The image width
+     * @throws UncheckedIOException If the data can't be read or is not a PNG image
+     * @see #header()
+     * @since 1.13.0
+     */
+    default int width() {
+        return header().width();
+    }
+
+    /**
+     * Returns the height of this texture's image, in pixels.
+     *
+     * <p>For animated textures, this is the height of all
+     * the frames together.</p>
+     *
+     * @return The image height
+     * @throws UncheckedIOException If the data can't be read or is not a PNG image
+     * @see #header()
+     * @since 1.13.0
+     */
+    default int height() {
+        return header().height();
+    }
+
+    /**
+     * Decodes this texture's image.
+     *
+     * <p>The decoded image is not cached, consider
+     * {@link #readScanlines(ScanlineConsumer)} to process
+     * large images without holding all of their pixels.</p>
+     *
+     * @return The decoded image
+     * @throws UncheckedIOException If the data can't be read or is not a valid PNG image
+     * @since 1.13.0
+     */
+    default @NotNull TextureImage image() {
+        try {
+            return PngCodec.decode(data());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to decode texture " + key().asString(), e);
+        }
+    }
+
+    /**
+     * Decodes this texture's image row by row, while its
+     * data is being read.
+     *
+     * <p>Non-interlaced images (the most common) are decoded holding
+     * only two rows in memory, interlaced images are fully decoded
+     * before their rows are given to the consumer.</p>
+     *
+     * @param consumer The row consumer
+     * @return The PNG header
+     * @throws UncheckedIOException If the data can't be read or is not a valid PNG image
+     * @since 1.13.0
+     */
+    default @NotNull PngHeader readScanlines(final @NotNull ScanlineConsumer consumer) {
+        requireNonNull(consumer, "consumer");
+        try {
+            return PngCodec.decode(data(), consumer);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to decode texture " + key().asString(), e);
+        }
+    }
+
+    /**
+     * Returns an updated texture with the given image,
+     * encoded as PNG.
+     *
+     * @param image The texture image
+     * @return The new texture
+     * @since 1.13.0
+     */
+    @Contract(value = "_ -> new", pure = true)
+    default @NotNull Texture image(final @NotNull TextureImage image) {
+        requireNonNull(image, "image");
+        return toBuilder().data(image.encode()).build();
+    }
+
     /**
      * Returns the metadata object for this texture,
      * contains some extra information for the texture
@@ -0,0 +1,112 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.overlay.ResourceContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Losslessly recompresses the PNG textures of a container.
+ *
+ * <p>Every texture is decoded and re-encoded trying every color type
+ * that can represent it without losing information (palette, grayscale,
+ * with or without alpha, and lower bit depths), per-scanline and fixed
+ * filters and several deflate strategies at the best compression level.
+ * Ancillary chunks (e.g. text, gamma or color profiles, which the game
+ * ignores) are dropped. A texture is only replaced if the result is
+ * smaller than its current data.</p>
+ *
+ * <p>Images with 16-bit samples are skipped, since the decoder reduces
+ * them to 8 bits. Texture metadata is kept.</p>
+ *
+ * @since 1.13.0
+ */
+public final class TextureCompressor {
+    private TextureCompressor() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Recompresses the textures of the given container, textures
+     * are processed in parallel.
+     *
+     * @param container The resource container
+     * @return The optimization report
+     * @since 1.13.0
+     */
+    public static @NotNull OptimizationReport compress(final @NotNull ResourceContainer container) {
+        requireNonNull(container, "container");
+        final List<Texture> textures = new ArrayList<>(container.textures());
+        final List<Textures.Optimized> results = textures.parallelStream()
+                .map(TextureCompressor::compress0)
+                .filter(Objects::nonNull)
+                .toList();
+
+        long originalSize = 0;
+        long optimizedSize = 0;
+        for (final Textures.Optimized result : results) {
+            container.texture(result.texture());
+            originalSize += result.originalSize();
+            optimizedSize += result.optimizedSize();
+        }
+        return OptimizationReport.of(textures.size(), results.size(), originalSize, optimizedSize);
+    }
+
+    /**
+     * Recompresses the given texture.
+     *
+     * @param texture The texture
+     * @return The recompressed texture, or the same texture if it
+     * couldn't be made smaller or is not a supported PNG image
+     * @since 1.13.0
+     */
+    public static @NotNull Texture compress(final @NotNull Texture texture) {
+        requireNonNull(texture, "texture");
+        final Textures.Optimized result = compress0(texture);
+        return result == null ? texture : result.texture();
+    }
+
+    private static @Nullable Textures.Optimized compress0(final @NotNull Texture texture) {
+        final Textures.Png png = Textures.read(texture);
+        if (png == null || png.header().bitDepth() > 8) {
+            // not a valid PNG image, or recompressing it would be lossy
+            return null;
+        }
+
+        final TextureImageImpl image = png.image();
+        final byte[] compressed = PngCodec.encode(image.width(), image.height(), image.argb(), true);
+        if (compressed.length >= png.data().length) {
+            return null;
+        }
+        return new Textures.Optimized(texture.data(Writable.bytes(compressed)), png.data().length, compressed.length);
+    }
+}
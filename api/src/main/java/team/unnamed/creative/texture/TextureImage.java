@@ -0,0 +1,114 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.examination.Examinable;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+
+/**
+ * Represents a decoded texture image, its pixels are
+ * non-premultiplied 8-bit ARGB integers, in row-major order.
+ *
+ * <p>Images are immutable.</p>
+ *
+ * @see Texture#image()
+ * @since 1.13.0
+ */
+@ApiStatus.NonExtendable
+public interface TextureImage extends Examinable {
+    /**
+     * Creates a new image with the given pixels, the
+     * array is copied.
+     *
+     * @param width The image width
+     * @param height The image height
+     * @param pixels The image pixels, as ARGB integers in row-major order
+     * @return The created image
+     * @throws IllegalArgumentException If the amount of pixels doesn't match the dimensions
+     * @since 1.13.0
+     */
+    @Contract("_, _, _ -> new")
+    static @NotNull TextureImage image(final int width, final int height, final int @NotNull [] pixels) {
+        return new TextureImageImpl(width, height, pixels.clone());
+    }
+
+    /**
+     * Gets the image width, in pixels.
+     *
+     * @return The image width
+     * @since 1.13.0
+     */
+    int width();
+
+    /**
+     * Gets the image height, in pixels.
+     *
+     * @return The image height
+     * @since 1.13.0
+     */
+    int height();
+
+    /**
+     * Gets the pixel at the given coordinates.
+     *
+     * @param x The pixel X coordinate
+     * @param y The pixel Y coordinate
+     * @return The pixel, as an ARGB integer
+     * @throws IndexOutOfBoundsException If the coordinates are outside the image
+     * @since 1.13.0
+     */
+    int pixel(final int x, final int y);
+
+    /**
+     * Gets a copy of the pixels of this image.
+     *
+     * @return The pixels, as ARGB integers in row-major order
+     * @since 1.13.0
+     */
+    int @NotNull [] pixels();
+
+    /**
+     * Gets a region of this image.
+     *
+     * @param x The region X coordinate
+     * @param y The region Y coordinate
+     * @param width The region width
+     * @param height The region height
+     * @return The region, as a new image
+     * @throws IndexOutOfBoundsException If the region is outside the image
+     * @since 1.13.0
+     */
+    @NotNull TextureImage subImage(final int x, final int y, final int width, final int height);
+
+    /**
+     * Encodes this image as a PNG image.
+     *
+     * @return The encoded image
+     * @since 1.13.0
+     */
+    @NotNull Writable encode();
+}
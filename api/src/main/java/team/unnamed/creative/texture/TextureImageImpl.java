@@ -0,0 +1,121 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.examination.ExaminableProperty;
+import net.kyori.examination.string.StringExaminer;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+final class TextureImageImpl implements TextureImage {
+    private final int width;
+    private final int height;
+    private final int[] argb;
+
+    TextureImageImpl(final int width, final int height, final int @NotNull [] argb) {
+        requireNonNull(argb, "argb");
+        if (width <= 0 || height <= 0 || (long) width * height != argb.length) {
+            throw new IllegalArgumentException("Invalid image dimensions: " + width + 'x' + height + " for " + argb.length + " pixels");
+        }
+        this.width = width;
+        this.height = height;
+        this.argb = argb;
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    @Override
+    public int pixel(final int x, final int y) {
+        Objects.checkIndex(x, width);
+        Objects.checkIndex(y, height);
+        return argb[y * width + x];
+    }
+
+    @Override
+    public int @NotNull [] pixels() {
+        return argb.clone();
+    }
+
+    /**
+     * Returns the backing pixel array, must not be modified.
+     */
+    int @NotNull [] argb() {
+        return argb;
+    }
+
+    @Override
+    public @NotNull TextureImage subImage(final int x, final int y, final int width, final int height) {
+        Objects.checkFromIndexSize(x, width, this.width);
+        Objects.checkFromIndexSize(y, height, this.height);
+        final int[] region = new int[width * height];
+        for (int row = 0; row < height; row++) {
+            System.arraycopy(argb, (y + row) * this.width + x, region, row * width, width);
+        }
+        return new TextureImageImpl(width, height, region);
+    }
+
+    @Override
+    public @NotNull Writable encode() {
+        return Writable.bytes(PngCodec.encode(width, height, argb));
+    }
+
+    @Override
+    public @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
+        return Stream.of(
+                ExaminableProperty.of("width", width),
+                ExaminableProperty.of("height", height)
+        );
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return examine(StringExaminer.simpleEscaping());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TextureImageImpl that)) return false;
+        return width == that.width && height == that.height && Arrays.equals(argb, that.argb);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.hashCode(argb);
+    }
+}
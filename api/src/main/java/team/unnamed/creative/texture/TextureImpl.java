@@ -31,11 +31,20 @@ import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.metadata.Metadata;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
-record TextureImpl(Key key, Writable data, Metadata meta) implements Texture {
+final class TextureImpl implements Texture {
+    private final Key key;
+    private final Writable data;
+    private final Metadata meta;
+
+    // lazily read, the data is immutable
+    private volatile @Nullable PngHeader header;
 
     TextureImpl(
             final @NotNull Key key,
@@ -62,6 +71,20 @@ record TextureImpl(Key key, Writable data, Metadata meta) implements Texture {
         return meta;
     }
 
+    @Override
+    public @NotNull PngHeader header() {
+        PngHeader header = this.header;
+        if (header == null) {
+            try {
+                header = PngCodec.header(data);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to read the PNG header of texture " + key.asString(), e);
+            }
+            this.header = header;
+        }
+        return header;
+    }
+
     @Override
     public @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
         return Stream.of(
@@ -86,6 +109,11 @@ record TextureImpl(Key key, Writable data, Metadata meta) implements Texture {
                 && meta.equals(texture.meta);
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, data, meta);
+    }
+
     static final class BuilderImpl implements Builder {
 
         private Key key;
@@ -0,0 +1,479 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.atlas.SingleAtlasSource;
+import team.unnamed.creative.atlas.UnstitchAtlasSource;
+import team.unnamed.creative.base.Vector2Float;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.font.BitMapFontProvider;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.font.FontProvider;
+import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.reference.ReferenceIndex;
+import team.unnamed.creative.reference.ResourceReference;
+import team.unnamed.creative.reference.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Packs small textures of a container into sheets, so that the
+ * resource pack has fewer files, while the client still sees
+ * the same glyphs and sprites.
+ *
+ * <ul>
+ *     <li>{@link #packFonts(ResourceContainer) Font packing} stitches the
+ *     textures of bitmap font providers with the same glyph size into
+ *     a grid sheet, and rewrites the providers to use it.</li>
+ *     <li>{@link #packAtlas(ResourceContainer, Key, Collection, Key) Atlas packing}
+ *     bin-packs the given sprites into a sheet and adds an
+ *     {@link UnstitchAtlasSource} that cuts them back out of it.</li>
+ * </ul>
+ *
+ * <p>Textures with metadata (e.g. animations) are never packed.</p>
+ *
+ * @since 1.13.0
+ */
+public final class TexturePacker {
+    private static final IntFunction<Key> DEFAULT_FONT_SHEETS = index -> Key.key("creative", "font/sheet_" + index + ".png");
+    private static final int NO_CHARACTER = 0;
+
+    private TexturePacker() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Packs the bitmap font textures of the given container, the created
+     * sheets are named {@code creative:font/sheet_<n>.png}.
+     *
+     * @param container The resource container
+     * @return The packing report
+     * @see #packFonts(ResourceContainer, IntFunction)
+     * @since 1.13.0
+     */
+    public static @NotNull PackingReport packFonts(final @NotNull ResourceContainer container) {
+        return packFonts(container, DEFAULT_FONT_SHEETS);
+    }
+
+    /**
+     * Packs the bitmap font textures of the given container.
+     *
+     * <p>Only textures used exclusively by bitmap font providers, without
+     * metadata and evenly divided by the provider character grid are packed.
+     * Textures with the same glyph size are stitched into the same sheet, and
+     * only the glyph cells that are mapped to a character are kept.</p>
+     *
+     * <p>Each provider keeps its height, ascent and characters, which are
+     * laid out in a grid matching the sheet, filled with {@code \u0000}
+     * (skipped by the client) where the glyphs of other providers are.</p>
+     *
+     * @param container The resource container
+     * @param sheetKeys The sheet texture key function, indexes whose key is
+     *                  already used by a texture in the container are skipped
+     * @return The packing report
+     * @since 1.13.0
+     */
+    public static @NotNull PackingReport packFonts(final @NotNull ResourceContainer container, final @NotNull IntFunction<Key> sheetKeys) {
+        requireNonNull(container, "container");
+        requireNonNull(sheetKeys, "sheetKeys");
+
+        final List<Font> fonts = new ArrayList<>(container.fonts());
+        fonts.sort(Comparator.comparing(font -> font.key().asString()));
+
+        // collect the glyph grids of every bitmap font file
+        final ReferenceIndex index = ReferenceIndex.index(container);
+        final Map<Key, @Nullable GlyphGrid> grids = new LinkedHashMap<>();
+        for (final Font font : fonts) {
+            for (final FontProvider provider : font.providers()) {
+                if (!(provider instanceof BitMapFontProvider bitMap)) {
+                    continue;
+                }
+                final int[][] characters = characters(bitMap);
+                final Key file = bitMap.file();
+                GlyphGrid grid;
+                if (grids.containsKey(file)) {
+                    grid = grids.get(file);
+                } else {
+                    grid = characters == null ? null : GlyphGrid.of(container, index, file, characters.length, characters[0].length);
+                    grids.put(file, grid);
+                }
+                if (grid == null) {
+                    continue;
+                }
+                if (characters == null || characters.length != grid.rows || characters[0].length != grid.columns) {
+                    // same file, different grid
+                    grids.put(file, null);
+                    continue;
+                }
+                for (int row = 0; row < grid.rows; row++) {
+                    for (int column = 0; column < grid.columns; column++) {
+                        if (characters[row][column] != NO_CHARACTER) {
+                            grid.used[row * grid.columns + column] = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        // group grids by glyph size
+        final Map<Long, List<GlyphGrid>> groups = new LinkedHashMap<>();
+        for (final GlyphGrid grid : grids.values()) {
+            if (grid != null) {
+                groups.computeIfAbsent((long) grid.cellWidth << 32 | grid.cellHeight, k -> new ArrayList<>()).add(grid);
+            }
+        }
+
+        final List<Key> sheets = new ArrayList<>();
+        final Map<Key, GlyphGrid> packed = new LinkedHashMap<>();
+        int packedTextures = 0;
+        long usedArea = 0;
+        long totalArea = 0;
+        int sheetIndex = 0;
+        for (final List<GlyphGrid> group : groups.values()) {
+            if (group.size() < 2) {
+                // nothing to stitch
+                continue;
+            }
+
+            int slots = 0;
+            for (final GlyphGrid grid : group) {
+                for (int cell = 0; cell < grid.used.length; cell++) {
+                    grid.slots[cell] = grid.used[cell] ? slots++ : -1;
+                }
+            }
+            if (slots == 0) {
+                continue;
+            }
+
+            final int cellWidth = group.get(0).cellWidth;
+            final int cellHeight = group.get(0).cellHeight;
+            final int columns = (int) Math.ceil(Math.sqrt(slots));
+            final int rows = (slots + columns - 1) / columns;
+            final int sheetWidth = columns * cellWidth;
+            final int sheetHeight = rows * cellHeight;
+            final int[] pixels = new int[Math.multiplyExact(sheetWidth, sheetHeight)];
+
+            Key sheet;
+            do {
+                sheet = requireNonNull(sheetKeys.apply(sheetIndex++), "sheet key");
+            } while (container.texture(sheet) != null);
+
+            for (final GlyphGrid grid : group) {
+                for (int cell = 0; cell < grid.slots.length; cell++) {
+                    final int slot = grid.slots[cell];
+                    if (slot < 0) {
+                        continue;
+                    }
+                    final int sourceX = (cell % grid.columns) * cellWidth;
+                    final int sourceY = (cell / grid.columns) * cellHeight;
+                    final int targetX = (slot % columns) * cellWidth;
+                    final int targetY = (slot / columns) * cellHeight;
+                    for (int y = 0; y < cellHeight; y++) {
+                        System.arraycopy(
+                                grid.image.argb(), (sourceY + y) * grid.image.width() + sourceX,
+                                pixels, (targetY + y) * sheetWidth + targetX,
+                                cellWidth
+                        );
+                    }
+                }
+                grid.sheet = sheet;
+                grid.sheetColumns = columns;
+                grid.sheetRows = rows;
+                packed.put(grid.file, grid);
+            }
+
+            container.texture(Texture.texture(sheet, Writable.bytes(PngCodec.encode(sheetWidth, sheetHeight, pixels))));
+            sheets.add(sheet);
+            packedTextures += group.size();
+            usedArea += (long) slots * cellWidth * cellHeight;
+            totalArea += (long) sheetWidth * sheetHeight;
+        }
+
+        if (packed.isEmpty()) {
+            return PackingReport.of(sheets, 0, 0, 0);
+        }
+
+        // rewrite providers
+        for (final Font font : fonts) {
+            final List<FontProvider> providers = new ArrayList<>(font.providers().size());
+            boolean changed = false;
+            for (final FontProvider provider : font.providers()) {
+                final GlyphGrid grid = provider instanceof BitMapFontProvider bitMap ? packed.get(bitMap.file()) : null;
+                if (grid == null) {
+                    providers.add(provider);
+                    continue;
+                }
+                final BitMapFontProvider bitMap = (BitMapFontProvider) provider;
+                providers.add(bitMap.toBuilder()
+                        .file(grid.sheet)
+                        .characters(grid.relocate(requireNonNull(characters(bitMap), "characters")))
+                        .build());
+                changed = true;
+            }
+            if (changed) {
+                container.font(font.providers(providers));
+            }
+        }
+        for (final Key file : packed.keySet()) {
+            container.removeTexture(file);
+        }
+        return PackingReport.of(sheets, packedTextures, usedArea, totalArea);
+    }
+
+    /**
+     * Packs the given sprites of an atlas into a single sheet.
+     *
+     * <p>Sprites are bin-packed into shelves, and an {@link UnstitchAtlasSource}
+     * copying every sprite out of the sheet is added to the atlas (which is
+     * created if needed). Single sources of packed sprites are replaced by
+     * regions of that source. The original textures are removed, so sprites
+     * whose textures are used by anything other than models and this atlas
+     * (e.g. fonts, equipment or other atlases) are not packed.</p>
+     *
+     * <p>The sheet should be located outside of the directories included by
+     * the directory sources of the atlas, so that it is not loaded as a
+     * sprite too.</p>
+     *
+     * @param container The resource container
+     * @param atlas The atlas key, e.g. {@code minecraft:blocks}
+     * @param sprites The sprites to pack (texture locations relative to the
+     *                textures directory, without the {@code .png} extension)
+     * @param sheet The sheet location (relative to the textures directory,
+     *              without the {@code .png} extension)
+     * @return The packing report
+     * @since 1.13.0
+     */
+    public static @NotNull PackingReport packAtlas(
+            final @NotNull ResourceContainer container,
+            final @NotNull Key atlas,
+            final @NotNull Collection<Key> sprites,
+            final @NotNull Key sheet
+    ) {
+        requireNonNull(container, "container");
+        requireNonNull(atlas, "atlas");
+        requireNonNull(sprites, "sprites");
+        requireNonNull(sheet, "sheet");
+
+        final TreeSet<Key> sortedSprites = new TreeSet<>(Comparator.comparing(Key::asString));
+        sortedSprites.addAll(sprites);
+        final ReferenceIndex index = ReferenceIndex.index(container);
+        final List<Sprite> packable = new ArrayList<>();
+        for (final Key sprite : sortedSprites) {
+            final Texture texture = container.texture(Textures.texture(sprite));
+            if (texture == null || !texture.meta().parts().isEmpty() || !Textures.onlyUsedByModels(index, atlas, texture.key())) {
+                continue;
+            }
+            final TextureImageImpl image = Textures.decode(texture);
+            if (image != null) {
+                packable.add(new Sprite(sprite, texture.key(), image));
+            }
+        }
+        if (packable.size() < 2) {
+            // nothing to stitch
+            return PackingReport.of(List.of(), 0, 0, 0);
+        }
+
+        // shelf packing, tallest sprites first
+        packable.sort(Comparator.comparingInt((Sprite sprite) -> sprite.image.height()).reversed()
+                .thenComparing(Comparator.comparingInt((Sprite sprite) -> sprite.image.width()).reversed()));
+        long usedArea = 0;
+        int maxWidth = 0;
+        for (final Sprite sprite : packable) {
+            usedArea += (long) sprite.image.width() * sprite.image.height();
+            maxWidth = Math.max(maxWidth, sprite.image.width());
+        }
+        final int sheetWidth = Math.max(maxWidth, Integer.highestOneBit((int) Math.ceil(Math.sqrt(usedArea)) * 2 - 1));
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        for (final Sprite sprite : packable) {
+            if (x + sprite.image.width() > sheetWidth) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            sprite.x = x;
+            sprite.y = y;
+            x += sprite.image.width();
+            shelfHeight = Math.max(shelfHeight, sprite.image.height());
+        }
+        final int sheetHeight = y + shelfHeight;
+
+        final int[] pixels = new int[Math.multiplyExact(sheetWidth, sheetHeight)];
+        final Map<Key, Sprite> packed = new LinkedHashMap<>();
+        final List<UnstitchAtlasSource.Region> regions = new ArrayList<>();
+        for (final Sprite sprite : packable) {
+            final TextureImageImpl image = sprite.image;
+            for (int row = 0; row < image.height(); row++) {
+                System.arraycopy(image.argb(), row * image.width(), pixels, (sprite.y + row) * sheetWidth + sprite.x, image.width());
+            }
+            packed.put(sprite.key, sprite);
+            regions.add(sprite.region(sprite.key));
+        }
+
+        // replace the single sources of packed sprites
+        final Atlas existing = container.atlas(atlas);
+        final List<AtlasSource> sources = new ArrayList<>();
+        if (existing != null) {
+            for (final AtlasSource source : existing.sources()) {
+                final Sprite sprite = source instanceof SingleAtlasSource single ? packed.get(single.resource()) : null;
+                if (sprite == null) {
+                    sources.add(source);
+                    continue;
+                }
+                final Key name = ((SingleAtlasSource) source).sprite();
+                if (name != null && !name.equals(sprite.key)) {
+                    regions.add(sprite.region(name));
+                }
+            }
+        }
+        sources.add(AtlasSource.unstitch(sheet, regions, new Vector2Float(sheetWidth, sheetHeight)));
+        container.atlas(Atlas.atlas(atlas, sources));
+
+        container.texture(Texture.texture(Textures.texture(sheet), Writable.bytes(PngCodec.encode(sheetWidth, sheetHeight, pixels))));
+        for (final Sprite sprite : packable) {
+            container.removeTexture(sprite.texture);
+        }
+        return PackingReport.of(List.of(Textures.texture(sheet)), packable.size(), usedArea, (long) sheetWidth * sheetHeight);
+    }
+
+    /**
+     * Returns the code points of the given bitmap provider, as a
+     * grid, or null if its rows don't have the same length.
+     */
+    private static int @Nullable [] @NotNull [] characters(final @NotNull BitMapFontProvider provider) {
+        final List<String> rows = provider.characters();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        final int[][] characters = new int[rows.size()][];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = rows.get(i).codePoints().toArray();
+            if (characters[i].length == 0 || characters[i].length != characters[0].length) {
+                return null;
+            }
+        }
+        return characters;
+    }
+
+    private static final class GlyphGrid {
+        private final Key file;
+        private final TextureImageImpl image;
+        private final int rows;
+        private final int columns;
+        private final int cellWidth;
+        private final int cellHeight;
+        private final boolean[] used;
+        private final int[] slots;
+
+        private Key sheet;
+        private int sheetColumns;
+        private int sheetRows;
+
+        private GlyphGrid(final @NotNull Key file, final @NotNull TextureImageImpl image, final int rows, final int columns) {
+            this.file = file;
+            this.image = image;
+            this.rows = rows;
+            this.columns = columns;
+            this.cellWidth = image.width() / columns;
+            this.cellHeight = image.height() / rows;
+            this.used = new boolean[rows * columns];
+            this.slots = new int[rows * columns];
+        }
+
+        static @Nullable GlyphGrid of(
+                final @NotNull ResourceContainer container,
+                final @NotNull ReferenceIndex index,
+                final @NotNull Key file,
+                final int rows,
+                final int columns
+        ) {
+            final Texture texture = container.texture(file);
+            if (texture == null || !texture.meta().parts().isEmpty()) {
+                return null;
+            }
+            for (final ResourceReference user : index.referencedBy(ResourceReference.reference(ResourceType.TEXTURE, file))) {
+                if (user.type() != ResourceType.FONT) {
+                    // also used by something else, e.g. a model or equipment
+                    return null;
+                }
+            }
+            final TextureImageImpl image = Textures.decode(texture);
+            if (image == null || image.width() % columns != 0 || image.height() % rows != 0) {
+                return null;
+            }
+            return new GlyphGrid(file, image, rows, columns);
+        }
+
+        @NotNull List<String> relocate(final int @NotNull [] @NotNull [] characters) {
+            final int[][] relocated = new int[sheetRows][sheetColumns];
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    final int character = characters[row][column];
+                    final int slot = slots[row * columns + column];
+                    if (character != NO_CHARACTER && slot >= 0) {
+                        relocated[slot / sheetColumns][slot % sheetColumns] = character;
+                    }
+                }
+            }
+            final List<String> lines = new ArrayList<>(sheetRows);
+            for (final int[] line : relocated) {
+                lines.add(new String(line, 0, line.length));
+            }
+            return lines;
+        }
+    }
+
+    private static final class Sprite {
+        private final Key key;
+        private final Key texture;
+        private final TextureImageImpl image;
+        private int x;
+        private int y;
+
+        private Sprite(final @NotNull Key key, final @NotNull Key texture, final @NotNull TextureImageImpl image) {
+            this.key = key;
+            this.texture = texture;
+            this.image = image;
+        }
+
+        @NotNull UnstitchAtlasSource.Region region(final @NotNull Key name) {
+            return UnstitchAtlasSource.Region.region(name, new Vector2Float(x, y), new Vector2Float(image.width(), image.height()));
+        }
+    }
+}
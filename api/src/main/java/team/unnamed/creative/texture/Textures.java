@@ -0,0 +1,120 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.reference.ReferenceIndex;
+import team.unnamed.creative.reference.ResourceReference;
+import team.unnamed.creative.reference.ResourceType;
+
+import java.io.IOException;
+
+/**
+ * Texture helpers shared by the optimizers of this package.
+ *
+ * <p>Textures whose data is not a valid PNG image can't be decoded,
+ * so every optimizer leaves them as-is.</p>
+ */
+final class Textures {
+    static final String EXTENSION = ".png";
+
+    private Textures() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Returns the location of the given texture key, as used by
+     * models and atlases, i.e. without the extension.
+     */
+    static @NotNull Key location(final @NotNull Key texture) {
+        final String value = texture.value();
+        return value.endsWith(EXTENSION)
+                ? Key.key(texture.namespace(), value.substring(0, value.length() - EXTENSION.length()))
+                : texture;
+    }
+
+    /**
+     * Returns the texture key of the given location.
+     */
+    static @NotNull Key texture(final @NotNull Key location) {
+        return Key.key(location.namespace(), location.value() + EXTENSION);
+    }
+
+    /**
+     * Determines whether the given texture is only used by models and the
+     * given atlas (any atlas if {@code null}), which are the users that can
+     * be updated when the texture is replaced or removed.
+     */
+    static boolean onlyUsedByModels(final @NotNull ReferenceIndex index, final @Nullable Key atlas, final @NotNull Key texture) {
+        for (final ResourceReference user : index.referencedBy(ResourceReference.reference(ResourceType.TEXTURE, texture))) {
+            final boolean allowed = user.type() == ResourceType.MODEL
+                    || (user.type() == ResourceType.ATLAS && (atlas == null || atlas.equals(user.key())));
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the image of the given texture, or returns
+     * null if it is not a valid PNG image.
+     */
+    static @Nullable TextureImageImpl decode(final @NotNull Texture texture) {
+        try {
+            return PngCodec.decode(texture.data());
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads and decodes the given texture, or returns
+     * null if it is not a valid PNG image.
+     */
+    static @Nullable Png read(final @NotNull Texture texture) {
+        try {
+            final byte[] data = texture.data().toByteArray();
+            final Writable writable = Writable.bytes(data);
+            return new Png(data, PngCodec.header(writable), PngCodec.decode(writable));
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A decoded texture, with its encoded data.
+     */
+    record Png(byte @NotNull [] data, @NotNull PngHeader header, @NotNull TextureImageImpl image) {
+    }
+
+    /**
+     * An optimized texture, with the sizes of its data before and after.
+     */
+    record Optimized(@NotNull Texture texture, long originalSize, long optimizedSize) {
+    }
+}
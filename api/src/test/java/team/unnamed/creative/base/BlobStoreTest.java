@@ -0,0 +1,105 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlobStoreTest {
+
+    @Test
+    void test_stores() throws IOException {
+        final byte[] bytes = "Hello, this is a cool file".getBytes(StandardCharsets.UTF_8);
+        for (final BlobStore store : new BlobStore[] { BlobStore.heap(), BlobStore.direct() }) {
+            final Writable fromStream = store.store(new ByteArrayInputStream(bytes));
+            final Writable fromBytes = store.store(bytes);
+
+            for (final Writable writable : new Writable[] { fromStream, fromBytes }) {
+                assertEquals(bytes.length, writable.length());
+                assertArrayEquals(bytes, writable.toByteArray());
+                assertEquals(Writable.bytes(bytes).sha1(), writable.sha1());
+                assertEquals(Writable.bytes(bytes).crc32(), writable.crc32());
+            }
+        }
+    }
+
+    @Test
+    void test_direct_store_is_off_heap() throws IOException {
+        final Writable writable = BlobStore.direct().store(new byte[] { 1, 2, 3 });
+        assertTrue(writable.asByteBuffer().isDirect());
+        assertTrue(writable.asByteBuffer().isReadOnly());
+    }
+
+    @Test
+    void test_spilling_store(final @TempDir Path directory) throws IOException {
+        final byte[] first = { 1, 2, 3, 4, 5, 6 };
+        final byte[] second = { 7, 8, 9, 10, 11, 12 };
+        final byte[] big = new byte[32];
+
+        final Writable firstWritable;
+        final Writable secondWritable;
+        final Writable bigWritable;
+        try (final BlobStore store = BlobStore.spilling(directory, 10)) {
+            firstWritable = store.store(first);
+            secondWritable = store.store(second); // spills the first one
+            bigWritable = store.store(big); // over budget, spilled directly
+
+            try (final Stream<Path> files = Files.list(directory)) {
+                assertEquals(2, files.count());
+            }
+
+            assertArrayEquals(first, firstWritable.toByteArray()); // loads it back, spills the second one
+            assertArrayEquals(second, secondWritable.toByteArray());
+            assertArrayEquals(big, bigWritable.toByteArray());
+            assertEquals(big.length, bigWritable.length());
+            assertEquals(Writable.bytes(big).sha1(), bigWritable.sha1());
+            assertEquals(ByteBuffer.wrap(big), bigWritable.asByteBuffer());
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            bigWritable.transferTo(Channels.newChannel(output));
+            assertArrayEquals(big, output.toByteArray());
+        }
+
+        try (final Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count(), "spilled files should be deleted on close");
+        }
+        assertThrows(IllegalStateException.class, firstWritable::toByteArray);
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WritableTest {
+    private static final String SHA1_ABC = "a9993e364706816aba3e25717850c26c9cd0d89d";
+    private static final long CRC32_ABC = 0x352441c2L;
+
+    @Test
+    void test_in_memory_checksums() throws IOException {
+        final Writable writable = Writable.stringUtf8("abc");
+        assertEquals(3, writable.length());
+        assertEquals(SHA1_ABC, writable.sha1());
+        assertEquals(SHA1_ABC, writable.sha1());
+        assertEquals(CRC32_ABC, writable.crc32());
+        assertEquals(0, Writable.EMPTY.length());
+    }
+
+    @Test
+    void test_streamed_checksums() throws IOException {
+        final byte[] bytes = "abc".getBytes(StandardCharsets.UTF_8);
+        final Writable writable = Writable.inputStream(() -> new ByteArrayInputStream(bytes));
+        assertEquals(-1, writable.length());
+        assertEquals(SHA1_ABC, writable.sha1());
+        assertEquals(CRC32_ABC, writable.crc32());
+    }
+
+    @Test
+    void test_transfer_and_views() throws IOException {
+        for (final Writable writable : new Writable[] {
+                Writable.bytes(new byte[] { 1, 2, 3 }),
+                Writable.inputStream(() -> new ByteArrayInputStream(new byte[] { 1, 2, 3 }))
+        }) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            writable.transferTo(Channels.newChannel(output));
+            assertEquals(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), ByteBuffer.wrap(output.toByteArray()));
+
+            final ByteBuffer view = writable.asByteBuffer();
+            assertEquals(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), view);
+            assertThrows(ReadOnlyBufferException.class, () -> view.put((byte) 0));
+        }
+    }
+
+    @Test
+    void test_path(final @TempDir Path directory) throws IOException {
+        final Path file = directory.resolve("file.txt");
+        Files.writeString(file, "abc");
+
+        final Writable writable = Writable.path(file);
+        assertEquals(3, writable.length());
+        assertEquals(SHA1_ABC, writable.sha1());
+        assertEquals("abc", writable.toUTF8String());
+        assertEquals("abc", new String(Readable.path(file).readAsByteArray(), StandardCharsets.UTF_8));
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Readable.path(file).readAndWrite(output);
+        assertEquals("abc", output.toString(StandardCharsets.UTF_8));
+    }
+}
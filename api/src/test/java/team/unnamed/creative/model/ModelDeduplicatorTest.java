@@ -0,0 +1,86 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.model;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.CubeFace;
+import team.unnamed.creative.base.Vector3Float;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelDeduplicatorTest {
+    private static final Key GEOMETRY = Key.key("creative", "geometry/0");
+
+    private static Model chair(final String name, final float height) {
+        return Model.model()
+                .key(Key.key("furniture/" + name))
+                .parent(Key.key("block/block"))
+                .ambientOcclusion(false)
+                .textures(ModelTextures.builder()
+                        .variables(Map.of("wood", ModelTexture.ofKey(Key.key("block/" + name + "_planks"))))
+                        .build())
+                .elements(List.of(Element.element()
+                        .from(Vector3Float.ZERO)
+                        .to(new Vector3Float(16, height, 16))
+                        .faces(Map.of(CubeFace.UP, ElementFace.face().texture("#wood").build()))
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void test_extract_shared_geometry() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        final List<Model> originals = List.of(chair("oak", 8), chair("birch", 8), chair("spruce", 8), chair("stool", 4));
+        originals.forEach(pack::model);
+        final ModelResolver originalResolver = ModelResolver.resolver(pack.copy());
+
+        final List<Model> parents = ModelDeduplicator.deduplicate(pack);
+
+        assertEquals(1, parents.size());
+        final Model geometry = parents.get(0);
+        assertEquals(GEOMETRY, geometry.key());
+        assertEquals(Key.key("block/block"), geometry.parent());
+        assertSame(geometry, pack.model(GEOMETRY));
+
+        final Model oak = pack.model(Key.key("furniture/oak"));
+        assertEquals(GEOMETRY, oak.parent());
+        assertTrue(oak.elements().isEmpty());
+
+        // unique geometry is kept
+        assertEquals(originals.get(3), pack.model(Key.key("furniture/stool")));
+
+        // effective models don't change
+        final ModelResolver resolver = ModelResolver.resolver(pack);
+        for (final Model original : originals) {
+            assertEquals(originalResolver.resolve(original.key()), resolver.resolve(original.key()));
+        }
+    }
+}
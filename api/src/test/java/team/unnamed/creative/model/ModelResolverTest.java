@@ -0,0 +1,159 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.model;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.CubeFace;
+import team.unnamed.creative.base.Vector3Float;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModelResolverTest {
+    private static final Key BASE = Key.key("block/base");
+    private static final Key CUBE = Key.key("block/cube");
+    private static final Key STONE = Key.key("block/stone");
+
+    private static final ItemTransform GUI = ItemTransform.transform(Vector3Float.ZERO, Vector3Float.ZERO, Vector3Float.ONE);
+    private static final Element ELEMENT = Element.element()
+            .from(Vector3Float.ZERO)
+            .to(new Vector3Float(16, 16, 16))
+            .faces(Map.of(CubeFace.NORTH, ElementFace.face().texture("#side").build()))
+            .build();
+
+    private static ResourcePack pack() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.model(Model.model()
+                .key(BASE)
+                .parent(Key.key("block/block"))
+                .display(Map.of(ItemTransform.Type.GUI, GUI))
+                .build());
+        pack.model(Model.model()
+                .key(CUBE)
+                .parent(BASE)
+                .textures(ModelTextures.builder()
+                        .particle(ModelTexture.ofReference("all"))
+                        .variables(Map.of("side", ModelTexture.ofReference("all")))
+                        .build())
+                .elements(List.of(ELEMENT))
+                .build());
+        pack.model(Model.model()
+                .key(STONE)
+                .parent(CUBE)
+                .textures(ModelTextures.builder()
+                        .variables(Map.of("all", ModelTexture.ofKey(Key.key("block/stone"))))
+                        .build())
+                .build());
+        return pack;
+    }
+
+    @Test
+    void test_flatten() {
+        final ModelResolver resolver = ModelResolver.resolver(pack());
+        final Model stone = resolver.resolve(STONE);
+
+        assertEquals(STONE, stone.key());
+        assertEquals(Key.key("block/block"), stone.parent());
+        assertEquals(Map.of(ItemTransform.Type.GUI, GUI), stone.display());
+        assertEquals(List.of(ELEMENT), stone.elements());
+        assertEquals(ModelTexture.ofKey(Key.key("block/stone")), stone.textures().particle());
+        assertEquals(ModelTexture.ofKey(Key.key("block/stone")), stone.textures().variables().get("side"));
+
+        // references that can't be resolved yet are kept
+        assertEquals(ModelTexture.ofReference("all"), resolver.resolve(CUBE).textures().particle());
+        assertNull(resolver.resolve(Key.key("block/unknown")));
+    }
+
+    @Test
+    void test_child_overrides_resolved_variable() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.model(Model.model()
+                .key(CUBE)
+                .textures(ModelTextures.builder()
+                        .variables(Map.of(
+                                "particle", ModelTexture.ofReference("side"),
+                                "side", ModelTexture.ofKey(Key.key("a", "x"))
+                        ))
+                        .build())
+                .build());
+        pack.model(Model.model()
+                .key(STONE)
+                .parent(CUBE)
+                .textures(ModelTextures.builder()
+                        .variables(Map.of("side", ModelTexture.ofKey(Key.key("b", "y"))))
+                        .build())
+                .build());
+
+        final ModelResolver resolver = ModelResolver.resolver(pack);
+        assertEquals(ModelTexture.ofKey(Key.key("a", "x")), resolver.resolve(CUBE).textures().variables().get("particle"));
+        // references are resolved after merging the whole chain
+        assertEquals(ModelTexture.ofKey(Key.key("b", "y")), resolver.resolve(STONE).textures().variables().get("particle"));
+    }
+
+    @Test
+    void test_cache_and_invalidation() {
+        final ResourcePack pack = pack();
+        final ModelResolver resolver = ModelResolver.resolver(pack);
+        final Model stone = resolver.resolve(STONE);
+        assertSame(stone, resolver.resolve(STONE));
+
+        pack.model(pack.model(BASE).toBuilder().display(Map.of()).build());
+        assertSame(stone, resolver.resolve(STONE));
+
+        // changing the base model invalidates its descendants
+        resolver.refresh();
+        assertEquals(Map.of(), resolver.resolve(STONE).display());
+    }
+
+    @Test
+    void test_refresh_added_parent() {
+        final ResourcePack pack = pack();
+        final Model base = pack.model(BASE);
+        pack.removeModel(BASE);
+        final ModelResolver resolver = ModelResolver.resolver(pack);
+        assertEquals(BASE, resolver.resolve(STONE).parent());
+
+        // the parent of block/cube is added after it was resolved
+        pack.model(base);
+        resolver.refresh();
+        final Model stone = resolver.resolve(STONE);
+        assertEquals(Key.key("block/block"), stone.parent());
+        assertEquals(Map.of(ItemTransform.Type.GUI, GUI), stone.display());
+    }
+
+    @Test
+    void test_cycle() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.model(Model.model().key(BASE).parent(CUBE).build());
+        pack.model(Model.model().key(CUBE).parent(BASE).build());
+        assertThrows(IllegalStateException.class, () -> ModelResolver.resolver(pack).resolve(BASE));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.texture.Texture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class ConcurrentResourcePackTest {
+    private static final Writable DATA = Writable.stringUtf8("te");
+
+    private static ResourcePack pack(final String texture, final String file) {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.texture(Texture.texture(Key.key(texture + ".png"), DATA));
+        pack.unknownFile(file, DATA);
+        return pack;
+    }
+
+    @Test
+    void test_concurrent_registration() throws Exception {
+        final ResourcePack pack = ResourcePack.concurrentResourcePack();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final int offset = thread;
+                tasks.add(executor.submit(() -> {
+                    for (int i = offset; i < 1000; i += 4) {
+                        pack.texture(Texture.texture(Key.key("item/" + i + ".png"), DATA));
+                        pack.unknownFile("file" + i, DATA);
+                    }
+                }));
+            }
+            for (final Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, pack.textures().size());
+        assertEquals(1000, pack.unknownFiles().size());
+    }
+
+    @Test
+    void test_iteration_order_is_deterministic() {
+        final ResourcePack pack = ResourcePack.concurrentResourcePack();
+        pack.texture(Texture.texture(Key.key("item/c.png"), DATA));
+        pack.texture(Texture.texture(Key.key("item/a.png"), DATA));
+        pack.texture(Texture.texture(Key.key("item/b.png"), DATA));
+        pack.overlay(Overlay.concurrentOverlay("v2"));
+        pack.overlay(Overlay.concurrentOverlay("v1"));
+
+        final List<String> textures = new ArrayList<>();
+        for (final Texture texture : pack.textures()) {
+            textures.add(texture.key().value());
+        }
+        assertEquals(List.of("item/a.png", "item/b.png", "item/c.png"), textures);
+
+        final List<String> overlays = new ArrayList<>();
+        for (final Overlay overlay : pack.overlays()) {
+            overlays.add(overlay.directory());
+        }
+        assertEquals(List.of("v1", "v2"), overlays);
+    }
+
+    @Test
+    void test_snapshot_of_concurrent_pack() {
+        final ResourcePack pack = ResourcePack.concurrentResourcePack();
+        pack.texture(Texture.texture(Key.key("item/a.png"), DATA));
+
+        final ResourcePack snapshot = pack.snapshot();
+        assertNotSame(pack, snapshot);
+        pack.texture(Texture.texture(Key.key("item/b.png"), DATA));
+
+        assertEquals(1, snapshot.textures().size());
+        assertEquals(2, pack.textures().size());
+    }
+
+    @Test
+    void test_registration_during_merge() throws Exception {
+        final ResourcePack pack = ResourcePack.concurrentResourcePack();
+        // merged one by one, then in bulk
+        final List<ResourcePack> others = new ArrayList<>();
+        final List<ResourcePack> bulk = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            others.add(pack("merged/" + i, "merged" + i));
+            bulk.add(pack("bulk/" + i, "bulk" + i));
+        }
+
+        final AtomicBoolean merging = new AtomicBoolean(true);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Integer> registration = executor.submit(() -> {
+                int i = 0;
+                // keep registering until the merges are done, then some more
+                while (merging.get() || i < 1000) {
+                    pack.texture(Texture.texture(Key.key("registered/" + i + ".png"), DATA));
+                    i++;
+                }
+                return i;
+            });
+            for (final ResourcePack other : others) {
+                pack.merge(List.of(other), MergeStrategy.mergeAndFailOnError());
+            }
+            pack.merge(bulk, MergeStrategy.mergeAndFailOnError());
+            merging.set(false);
+
+            final int registered = registration.get();
+            assertEquals(200 + registered, pack.textures().size());
+            assertEquals(200, pack.unknownFiles().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
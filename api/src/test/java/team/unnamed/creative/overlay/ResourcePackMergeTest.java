@@ -23,14 +23,37 @@
  */
 package team.unnamed.creative.overlay;
 
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
 import org.junit.jupiter.api.Test;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.font.Font;
 import team.unnamed.creative.font.FontProvider;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.model.ItemOverride;
+import team.unnamed.creative.model.ItemPredicate;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.FormatVersion;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.resources.MergeException;
+import team.unnamed.creative.resources.MergeReport;
 import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.texture.Texture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ResourcePackMergeTest {
     private static final Writable ICON_0 = Writable.stringUtf8("icon 0");
@@ -147,4 +170,296 @@ class ResourcePackMergeTest {
                 base.font(Font.MINECRAFT_DEFAULT)
         );
     }
+
+    @Test
+    void test_merge_drops_provided_characters() {
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.font(Font.font(Font.MINECRAFT_DEFAULT,
+                FontProvider.bitMap(Key.key("font/a.png"), 8, 7, List.of("ab")),
+                FontProvider.space().advance(" ", 4).build()));
+
+        final ResourcePack added = ResourcePack.resourcePack();
+        added.font(Font.font(Font.MINECRAFT_DEFAULT,
+                FontProvider.bitMap(Key.key("font/b.png"), 8, 7, List.of("bc")),
+                FontProvider.bitMap(Key.key("font/c.png"), 8, 7, List.of("a")),
+                FontProvider.space().advance(" ", 5).advance("\t", 8).build()));
+
+        final MergeReport report = base.mergeReporting(List.of(added), MergeStrategy.mergeAndKeepFirstOnError());
+
+        assertEquals(List.of(
+                FontProvider.bitMap(Key.key("font/a.png"), 8, 7, List.of("ab")),
+                FontProvider.space().advance(" ", 4).build(),
+                FontProvider.bitMap(Key.key("font/b.png"), 8, 7, List.of("\u0000c")),
+                FontProvider.space().advance("\t", 8).build()
+        ), base.font(Font.MINECRAFT_DEFAULT).providers());
+        // 'b', 'a' and ' ' were already provided
+        assertEquals(3, report.conflicts().size());
+        assertThrows(MergeException.class, () -> ResourcePack.resourcePack().merge(List.of(base, added), MergeStrategy.mergeAndFailOnError()));
+    }
+
+    @Test
+    void test_merge_overrides_by_predicate() {
+        final Key key = Key.key("item/stick");
+        final ItemOverride first = ItemOverride.of(Key.key("item/first"), ItemPredicate.customModelData(1));
+        final ItemOverride second = ItemOverride.of(Key.key("item/second"), ItemPredicate.customModelData(2));
+        final ItemOverride replaced = ItemOverride.of(Key.key("item/replaced"), ItemPredicate.customModelData(1));
+
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.model(Model.model().key(key).overrides(List.of(first, second)).build());
+        final ResourcePack added = ResourcePack.resourcePack();
+        added.model(Model.model().key(key).overrides(List.of(replaced)).build());
+
+        final MergeReport report = base.mergeReporting(List.of(added), MergeStrategy.mergeAndKeepFirstOnError());
+
+        // replaced at its position, the client uses the last matching override
+        assertEquals(List.of(replaced, second), base.model(key).overrides());
+        assertEquals(1, report.conflicts().size());
+        assertEquals(Model.class, report.conflicts().get(0).type());
+    }
+
+    @Test
+    void test_bulk_merge_matches_sequential_merge() {
+        final List<ResourcePack> packs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final ResourcePack pack = ResourcePack.resourcePack();
+            pack.icon(i == 1 ? ICON_1 : null);
+            pack.unknownFile("file" + i, TE);
+            pack.unknownFile("shared", i == 0 ? TE : AB);
+            pack.language(Language.language(Key.key("en_us"), Map.of("key" + i, "value" + i)));
+            pack.font(Font.font()
+                    .key(Font.MINECRAFT_DEFAULT)
+                    .addProvider(FontProvider.space()
+                            .advance(String.valueOf(i), i)
+                            .build())
+                    .build());
+            final Overlay overlay = Overlay.overlay("v1");
+            overlay.unknownFile("overlay" + i, TE);
+            pack.overlay(overlay);
+            packs.add(pack);
+        }
+
+        final ResourcePack sequential = ResourcePack.resourcePack();
+        sequential.icon(ICON_0);
+        for (final ResourcePack pack : packs) {
+            sequential.merge(pack.copy(), MergeStrategy.mergeAndKeepFirstOnError());
+        }
+
+        final ResourcePack bulk = ResourcePack.resourcePack();
+        bulk.icon(ICON_0);
+        final List<ResourcePack> copies = new ArrayList<>();
+        for (final ResourcePack pack : packs) {
+            copies.add(pack.copy());
+        }
+        bulk.merge(copies, MergeStrategy.mergeAndKeepFirstOnError());
+
+        assertEquals(ICON_0, bulk.icon());
+        assertEquals(sequential.unknownFiles(), bulk.unknownFiles());
+        assertEquals(TE, bulk.unknownFile("shared"));
+        assertEquals(sequential.language(Key.key("en_us")), bulk.language(Key.key("en_us")));
+        assertEquals(3, bulk.language(Key.key("en_us")).translations().size());
+        assertEquals(sequential.font(Font.MINECRAFT_DEFAULT), bulk.font(Font.MINECRAFT_DEFAULT));
+        assertEquals(3, bulk.font(Font.MINECRAFT_DEFAULT).providers().size());
+
+        final Overlay overlay = bulk.overlay("v1");
+        assertNotNull(overlay);
+        assertEquals(sequential.overlay("v1").unknownFiles(), overlay.unknownFiles());
+        assertEquals(3, overlay.unknownFiles().size());
+    }
+
+    @Test
+    void test_bulk_merge_fails_without_changes() {
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.unknownFile("te", TE);
+
+        final ResourcePack first = ResourcePack.resourcePack();
+        first.unknownFile("ab", AB);
+        final ResourcePack second = ResourcePack.resourcePack();
+        second.unknownFile("te", AB);
+
+        assertThrows(MergeException.class, () -> base.merge(List.of(first, second), MergeStrategy.mergeAndFailOnError()));
+        assertEquals(1, base.unknownFiles().size());
+        assertEquals(TE, base.unknownFile("te"));
+    }
+
+    @Test
+    void test_bulk_merge_of_packs_fails_without_changes() {
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.icon(ICON_0);
+        base.unknownFile("te", TE);
+        final Overlay overlay = Overlay.overlay("v1");
+        overlay.unknownFile("te", TE);
+        base.overlay(overlay);
+
+        final ResourcePack first = ResourcePack.resourcePack();
+        first.unknownFile("ab", AB);
+        final Overlay firstOverlay = Overlay.overlay("v1");
+        firstOverlay.unknownFile("ab", AB);
+        first.overlay(firstOverlay);
+        first.overlay(Overlay.overlay("v2"));
+        // conflicts with the icon, found after merging the resources
+        final ResourcePack second = ResourcePack.resourcePack();
+        second.icon(ICON_1);
+
+        assertThrows(IllegalStateException.class, () -> base.merge(List.of(first, second), MergeStrategy.mergeAndFailOnError()));
+        assertEquals(ICON_0, base.icon());
+        assertEquals(Map.of("te", TE), base.unknownFiles());
+        assertEquals(1, base.overlays().size());
+        assertEquals(Map.of("te", TE), overlay.unknownFiles());
+
+        // a successful merge is applied to the same overlay instance
+        base.merge(List.of(first), MergeStrategy.mergeAndFailOnError());
+        assertEquals(2, base.unknownFiles().size());
+        assertEquals(2, base.overlays().size());
+        assertSame(overlay, base.overlay("v1"));
+        assertEquals(2, overlay.unknownFiles().size());
+    }
+
+    @Test
+    void test_merge_overlays() {
+        final PackFormat legacy = PackFormat.format(FormatVersion.of(18), FormatVersion.of(22));
+        final PackFormat modern = PackFormat.format(FormatVersion.of(34), FormatVersion.of(46));
+
+        final ResourcePack base = ResourcePack.resourcePack();
+        final Overlay baseLegacy = Overlay.overlay("legacy");
+        baseLegacy.unknownFile("te", TE);
+        base.overlay(baseLegacy);
+        base.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(legacy, "legacy")));
+
+        final ResourcePack added = ResourcePack.resourcePack();
+        final Overlay addedLegacy = Overlay.overlay("legacy");
+        addedLegacy.unknownFile("ab", AB);
+        added.overlay(addedLegacy);
+        final Overlay addedModern = Overlay.overlay("modern");
+        addedModern.unknownFile("ab", AB);
+        added.overlay(addedModern);
+        added.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(legacy, "legacy"), OverlayEntry.of(modern, "modern")));
+
+        base.merge(added, MergeStrategy.mergeAndFailOnError());
+
+        assertEquals(2, base.overlay("legacy").unknownFiles().size());
+        assertEquals(1, base.overlay("modern").unknownFiles().size());
+        assertEquals(
+                List.of(OverlayEntry.of(legacy, "legacy"), OverlayEntry.of(modern, "modern")),
+                base.overlaysMeta().entries()
+        );
+
+        // the merged pack doesn't share overlays with the other pack
+        base.overlay("modern").unknownFile("te", TE);
+        assertEquals(1, addedModern.unknownFiles().size());
+    }
+
+    @Test
+    void test_override_keeps_overlay_entries() {
+        final PackFormat legacy = PackFormat.format(FormatVersion.of(18), FormatVersion.of(22));
+        final PackFormat modern = PackFormat.format(FormatVersion.of(34), FormatVersion.of(46));
+
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.overlay(Overlay.overlay("legacy"));
+        base.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(legacy, "legacy")));
+
+        final ResourcePack added = ResourcePack.resourcePack();
+        added.overlay(Overlay.overlay("modern"));
+        added.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(modern, "modern")));
+
+        base.merge(added, MergeStrategy.override());
+
+        assertEquals(2, base.overlays().size());
+        assertEquals(
+                List.of(OverlayEntry.of(legacy, "legacy"), OverlayEntry.of(modern, "modern")),
+                base.overlaysMeta().entries()
+        );
+    }
+
+    @Test
+    void test_override_without_overlays_keeps_overlay_entries() {
+        final PackFormat legacy = PackFormat.format(FormatVersion.of(18), FormatVersion.of(22));
+        final PackFormat modern = PackFormat.format(FormatVersion.of(34), FormatVersion.of(46));
+
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.overlay(Overlay.overlay("legacy"));
+        base.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(legacy, "legacy")));
+
+        final ResourcePack added = ResourcePack.resourcePack();
+        added.packMeta(modern, Component.text("Added"));
+
+        base.merge(added, MergeStrategy.override());
+
+        assertEquals(1, base.overlays().size());
+        assertEquals(List.of(OverlayEntry.of(legacy, "legacy")), base.overlaysMeta().entries());
+        assertEquals(Component.text("Added"), base.description());
+    }
+
+    @Test
+    void test_merge_reporting_collects_all_conflicts() {
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.unknownFile("te", TE);
+        base.texture(Texture.texture(Key.key("item/apple.png"), TE));
+
+        final ResourcePack added = ResourcePack.resourcePack();
+        added.unknownFile("te", AB);
+        added.unknownFile("ab", AB);
+        added.texture(Texture.texture(Key.key("item/apple.png"), AB));
+
+        final MergeReport report = base.mergeReporting(List.of(added), MergeStrategy.mergeAndFailOnError());
+
+        assertTrue(report.hasConflicts());
+        assertEquals(2, report.conflicts().size());
+        assertEquals(Texture.class, report.conflicts().get(0).type());
+        assertEquals("minecraft:item/apple.png", report.conflicts().get(0).key());
+        assertEquals(Writable.class, report.conflicts().get(1).type());
+        assertEquals("te", report.conflicts().get(1).key());
+
+        // conflicts keep the first resource, the rest is merged
+        assertEquals(TE, base.unknownFile("te"));
+        assertEquals(AB, base.unknownFile("ab"));
+        assertEquals(TE, base.texture(Key.key("item/apple.png")).data());
+    }
+
+    @Test
+    void test_merge_with_resolver() {
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.unknownFile("te", TE);
+        base.unknownFile("ab", TE);
+
+        final ResourcePack added = ResourcePack.resourcePack();
+        added.unknownFile("te", AB);
+        added.unknownFile("ab", AB);
+
+        // the resolver only applies to unknown files, the rest uses the fallback
+        final MergeStrategy strategy = MergeStrategy.mergeAndFailOnError()
+                .withResolver(Writable.class, (key, values, conflicts) -> key.equals("te") ? values.get(1) : values.get(0));
+        assertSame(MergeStrategy.mergeAndFailOnError(), strategy.fallback());
+
+        base.merge(added, strategy);
+        assertEquals(AB, base.unknownFile("te"));
+        assertEquals(TE, base.unknownFile("ab"));
+    }
+
+    @Test
+    void test_same_content_is_not_a_conflict() {
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.texture(Texture.texture(Key.key("item/apple.png"), Writable.stringUtf8("apple")));
+
+        final ResourcePack added = ResourcePack.resourcePack();
+        added.texture(Texture.texture(Key.key("item/apple.png"), Writable.stringUtf8("apple")));
+
+        assertFalse(base.mergeReporting(List.of(added), MergeStrategy.mergeAndFailOnError()).hasConflicts());
+        base.merge(added, MergeStrategy.mergeAndFailOnError());
+    }
+
+    @Test
+    void test_content_deduplication() {
+        final ResourcePack base = ResourcePack.resourcePack();
+        base.texture(Texture.texture(Key.key("item/apple.png"), Writable.stringUtf8("apple")));
+
+        final ResourcePack added = ResourcePack.resourcePack();
+        added.texture(Texture.texture(Key.key("item/green_apple.png"), Writable.stringUtf8("apple")));
+        added.texture(Texture.texture(Key.key("item/banana.png"), Writable.stringUtf8("banana")));
+
+        base.merge(added, MergeStrategy.mergeAndFailOnError().withContentDeduplication());
+
+        assertEquals(3, base.textures().size());
+        assertSame(base.texture(Key.key("item/apple.png")).data(), base.texture(Key.key("item/green_apple.png")).data());
+        assertNotSame(base.texture(Key.key("item/apple.png")).data(), base.texture(Key.key("item/banana.png")).data());
+    }
 }
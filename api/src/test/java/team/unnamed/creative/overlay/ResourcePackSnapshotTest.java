@@ -0,0 +1,139 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.texture.Texture;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResourcePackSnapshotTest {
+    private static final Writable TE = Writable.stringUtf8("te");
+    private static final Writable AB = Writable.stringUtf8("ab");
+
+    @Test
+    void test_snapshot_is_isolated() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.icon(TE);
+        pack.texture(Texture.texture(Key.key("item/apple.png"), TE));
+        pack.unknownFile("te", TE);
+
+        final Overlay overlay = Overlay.overlay("v20");
+        overlay.texture(Texture.texture(Key.key("item/apple.png"), AB));
+        pack.overlay(overlay);
+
+        final ResourcePack snapshot = pack.snapshot();
+        assertSame(snapshot, snapshot.snapshot());
+
+        // modify the live pack after taking the snapshot
+        pack.icon(AB);
+        pack.texture(Texture.texture(Key.key("item/banana.png"), AB));
+        pack.removeUnknownFile("te");
+        overlay.removeTexture(Key.key("item/apple.png"));
+        pack.textures().clear();
+
+        assertEquals(TE, snapshot.icon());
+        assertEquals(1, snapshot.textures().size());
+        assertNull(snapshot.texture(Key.key("item/banana.png")));
+        assertEquals(TE, snapshot.unknownFile("te"));
+
+        final Overlay overlaySnapshot = snapshot.overlay("v20");
+        assertNotNull(overlaySnapshot);
+        assertEquals(1, overlaySnapshot.textures().size());
+
+        assertEquals(0, pack.textures().size());
+        assertEquals(0, overlay.textures().size());
+    }
+
+    @Test
+    void test_views_taken_before_snapshot() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.texture(Texture.texture(Key.key("item/apple.png"), TE));
+        pack.texture(Texture.texture(Key.key("item/banana.png"), AB));
+        pack.unknownFile("te", TE);
+
+        final Collection<Texture> textures = pack.textures();
+        final Map<String, Writable> files = pack.unknownFiles();
+        final ResourcePack snapshot = pack.snapshot();
+
+        textures.clear();
+        files.put("ab", AB);
+        assertEquals(2, snapshot.textures().size());
+        assertEquals(Map.of("te", TE), snapshot.unknownFiles());
+
+        // and the views still see the live pack
+        pack.texture(Texture.texture(Key.key("item/apple.png"), TE));
+        assertEquals(1, textures.size());
+        assertEquals(2, files.size());
+
+        final ResourcePack other = pack.snapshot();
+        final Iterator<Texture> iterator = textures.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals(0, pack.textures().size());
+        assertEquals(1, other.textures().size());
+    }
+
+    @Test
+    void test_snapshot_is_immutable() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.unknownFile("te", TE);
+        pack.overlay(Overlay.overlay("v20"));
+
+        final ResourcePack snapshot = pack.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.unknownFile("ab", AB));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.icon(AB));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.unknownFiles().clear());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.textures().clear());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.merge(pack, MergeStrategy.override()));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.overlay("v20").unknownFile("ab", AB));
+    }
+
+    @Test
+    void test_copy_of_snapshot() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.unknownFile("te", TE);
+        final ResourcePack snapshot = pack.snapshot();
+
+        // a new version, based on the snapshot
+        final ResourcePack version = snapshot.copy();
+        version.unknownFile("ab", AB);
+
+        assertEquals(2, version.unknownFiles().size());
+        assertEquals(1, snapshot.unknownFiles().size());
+        assertEquals(1, pack.unknownFiles().size());
+    }
+}
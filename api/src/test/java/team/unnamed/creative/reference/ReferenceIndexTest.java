@@ -0,0 +1,123 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.reference;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.item.Item;
+import team.unnamed.creative.item.ItemModel;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.model.ModelTexture;
+import team.unnamed.creative.model.ModelTextures;
+import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.texture.Texture;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReferenceIndexTest {
+    private static final ResourceReference APPLE_ITEM = ResourceReference.reference(ResourceType.ITEM, Key.key("apple"));
+    private static final ResourceReference APPLE_MODEL = ResourceReference.reference(ResourceType.MODEL, Key.key("item/apple"));
+    private static final ResourceReference GENERATED_MODEL = ResourceReference.reference(ResourceType.MODEL, Key.key("item/generated"));
+    private static final ResourceReference APPLE_TEXTURE = ResourceReference.reference(ResourceType.TEXTURE, Key.key("item/apple.png"));
+    private static final ResourceReference GOLDEN_APPLE_TEXTURE = ResourceReference.reference(ResourceType.TEXTURE, Key.key("item/golden_apple.png"));
+
+    private static Model model(final Key texture) {
+        return Model.model()
+                .key(APPLE_MODEL.key())
+                .parent(GENERATED_MODEL.key())
+                .textures(ModelTextures.builder().layers(ModelTexture.ofKey(texture)).build())
+                .build();
+    }
+
+    @Test
+    void test_forward_and_reverse_references() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.item(Item.item(APPLE_ITEM.key(), ItemModel.reference(APPLE_MODEL.key())));
+        pack.model(model(Key.key("item/apple")));
+        pack.texture(Texture.texture(APPLE_TEXTURE.key(), Writable.EMPTY));
+
+        final ReferenceIndex index = ReferenceIndex.index(pack);
+
+        assertTrue(index.contains(APPLE_TEXTURE));
+        assertFalse(index.contains(GENERATED_MODEL));
+        assertEquals(Set.of(APPLE_MODEL), index.references(APPLE_ITEM));
+        assertEquals(Set.of(GENERATED_MODEL, APPLE_TEXTURE), index.references(APPLE_MODEL));
+        assertEquals(Set.of(APPLE_MODEL), index.referencedBy(APPLE_TEXTURE));
+        assertEquals(Set.of(APPLE_MODEL), index.referencedBy(GENERATED_MODEL));
+        assertEquals(Set.of(APPLE_ITEM), index.referencedBy(APPLE_MODEL));
+    }
+
+    @Test
+    void test_incremental_updates() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.item(Item.item(APPLE_ITEM.key(), ItemModel.reference(APPLE_MODEL.key())));
+        pack.model(model(Key.key("item/apple")));
+
+        final ReferenceIndex index = ReferenceIndex.index(pack);
+
+        // replace the model, now using another texture
+        pack.model(model(Key.key("item/golden_apple")));
+        index.refresh();
+        assertEquals(Set.of(), index.referencedBy(APPLE_TEXTURE));
+        assertEquals(Set.of(APPLE_MODEL), index.referencedBy(GOLDEN_APPLE_TEXTURE));
+
+        // remove the item
+        pack.removeItem(APPLE_ITEM.key());
+        index.update(APPLE_ITEM);
+        assertFalse(index.contains(APPLE_ITEM));
+        assertEquals(Set.of(), index.referencedBy(APPLE_MODEL));
+    }
+
+    @Test
+    void test_container_modifications_are_observed() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.model(model(Key.key("item/apple")));
+        pack.texture(Texture.texture(APPLE_TEXTURE.key(), Writable.EMPTY));
+
+        final ReferenceIndex index = ReferenceIndex.index(pack);
+        assertTrue(index.contains(APPLE_TEXTURE));
+
+        // no refresh needed for built-in containers
+        pack.item(Item.item(APPLE_ITEM.key(), ItemModel.reference(APPLE_MODEL.key())));
+        assertEquals(Set.of(APPLE_ITEM), index.referencedBy(APPLE_MODEL));
+
+        pack.textures().clear();
+        assertFalse(index.contains(APPLE_TEXTURE));
+
+        final ResourcePack other = ResourcePack.resourcePack();
+        other.model(model(Key.key("item/golden_apple")));
+        pack.merge(other, MergeStrategy.override());
+        assertEquals(Set.of(APPLE_MODEL), index.referencedBy(GOLDEN_APPLE_TEXTURE));
+        assertEquals(Set.of(), index.referencedBy(APPLE_TEXTURE));
+
+        pack.merge(ResourcePack.resourcePack(), MergeStrategy.mergeAndFailOnError());
+        assertEquals(Set.of(APPLE_MODEL), index.referencedBy(GOLDEN_APPLE_TEXTURE));
+    }
+}
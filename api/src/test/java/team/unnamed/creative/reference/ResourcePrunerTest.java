@@ -0,0 +1,132 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.reference;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.base.KeyPattern;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.item.Item;
+import team.unnamed.creative.item.ItemModel;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.model.ModelTexture;
+import team.unnamed.creative.model.ModelTextures;
+import team.unnamed.creative.texture.Texture;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResourcePrunerTest {
+
+    private static Model model(final Key key, final Key texture) {
+        return Model.model()
+                .key(key)
+                .textures(ModelTextures.builder().layers(ModelTexture.ofKey(texture)).build())
+                .build();
+    }
+
+    private static Texture texture(final String key) {
+        return Texture.texture(Key.key(key), Writable.EMPTY);
+    }
+
+    @Test
+    void test_prune() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+
+        // reachable from an item
+        pack.item(Item.item(Key.key("custom", "ruby"), ItemModel.reference(Key.key("custom", "item/ruby"))));
+        pack.model(model(Key.key("custom", "item/ruby"), Key.key("custom", "item/ruby")));
+        pack.texture(texture("custom:item/ruby.png"));
+
+        // unreachable
+        pack.model(model(Key.key("custom", "item/old_ruby"), Key.key("custom", "item/old_ruby")));
+        pack.texture(texture("custom:item/old_ruby.png"));
+
+        // vanilla resources are always roots
+        pack.model(model(Key.key("item/diamond"), Key.key("item/diamond")));
+        pack.texture(texture("item/diamond.png"));
+
+        // stitched by an atlas, except the filtered one
+        pack.atlas(Atlas.atlas(Key.key("custom", "gui"), List.of(
+                AtlasSource.directory("gui", "gui/"),
+                AtlasSource.filter(KeyPattern.of("custom", "gui/unused"))
+        )));
+        pack.texture(texture("custom:gui/button.png"));
+        pack.texture(texture("custom:gui/unused.png"));
+
+        final Set<ResourceReference> removed = ResourcePruner.prune(pack);
+
+        assertEquals(Set.of(
+                ResourceReference.reference(ResourceType.MODEL, Key.key("custom", "item/old_ruby")),
+                ResourceReference.reference(ResourceType.TEXTURE, Key.key("custom", "item/old_ruby.png")),
+                ResourceReference.reference(ResourceType.TEXTURE, Key.key("custom", "gui/unused.png"))
+        ), removed);
+
+        assertNull(pack.model(Key.key("custom", "item/old_ruby")));
+        assertNull(pack.texture(Key.key("custom", "gui/unused.png")));
+        assertNotNull(pack.texture(Key.key("custom", "item/ruby.png")));
+        assertNotNull(pack.texture(Key.key("custom", "gui/button.png")));
+        assertNotNull(pack.model(Key.key("item/diamond")));
+        assertEquals(3, pack.textures().size());
+    }
+
+    @Test
+    void test_directory_sources_only_stitch_their_folder() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.atlas(Atlas.atlas(Key.key("custom", "gui"), List.of(
+                AtlasSource.directory("gui", "gui/"),
+                AtlasSource.directory("icons", "")
+        )));
+
+        // inside the folders, in any namespace and nested folder
+        pack.texture(texture("custom:gui/button.png"));
+        pack.texture(texture("other:gui/button.png"));
+        pack.texture(texture("custom:gui/slots/empty.png"));
+        pack.texture(texture("custom:icons/heart.png"));
+
+        // outside the folders, sorted right before and after them
+        pack.texture(texture("custom:gui.png"));
+        pack.texture(texture("custom:gui-old/button.png"));
+        pack.texture(texture("custom:gui0/button.png"));
+        pack.texture(texture("custom:icon/heart.png"));
+        pack.texture(texture("custom:iconsx/heart.png"));
+
+        final Set<ResourceReference> unreachable = ResourcePruner.unreachable(pack);
+
+        assertEquals(Set.of(
+                ResourceReference.reference(ResourceType.TEXTURE, Key.key("custom", "gui.png")),
+                ResourceReference.reference(ResourceType.TEXTURE, Key.key("custom", "gui-old/button.png")),
+                ResourceReference.reference(ResourceType.TEXTURE, Key.key("custom", "gui0/button.png")),
+                ResourceReference.reference(ResourceType.TEXTURE, Key.key("custom", "icon/heart.png")),
+                ResourceReference.reference(ResourceType.TEXTURE, Key.key("custom", "iconsx/heart.png"))
+        ), unreachable);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.metadata.animation.AnimationFrame;
+import team.unnamed.creative.metadata.animation.AnimationMeta;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnimationDeduplicatorTest {
+    private static final int SIZE = 16;
+
+    /**
+     * Creates a vertical strip with the given frame colors, frames
+     * have some noise so that they are not trivially compressible.
+     */
+    private static Writable strip(final int... colors) {
+        final int[] pixels = new int[SIZE * SIZE * colors.length];
+        for (int frame = 0; frame < colors.length; frame++) {
+            for (int i = 0; i < SIZE * SIZE; i++) {
+                pixels[frame * SIZE * SIZE + i] = colors[frame] ^ (int) (i * 2654435761L >>> 12 & 0xFF);
+            }
+        }
+        return TextureImage.image(SIZE, SIZE * colors.length, pixels).encode();
+    }
+
+    @Test
+    void test_deduplicate_default_sequence() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.texture(Texture.texture()
+                .key(Key.key("block/blinking.png"))
+                .data(strip(0xFFFF0000, 0xFFFF0000, 0xFF00FF00, 0xFFFF0000, 0xFF00FF00, 0xFF00FF00))
+                .animationMeta(AnimationMeta.animation().frameTime(2).build())
+                .build());
+
+        final OptimizationReport report = AnimationDeduplicator.deduplicate(pack);
+        assertEquals(1, report.optimizedTextures());
+
+        final Texture texture = pack.texture(Key.key("block/blinking.png"));
+        assertEquals(SIZE * 2, texture.height());
+        final AnimationMeta animation = texture.meta().meta(AnimationMeta.class);
+        assertEquals(2, animation.frameTime());
+        assertEquals(List.of(
+                AnimationFrame.frame(0, 4),
+                AnimationFrame.frame(1),
+                AnimationFrame.frame(0),
+                AnimationFrame.frame(1, 4)
+        ), animation.frames());
+    }
+
+    @Test
+    void test_deduplicate_explicit_sequence() {
+        final Texture texture = Texture.texture()
+                .key(Key.key("block/unused.png"))
+                .data(strip(0xFF0000FF, 0xFFFFFF00, 0xFF0000FF, 0xFF00FFFF))
+                .animationMeta(AnimationMeta.animation()
+                        .frames(AnimationFrame.frame(2, 5), AnimationFrame.frame(1), AnimationFrame.frame(0, 3))
+                        .build())
+                .build();
+
+        final Texture deduplicated = AnimationDeduplicator.deduplicate(texture);
+        // frame 3 is unused and frames 0 and 2 are equal
+        assertEquals(SIZE * 2, deduplicated.height());
+        assertEquals(List.of(
+                AnimationFrame.frame(0, 5),
+                AnimationFrame.frame(1),
+                AnimationFrame.frame(0, 3)
+        ), deduplicated.meta().meta(AnimationMeta.class).frames());
+        assertEquals(texture.image().subImage(0, SIZE, SIZE, SIZE), deduplicated.image().subImage(0, SIZE, SIZE, SIZE));
+    }
+
+    @Test
+    void test_interpolated_entries_are_not_joined() {
+        final Texture texture = Texture.texture()
+                .key(Key.key("block/glowing.png"))
+                .data(strip(0xFFFF0000, 0xFFFF0000, 0xFF00FF00))
+                .animationMeta(AnimationMeta.animation().interpolate(true).frameTime(2).build())
+                .build();
+
+        final Texture deduplicated = AnimationDeduplicator.deduplicate(texture);
+        assertEquals(SIZE * 2, deduplicated.height());
+        final AnimationMeta animation = deduplicated.meta().meta(AnimationMeta.class);
+        assertTrue(animation.interpolate());
+        // the first frame is shown, then blended towards the second one
+        assertEquals(List.of(
+                AnimationFrame.frame(0),
+                AnimationFrame.frame(0),
+                AnimationFrame.frame(1)
+        ), animation.frames());
+    }
+
+    @Test
+    void test_distinct_frames_are_kept() {
+        final Texture texture = Texture.texture()
+                .key(Key.key("block/distinct.png"))
+                .data(strip(0xFF0000FF, 0xFFFFFF00))
+                .animationMeta(AnimationMeta.animation().build())
+                .build();
+        assertSame(texture, AnimationDeduplicator.deduplicate(texture));
+    }
+}
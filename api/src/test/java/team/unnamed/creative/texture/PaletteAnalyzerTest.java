@@ -0,0 +1,147 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.atlas.PalettedPermutationsAtlasSource;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.font.FontProvider;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaletteAnalyzerTest {
+    private static final int SIZE = 32;
+
+    /**
+     * Creates a noisy texture using the given colors, the same
+     * colors are always at the same positions.
+     */
+    private static TextureImage image(final int... colors) {
+        final int[] pixels = new int[SIZE * SIZE];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = colors[(int) (i * 2654435761L >>> 13) % colors.length];
+        }
+        return TextureImage.image(SIZE, SIZE, pixels);
+    }
+
+    private static Texture texture(final String key, final TextureImage image) {
+        return Texture.texture(Key.key(key), image.encode());
+    }
+
+    private static final int[] WOOL = { 0xFFEEEEEE, 0xFFDDDDDD, 0xFFCCCCCC, 0xFFBBBBBB, 0xFF000000, 0x00000000 };
+    private static final int[] RED = { 0xFFEE0000, 0xFFDD0000, 0xFFCC0000, 0xFFBB0000, 0xFF000000, 0x00000000 };
+    private static final int[] BLUE = { 0xFF0000EE, 0xFF0000DD, 0xFF0000CC, 0xFF0000BB, 0xFF000000, 0x00000000 };
+
+    @Test
+    void test_analyze() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.texture(texture("block/wool.png", image(WOOL)));
+        pack.texture(texture("block/wool_red.png", image(RED)));
+        pack.texture(texture("block/wool_blue.png", image(BLUE)));
+        // same colors in different positions
+        pack.texture(texture("block/stone.png", image(0xFF777777, 0xFF888888)));
+        // merges two colors, not a permutation
+        pack.texture(texture("block/wool_gray.png", image(0xFF555555, 0xFF555555, 0xFF444444, 0xFF333333, 0xFF000000, 0x00000000)));
+
+        final List<PermutationGroup> groups = PaletteAnalyzer.analyze(pack);
+        assertEquals(1, groups.size());
+        final PermutationGroup group = groups.get(0);
+        assertEquals(Key.key("block/wool.png"), group.base());
+        assertEquals(3, group.textures().size());
+        assertEquals(Map.of(
+                "red", Key.key("block/wool_red.png"),
+                "blue", Key.key("block/wool_blue.png")
+        ), group.permutations());
+        assertTrue(group.savings() > 0);
+    }
+
+    @Test
+    void test_compact() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.texture(texture("block/wool.png", image(WOOL)));
+        pack.texture(texture("block/wool_red.png", image(RED)));
+        pack.texture(texture("block/wool_blue.png", image(BLUE)));
+        pack.atlas(Atlas.atlas(Key.key("blocks"), List.of(
+                AtlasSource.directory("block", "block/"),
+                AtlasSource.single(Key.key("block/wool_red"))
+        )));
+
+        final OptimizationReport report = PaletteAnalyzer.compact(pack, Key.key("blocks"));
+        assertEquals(3, report.processedTextures());
+        assertEquals(2, report.optimizedTextures());
+        assertTrue(report.savedBytes() > 0);
+
+        assertNotNull(pack.texture(Key.key("block/wool.png")));
+        assertNull(pack.texture(Key.key("block/wool_red.png")));
+        assertNull(pack.texture(Key.key("block/wool_blue.png")));
+
+        final Atlas atlas = pack.atlas(Key.key("blocks"));
+        assertEquals(2, atlas.sources().size());
+        final PalettedPermutationsAtlasSource source = (PalettedPermutationsAtlasSource) atlas.sources().get(1);
+        assertEquals(List.of(Key.key("block/wool")), source.textures());
+
+        // generate the permutations the same way the client does
+        final TextureImage base = pack.texture(Key.key("block/wool.png")).image();
+        final TextureImage key = pack.texture(Key.key(source.paletteKey().value() + ".png")).image();
+        final Map<String, int[]> expected = Map.of("red", RED, "blue", BLUE);
+        for (final Map.Entry<String, Key> entry : source.permutations().entrySet()) {
+            final TextureImage palette = pack.texture(Key.key(entry.getValue().value() + ".png")).image();
+            final int[] pixels = base.pixels();
+            for (int i = 0; i < pixels.length; i++) {
+                for (int j = 0; j < key.width(); j++) {
+                    if (pixels[i] >>> 24 != 0 && (pixels[i] & 0xFFFFFF) == (key.pixel(j, 0) & 0xFFFFFF)) {
+                        pixels[i] = pixels[i] & 0xFF000000 | palette.pixel(j, 0) & 0xFFFFFF;
+                        break;
+                    }
+                }
+            }
+            assertEquals(image(expected.get(entry.getKey())), TextureImage.image(SIZE, SIZE, pixels));
+        }
+    }
+
+    @Test
+    void test_font_textures_are_kept() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.texture(texture("font/digit.png", image(WOOL)));
+        pack.texture(texture("font/digit_red.png", image(RED)));
+        pack.font(Font.font(Key.key("default"),
+                FontProvider.bitMap(Key.key("font/digit_red.png"), 8, 7, List.of("a"))));
+
+        final PermutationGroup group = PaletteAnalyzer.analyze(pack).get(0);
+        assertEquals(Key.key("font/digit.png"), group.base());
+        assertTrue(group.permutations().isEmpty());
+        assertEquals(0, PaletteAnalyzer.compact(pack, Key.key("blocks")).optimizedTextures());
+        assertNull(pack.atlas(Key.key("blocks")));
+    }
+}
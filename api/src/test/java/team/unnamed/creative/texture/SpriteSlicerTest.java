@@ -0,0 +1,89 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.atlas.UnstitchAtlasSource;
+import team.unnamed.creative.base.Vector2Float;
+import team.unnamed.creative.base.Writable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpriteSlicerTest {
+
+    private static Texture sheet(final int width, final int height, final int[]... rectangles) {
+        final int[] pixels = new int[width * height];
+        for (final int[] rectangle : rectangles) {
+            for (int y = rectangle[1]; y < rectangle[1] + rectangle[3]; y++) {
+                for (int x = rectangle[0]; x < rectangle[0] + rectangle[2]; x++) {
+                    pixels[y * width + x] = 0xFFFFFFFF;
+                }
+            }
+        }
+        return Texture.texture(Key.key("gui/icons.png"), Writable.EMPTY).image(TextureImage.image(width, height, pixels));
+    }
+
+    private static UnstitchAtlasSource.Region region(final String name, final int x, final int y, final int width, final int height) {
+        return UnstitchAtlasSource.Region.region(Key.key(name), new Vector2Float(x, y), new Vector2Float(width, height));
+    }
+
+    @Test
+    void test_grid() {
+        // cells 0 and 3 have content
+        final Texture sheet = sheet(32, 32, new int[] { 2, 2, 4, 4 }, new int[] { 20, 30, 1, 1 });
+
+        final UnstitchAtlasSource source = SpriteSlicer.grid(sheet, 16, 16);
+
+        assertEquals(Key.key("gui/icons"), source.resource());
+        assertEquals(new Vector2Float(32, 32), source.divisor());
+        assertEquals(List.of(
+                region("gui/icons_0", 0, 0, 16, 16),
+                region("gui/icons_3", 16, 16, 16, 16)
+        ), source.regions());
+    }
+
+    @Test
+    void test_alpha_bounded() {
+        final Texture sheet = sheet(64, 32,
+                // an L shape, connected diagonally to a dot
+                new int[] { 1, 1, 2, 10 }, new int[] { 1, 10, 8, 1 }, new int[] { 9, 11, 1, 1 },
+                // a frame with a separate dot inside, joined by overlap
+                new int[] { 30, 2, 10, 1 }, new int[] { 30, 11, 10, 1 }, new int[] { 30, 2, 1, 10 },
+                new int[] { 39, 2, 1, 10 }, new int[] { 34, 6, 1, 1 },
+                // a separate sprite below
+                new int[] { 5, 20, 3, 3 }
+        );
+
+        final UnstitchAtlasSource source = SpriteSlicer.alphaBounded(sheet, index -> Key.key("sprite_" + index));
+
+        assertEquals(List.of(
+                region("sprite_0", 1, 1, 9, 11),
+                region("sprite_1", 30, 2, 10, 10),
+                region("sprite_2", 5, 20, 3, 3)
+        ), source.regions());
+    }
+}
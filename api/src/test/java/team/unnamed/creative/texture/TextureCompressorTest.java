@@ -0,0 +1,116 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextureCompressorTest {
+
+    /**
+     * Writes an unfiltered, poorly compressed 8-bit RGBA image
+     * with an ancillary chunk.
+     */
+    private static byte[] unoptimized(final int width, final int height, final int[] pixels) {
+        final byte[] raw = new byte[(width * 4 + 1) * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int argb = pixels[y * width + x];
+                final int offset = y * (width * 4 + 1) + 1 + x * 4;
+                raw[offset] = (byte) (argb >>> 16);
+                raw[offset + 1] = (byte) (argb >>> 8);
+                raw[offset + 2] = (byte) argb;
+                raw[offset + 3] = (byte) (argb >>> 24);
+            }
+        }
+        final byte[] header = new byte[13];
+        PngCodec.writeInt(header, 0, width);
+        PngCodec.writeInt(header, 4, height);
+        header[8] = 8;
+        header[9] = 6;
+        final ByteArrayOutputStream png = new ByteArrayOutputStream();
+        png.writeBytes(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+        PngCodec.writeChunk(png, PngCodec.IHDR, header);
+        PngCodec.writeChunk(png, ('t' << 24) | ('E' << 16) | ('X' << 8) | 't', "Comment\0exported by some editor".getBytes());
+        PngCodec.writeChunk(png, PngCodec.IDAT, PngCodec.deflate(raw, Deflater.BEST_SPEED));
+        PngCodec.writeChunk(png, PngCodec.IEND, new byte[0]);
+        return png.toByteArray();
+    }
+
+    @Test
+    void test_lossless_recompression() throws Exception {
+        final int[] gradient = new int[32 * 32];
+        final int[] paletted = new int[32 * 32];
+        int seed = 42;
+        for (int i = 0; i < gradient.length; i++) {
+            gradient[i] = 0xFF000000 | (i % 32) * 8 << 16 | (i / 32) * 8 << 8 | 0x40;
+            // noisy, so that the palette matters
+            seed = seed * 1103515245 + 12345;
+            final int color = (seed >>> 16) % 3;
+            paletted[i] = color == 0 ? 0x00000000 : color == 1 ? 0xFFFF0000 : 0x80FFFFFF;
+        }
+
+        final ResourcePack pack = ResourcePack.resourcePack();
+        final byte[] original = unoptimized(32, 32, gradient);
+        pack.texture(Texture.texture(Key.key("gradient.png"), Writable.bytes(original)));
+        pack.texture(Texture.texture(Key.key("paletted.png"), Writable.bytes(unoptimized(32, 32, paletted))));
+        pack.texture(Texture.texture(Key.key("invalid.png"), Writable.stringUtf8("not a png")));
+
+        final OptimizationReport report = TextureCompressor.compress(pack);
+        assertEquals(3, report.processedTextures());
+        assertEquals(2, report.optimizedTextures());
+        assertTrue(report.savedBytes() > 0);
+
+        final Texture gradientTexture = pack.texture(Key.key("gradient.png"));
+        assertEquals(PngHeader.ColorType.RGB, gradientTexture.header().colorType());
+        assertTrue(gradientTexture.data().toByteArray().length < original.length);
+        assertArrayEquals(gradient, gradientTexture.image().pixels());
+
+        final Texture palettedTexture = pack.texture(Key.key("paletted.png"));
+        assertEquals(PngHeader.ColorType.PALETTE, palettedTexture.header().colorType());
+        assertEquals(2, palettedTexture.header().bitDepth());
+        assertArrayEquals(paletted, palettedTexture.image().pixels());
+    }
+
+    @Test
+    void test_grayscale() {
+        final int[] pixels = new int[16 * 16];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = i % 2 == 0 ? 0xFF000000 : 0xFFFFFFFF;
+        }
+        final Texture texture = TextureCompressor.compress(Texture.texture(Key.key("checker.png"), Writable.bytes(unoptimized(16, 16, pixels))));
+        // two colors, either 1-bit palette or 1-bit grayscale
+        assertEquals(1, texture.header().bitDepth());
+        assertArrayEquals(pixels, texture.image().pixels());
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextureImageTest {
+    private static final int[] PIXELS = { 0xFFFF0000, 0x8000FF00, 0x00000000, 0xFF0000FF, 0x12345678, 0xFFFFFFFF };
+
+    @Test
+    void test_round_trip() {
+        final TextureImage image = TextureImage.image(3, 2, PIXELS);
+        final Texture texture = Texture.texture(Key.key("test.png"), Writable.EMPTY).image(image);
+
+        assertEquals(3, texture.width());
+        assertEquals(2, texture.height());
+        assertEquals(PngHeader.ColorType.PALETTE, texture.header().colorType());
+        assertEquals(image, texture.image());
+        assertArrayEquals(PIXELS, texture.image().pixels());
+        assertEquals(TextureImage.image(1, 2, new int[] { 0x8000FF00, 0x12345678 }), image.subImage(1, 0, 1, 2));
+    }
+
+    @Test
+    void test_header_only_reads_first_chunk() throws Exception {
+        final byte[] data = TextureImage.image(3, 2, PIXELS).encode().toByteArray();
+        final int[] written = { 0 };
+        final Writable writable = output -> {
+            for (final byte b : data) {
+                output.write(b);
+                written[0]++;
+            }
+        };
+
+        final PngHeader header = Texture.texture(Key.key("test.png"), writable).header();
+        assertEquals(3, header.width());
+        assertFalse(header.interlaced());
+        assertTrue(written[0] < data.length);
+    }
+
+    @Test
+    void test_paletted_with_transparency() {
+        // 2x2, 2-bit palette, first entry is transparent
+        final ByteArrayOutputStream png = new ByteArrayOutputStream();
+        png.writeBytes(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+        chunk(png, PngCodec.IHDR, new byte[] { 0, 0, 0, 2, 0, 0, 0, 2, 2, 3, 0, 0, 0 });
+        chunk(png, PngCodec.PLTE, new byte[] { 0, 0, 0, (byte) 255, 0, 0, 0, (byte) 255, 0 });
+        chunk(png, PngCodec.TRNS, new byte[] { 0 });
+        // rows: [0, 1] and [2, 1], no filter
+        chunk(png, PngCodec.IDAT, PngCodec.deflate(new byte[] { 0, 0b0001_0000, 0, (byte) 0b1001_0000 }, Deflater.DEFAULT_COMPRESSION));
+        chunk(png, PngCodec.IEND, new byte[0]);
+
+        final Texture texture = Texture.texture(Key.key("paletted.png"), Writable.bytes(png.toByteArray()));
+        assertEquals(PngHeader.ColorType.PALETTE, texture.header().colorType());
+        assertEquals(2, texture.header().bitDepth());
+
+        final List<int[]> rows = new ArrayList<>();
+        texture.readScanlines((y, pixels) -> rows.add(pixels.clone()));
+        assertArrayEquals(new int[] { 0x00000000, 0xFFFF0000 }, rows.get(0));
+        assertArrayEquals(new int[] { 0xFF00FF00, 0xFFFF0000 }, rows.get(1));
+    }
+
+    @Test
+    void test_interlaced_grayscale_with_transparency() {
+        // 3x3, 8-bit grayscale, Adam7 interlaced, gray 0 is transparent
+        final ByteArrayOutputStream png = new ByteArrayOutputStream();
+        png.writeBytes(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+        chunk(png, PngCodec.IHDR, new byte[] { 0, 0, 0, 3, 0, 0, 0, 3, 8, 0, 0, 0, 1 });
+        chunk(png, PngCodec.TRNS, new byte[] { 0, 0 });
+        // gray of (x, y) is (y * 3 + x) * 20, passes 2 and 3 are empty
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        data.writeBytes(filter(1, new byte[][] { { 0 } }, 0));
+        data.writeBytes(filter(1, new byte[][] { { 40 } }, 1));
+        data.writeBytes(filter(1, new byte[][] { { 120, (byte) 160 } }, 2));
+        data.writeBytes(filter(1, new byte[][] { { 20 }, { (byte) 140 } }, 3));
+        data.writeBytes(filter(1, new byte[][] { { 60, 80, 100 } }, 4));
+        chunk(png, PngCodec.IDAT, PngCodec.deflate(data.toByteArray(), Deflater.DEFAULT_COMPRESSION));
+        chunk(png, PngCodec.IEND, new byte[0]);
+
+        final Texture texture = Texture.texture(Key.key("interlaced.png"), Writable.bytes(png.toByteArray()));
+        assertTrue(texture.header().interlaced());
+
+        final List<int[]> rows = new ArrayList<>();
+        texture.readScanlines((y, pixels) -> rows.add(pixels.clone()));
+        assertEquals(3, rows.size());
+        assertArrayEquals(new int[] { 0x00000000, 0xFF141414, 0xFF282828 }, rows.get(0));
+        assertArrayEquals(new int[] { 0xFF3C3C3C, 0xFF505050, 0xFF646464 }, rows.get(1));
+        assertArrayEquals(new int[] { 0xFF787878, 0xFF8C8C8C, 0xFFA0A0A0 }, rows.get(2));
+    }
+
+    @Test
+    void test_16_bit_rgba() {
+        // 2x3, 16-bit RGBA, samples are reduced to their high byte
+        final ByteArrayOutputStream png = new ByteArrayOutputStream();
+        png.writeBytes(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+        chunk(png, PngCodec.IHDR, new byte[] { 0, 0, 0, 2, 0, 0, 0, 3, 16, 6, 0, 0, 0 });
+        final byte[][] rows = {
+                { 0x12, 0x01, 0x34, 0x02, 0x56, 0x03, (byte) 0xFF, 0x04, 0x10, (byte) 0xFF, 0x20, (byte) 0xEE, 0x30, (byte) 0xDD, (byte) 0x80, 0x00 },
+                { (byte) 0xA0, 0x00, (byte) 0xB0, 0x00, (byte) 0xC0, 0x00, 0x7F, (byte) 0xFF, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 },
+                { (byte) 0xFE, 0x12, 0x01, 0x34, (byte) 0x9A, 0x56, 0x40, 0x78, 0x33, 0x00, 0x44, 0x00, 0x55, 0x00, 0x66, 0x00 }
+        };
+        // Up, Average and Paeth filters
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        data.writeBytes(filter(8, rows, 2));
+        chunk(png, PngCodec.IDAT, PngCodec.deflate(data.toByteArray(), Deflater.DEFAULT_COMPRESSION));
+        chunk(png, PngCodec.IEND, new byte[0]);
+
+        final Texture texture = Texture.texture(Key.key("deep.png"), Writable.bytes(png.toByteArray()));
+        assertEquals(PngHeader.ColorType.RGBA, texture.header().colorType());
+        assertEquals(16, texture.header().bitDepth());
+
+        final List<int[]> decoded = new ArrayList<>();
+        texture.readScanlines((y, pixels) -> decoded.add(pixels.clone()));
+        assertArrayEquals(new int[] { 0xFF123456, 0x80102030 }, decoded.get(0));
+        assertArrayEquals(new int[] { 0x7FA0B0C0, 0x00000000 }, decoded.get(1));
+        assertArrayEquals(new int[] { 0x40FE019A, 0x66334455 }, decoded.get(2));
+    }
+
+    @Test
+    void test_rgb_with_transparency() {
+        // 2x2, 8-bit RGB, red is transparent
+        final ByteArrayOutputStream png = new ByteArrayOutputStream();
+        png.writeBytes(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+        chunk(png, PngCodec.IHDR, new byte[] { 0, 0, 0, 2, 0, 0, 0, 2, 8, 2, 0, 0, 0 });
+        chunk(png, PngCodec.TRNS, new byte[] { 0, (byte) 255, 0, 0, 0, 0 });
+        final byte[][] rows = {
+                { (byte) 255, 0, 0, 0, (byte) 255, 0 },
+                { 0, 0, (byte) 255, (byte) 255, 0, 0 }
+        };
+        chunk(png, PngCodec.IDAT, PngCodec.deflate(filter(3, rows, 3), Deflater.DEFAULT_COMPRESSION));
+        chunk(png, PngCodec.IEND, new byte[0]);
+
+        final Texture texture = Texture.texture(Key.key("rgb.png"), Writable.bytes(png.toByteArray()));
+        final List<int[]> decoded = new ArrayList<>();
+        texture.readScanlines((y, pixels) -> decoded.add(pixels.clone()));
+        assertArrayEquals(new int[] { 0x00FF0000, 0xFF00FF00 }, decoded.get(0));
+        assertArrayEquals(new int[] { 0xFF0000FF, 0x00FF0000 }, decoded.get(1));
+    }
+
+    @Test
+    void test_invalid() {
+        final Texture texture = Texture.texture(Key.key("invalid.png"), Writable.stringUtf8("not a png"));
+        assertThrows(UncheckedIOException.class, texture::header);
+        assertThrows(UncheckedIOException.class, texture::image);
+    }
+
+    /**
+     * Filters the given rows of a pass, the filter type starts with the
+     * given one and changes with each row (0: None, 1: Sub, 2: Up,
+     * 3: Average, 4: Paeth).
+     */
+    private static byte[] filter(final int bytesPerPixel, final byte[][] rows, final int firstFilter) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] previous = new byte[rows[0].length];
+        for (int y = 0; y < rows.length; y++) {
+            final byte[] row = rows[y];
+            final int filter = (firstFilter + y) % 5;
+            output.write(filter);
+            for (int i = 0; i < row.length; i++) {
+                final int left = i >= bytesPerPixel ? row[i - bytesPerPixel] & 0xFF : 0;
+                final int up = previous[i] & 0xFF;
+                final int upLeft = i >= bytesPerPixel ? previous[i - bytesPerPixel] & 0xFF : 0;
+                final int predictor = switch (filter) {
+                    case 1 -> left;
+                    case 2 -> up;
+                    case 3 -> (left + up) / 2;
+                    case 4 -> paeth(left, up, upLeft);
+                    default -> 0;
+                };
+                output.write(row[i] - predictor);
+            }
+            previous = row;
+        }
+        return output.toByteArray();
+    }
+
+    private static int paeth(final int left, final int up, final int upLeft) {
+        final int estimate = left + up - upLeft;
+        final int toLeft = Math.abs(estimate - left);
+        final int toUp = Math.abs(estimate - up);
+        final int toUpLeft = Math.abs(estimate - upLeft);
+        if (toLeft <= toUp && toLeft <= toUpLeft) {
+            return left;
+        }
+        return toUp <= toUpLeft ? up : upLeft;
+    }
+
+    private static void chunk(final OutputStream output, final int type, final byte[] data) {
+        PngCodec.writeChunk(output, type, data);
+    }
+}
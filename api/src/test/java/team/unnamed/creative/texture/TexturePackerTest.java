@@ -0,0 +1,118 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.atlas.UnstitchAtlasSource;
+import team.unnamed.creative.base.Vector2Float;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.font.BitMapFontProvider;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.font.FontProvider;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TexturePackerTest {
+
+    private static Writable png(final int width, final int height, final int color) {
+        final int[] pixels = new int[width * height];
+        Arrays.fill(pixels, color);
+        return TextureImage.image(width, height, pixels).encode();
+    }
+
+    @Test
+    void test_pack_fonts() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.texture(Texture.texture(Key.key("font/a.png"), png(16, 8, 0xFFFF0000)));
+        pack.texture(Texture.texture(Key.key("font/b.png"), png(8, 8, 0xFF00FF00)));
+        pack.font(Font.font(Key.key("icons"), List.of(
+                FontProvider.bitMap().file(Key.key("font/a.png")).height(8).ascent(7).characters("").build(),
+                FontProvider.bitMap().file(Key.key("font/b.png")).height(8).ascent(7).characters("").build()
+        )));
+
+        final PackingReport report = TexturePacker.packFonts(pack);
+
+        final Key sheet = Key.key("creative", "font/sheet_0.png");
+        assertEquals(List.of(sheet), report.sheets());
+        assertEquals(2, report.packedTextures());
+        assertEquals(0.75D, report.efficiency());
+        assertNull(pack.texture(Key.key("font/a.png")));
+
+        final List<FontProvider> providers = pack.font(Key.key("icons")).providers();
+        assertEquals(List.of("", "\u0000\u0000"), ((BitMapFontProvider) providers.get(0)).characters());
+        assertEquals(List.of("\u0000\u0000", "\u0000"), ((BitMapFontProvider) providers.get(1)).characters());
+        assertEquals(sheet, ((BitMapFontProvider) providers.get(1)).file());
+
+        final TextureImage image = pack.texture(sheet).image();
+        assertEquals(16, image.width());
+        assertEquals(16, image.height());
+        assertEquals(0xFFFF0000, image.pixel(0, 0));
+        assertEquals(0xFF00FF00, image.pixel(0, 8));
+    }
+
+    @Test
+    void test_pack_atlas() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.texture(Texture.texture(Key.key("gui/big.png"), png(16, 16, 0xFFFF0000)));
+        pack.texture(Texture.texture(Key.key("gui/small.png"), png(8, 8, 0xFF00FF00)));
+        pack.texture(Texture.texture(Key.key("gui/icons.png"), png(8, 8, 0xFF0000FF)));
+        pack.atlas(Atlas.atlas(Key.key("gui"), List.of(
+                AtlasSource.single(Key.key("gui/big")),
+                AtlasSource.single(Key.key("gui/small")),
+                AtlasSource.single(Key.key("gui/icons"))
+        )));
+        // also used by a font, so it is not packed
+        pack.font(Font.font(Key.key("icons"), FontProvider.bitMap(Key.key("gui/icons.png"), 8, 7, List.of("a"))));
+
+        final PackingReport report = TexturePacker.packAtlas(pack, Key.key("gui"),
+                List.of(Key.key("gui/big"), Key.key("gui/small"), Key.key("gui/icons")), Key.key("packed/gui"));
+
+        assertEquals(2, report.packedTextures());
+        assertNull(pack.texture(Key.key("gui/small.png")));
+        assertNotNull(pack.texture(Key.key("gui/icons.png")));
+
+        final List<AtlasSource> sources = pack.atlas(Key.key("gui")).sources();
+        assertEquals(List.of(AtlasSource.single(Key.key("gui/icons"))), sources.subList(0, 1));
+        assertEquals(2, sources.size());
+        final UnstitchAtlasSource unstitch = (UnstitchAtlasSource) sources.get(1);
+        assertEquals(Key.key("packed/gui"), unstitch.resource());
+        assertEquals(new Vector2Float(32, 16), unstitch.divisor());
+        assertEquals(List.of(
+                UnstitchAtlasSource.Region.region(Key.key("gui/big"), new Vector2Float(0, 0), new Vector2Float(16, 16)),
+                UnstitchAtlasSource.Region.region(Key.key("gui/small"), new Vector2Float(16, 0), new Vector2Float(8, 8))
+        ), unstitch.regions());
+
+        final TextureImage image = pack.texture(Key.key("packed/gui.png")).image();
+        assertEquals(0xFF00FF00, image.pixel(16, 0));
+    }
+}
@@ -29,6 +29,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -144,6 +145,45 @@ public final class GsonUtil {
         );
     }
 
+    /*
+     * Streaming counterparts of the tree-based getters above, they
+     * accept the same token types so both paths behave the same
+     */
+    public static boolean nextBoolean(JsonReader reader, String key) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        } else if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        } else {
+            throw new IllegalStateException("Field '" + key + "' must be a boolean");
+        }
+    }
+
+    public static int nextInt(JsonReader reader, String key) throws IOException {
+        if (reader.peek() != JsonToken.NUMBER) {
+            throw new IllegalStateException("Field '" + key + "' must be an integer");
+        }
+        return reader.nextInt();
+    }
+
+    public static float nextFloat(JsonReader reader) throws IOException {
+        return (float) reader.nextDouble();
+    }
+
+    public static Vector3Float readVector3Float(JsonReader reader) throws IOException {
+        reader.beginArray();
+        float x = nextFloat(reader);
+        float y = nextFloat(reader);
+        float z = nextFloat(reader);
+        while (reader.hasNext()) {
+            // ignore extra values, like the tree-based reader
+            reader.skipValue();
+        }
+        reader.endArray();
+        return new Vector3Float(x, y, z);
+    }
+
     public static int parseColor(JsonElement element) {
         if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber()) {
             // Already a single integer
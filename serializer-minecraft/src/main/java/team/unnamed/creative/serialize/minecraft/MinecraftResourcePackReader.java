@@ -25,7 +25,9 @@ package team.unnamed.creative.serialize.minecraft;
 
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.BlobStore;
 import team.unnamed.creative.serialize.ResourcePackReader;
 import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
 
@@ -114,6 +116,22 @@ public interface MinecraftResourcePackReader extends ResourcePackReader<FileTree
         return read(FileTreeReader.directory(directory));
     }
 
+    /**
+     * Reads a {@link ResourcePack} from the given directory {@link Path}.
+     *
+     * @param directory The resource pack directory
+     * @return The read resource pack
+     * @since 1.13.0
+     */
+    default @NotNull ResourcePack readFromDirectory(final @NotNull Path directory) {
+        requireNonNull(directory, "directory");
+        try (final FileTreeReader reader = FileTreeReader.directory(directory)) {
+            return read(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * A builder for {@link MinecraftResourcePackReader} instances.
      *
@@ -138,6 +156,35 @@ public interface MinecraftResourcePackReader extends ResourcePackReader<FileTree
         @Contract("_ -> this")
         @NotNull Builder debugPrint(final boolean debugPrint);
 
+        /**
+         * Sets the cache used by the reader to skip reading and
+         * deserializing files that didn't change since the last
+         * read, or {@code null} to disable caching (default).
+         *
+         * <p>Caches created with {@link ResourcePackReadCache#create(Path)}
+         * are saved to their file after every read, so they also skip
+         * reading unchanged files after a restart.</p>
+         *
+         * @param cache The read cache
+         * @return This builder
+         * @see ResourcePackReadCache
+         * @since 1.13.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder cache(final @Nullable ResourcePackReadCache cache);
+
+        /**
+         * Sets the {@link BlobStore} used to store the contents of binary
+         * files, like textures, sounds and unknown files, or {@code null}
+         * to keep them as returned by the {@link FileTreeReader} (default).
+         *
+         * @param blobStore The blob store
+         * @return This builder
+         * @since 1.13.0
+         */
+        @Contract("_ -> this")
+        @NotNull Builder blobStore(final @Nullable BlobStore blobStore);
+
         /**
          * Builds a new {@link MinecraftResourcePackReader} instance.
          *
@@ -30,6 +30,8 @@ import org.intellij.lang.annotations.Subst;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.BlobStore;
+import team.unnamed.creative.base.Readable;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.metadata.Metadata;
 import team.unnamed.creative.metadata.overlays.OverlayEntry;
@@ -45,6 +47,7 @@ import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.ResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.metadata.MetadataSerializer;
 import team.unnamed.creative.serialize.minecraft.sound.SoundRegistrySerializer;
+import team.unnamed.creative.sound.SoundRegistry;
 import team.unnamed.creative.texture.Texture;
 import team.unnamed.creative.util.Keys;
 
@@ -54,9 +57,11 @@ import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Set;
+import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.*;
@@ -69,20 +74,28 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
 
     private final boolean lenient;
     private final boolean debugPrint;
+    private final @Nullable ResourcePackReadCache cache;
+    private final @Nullable BlobStore blobStore;
 
     private MinecraftResourcePackReaderImpl(
             final boolean lenient
     ) {
         this.lenient = lenient;
         this.debugPrint = false;
+        this.cache = null;
+        this.blobStore = null;
     }
 
     private MinecraftResourcePackReaderImpl(
             final boolean lenient,
-            final boolean debugPrint
+            final boolean debugPrint,
+            final @Nullable ResourcePackReadCache cache,
+            final @Nullable BlobStore blobStore
     ) {
         this.lenient = lenient;
         this.debugPrint = debugPrint;
+        this.cache = cache;
+        this.blobStore = blobStore;
     }
 
     @Override
@@ -96,27 +109,31 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
         // (null key means it is root resource pack)
         Map<@Nullable String, Map<Key, Texture>> incompleteTextures = new LinkedHashMap<>();
 
+        // if the reader knows all of its entries beforehand, we can check whether
+        // a texture has metadata, and only keep waiting for the ones that have it
+        boolean indexed = reader.indexed();
+
         // fill in with the default ones first (pack format is unknown at the start)
-        Map<String, ResourceCategory<?>> categoriesByFolderThisPackFormat = ResourceCategories.buildCategoryMapByFolder(PackFormat.UNKNOWN);
+        Map<String, ResourceCategory<?>> categoriesByFolderThisPackFormat = ResourceCategories.categoriesByFolder(PackFormat.UNKNOWN);
         Map<String, PackFormat> packFormatsByOverlayDir = new HashMap<>();
         PackFormat packFormat = PackFormat.UNKNOWN;
 
+        // the paths found in this read, cached files that
+        // are not found anymore are evicted at the end
+        Set<String> readPaths = cache == null ? null : new HashSet<>();
+
         while (reader.hasNext()) {
             String path = reader.next();
+            if (readPaths != null) readPaths.add(path);
 
-            // tokenize path in sections, e.g.: [ assets, minecraft, textures, ... ]
-            Queue<String> tokens = tokenize(path);
-
-            if (tokens.isEmpty()) {
-                // this should never happen
-                throw new IllegalStateException("Token collection is empty!");
-            }
+            // iterate the path sections, e.g.: [ assets, minecraft, textures, ... ]
+            PathTokens tokens = new PathTokens(path);
 
             // single token means the file is on the
             // root level (top level files) so it may be:
             // - pack.mcmeta
             // - pack.png
-            if (tokens.size() == 1) {
+            if (tokens.isLast()) {
                 switch (tokens.poll()) {
                     case PACK_METADATA_FILE: {
                         // found pack.mcmeta file, deserialize and add
@@ -131,7 +148,7 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                         } else {
                             // update the pack format and categories
                             packFormat = packMeta.formats();
-                            categoriesByFolderThisPackFormat = ResourceCategories.buildCategoryMapByFolder(packFormat);
+                            categoriesByFolderThisPackFormat = ResourceCategories.categoriesByFolder(packFormat);
                         }
 
                         // overlays info
@@ -143,12 +160,12 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                     }
                     case PACK_ICON_FILE: {
                         // found pack.png file, add
-                        resourcePack.icon(reader.content().asWritable());
+                        resourcePack.icon(content(reader, path));
                         continue;
                     }
                     default: {
                         // unknown top level file
-                        resourcePack.unknownFile(path, reader.content().asWritable());
+                        resourcePack.unknownFile(path, content(reader, path));
                         continue;
                     }
                 }
@@ -173,7 +190,7 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                 if (tokens.isEmpty()) {
                     // this means that there is a file directly
                     // inside the "overlays" folder, this is illegal
-                    resourcePack.unknownFile(containerPath, reader.content().asWritable());
+                    resourcePack.unknownFile(containerPath, content(reader, path));
                     continue;
                 }
 
@@ -194,7 +211,7 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
             // null check to make ide happy
             if (folder == null || !folder.equals(ASSETS_FOLDER) || tokens.isEmpty()) {
                 // not assets! this is an unknown file
-                container.unknownFile(containerPath, reader.content().asWritable());
+                container.unknownFile(containerPath, content(reader, path));
                 continue;
             }
 
@@ -204,14 +221,14 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
 
             if (!Keys.isValidNamespace(namespace)) {
                 // invalid namespace found
-                container.unknownFile(containerPath, reader.content().asWritable());
+                container.unknownFile(containerPath, content(reader, path));
                 continue;
             }
 
             if (tokens.isEmpty()) {
                 // found a file directly inside "assets", like
                 // assets/<file>, it is not allowed
-                container.unknownFile(containerPath, reader.content().asWritable());
+                container.unknownFile(containerPath, content(reader, path));
                 continue;
             }
 
@@ -226,13 +243,13 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                 // (remember: last tokens are always files)
                 if (categoryName.equals(SOUNDS_FILE)) {
                     // found a sound registry!
-                    container.soundRegistry(SoundRegistrySerializer.INSTANCE.readFromTree(
-                            parseJson(reader.stream()),
+                    container.soundRegistry(cached(reader, path, PackFormat.UNKNOWN, SoundRegistry.class, source -> SoundRegistrySerializer.INSTANCE.readFromTree(
+                            parseJson(open(source, path)),
                             namespace
-                    ));
+                    )));
                 } else {
                     // TODO: gpu_warnlist.json?
-                    container.unknownFile(containerPath, reader.content().asWritable());
+                    container.unknownFile(containerPath, content(reader, path));
                 }
                 continue;
             }
@@ -240,14 +257,21 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
             // so "category" is actually a category like "textures",
             // "lang", "font", etc. next we can compute the relative
             // path inside the category
-            String categoryPath = path(tokens);
+            String categoryPath = tokens.remaining();
 
             if (categoryName.equals(TEXTURES_FOLDER)) {
                 String keyOfMetadata = withoutExtension(categoryPath, METADATA_EXTENSION);
                 if (keyOfMetadata != null) {
                     // found metadata for texture
+                    if (indexed && !reader.contains(path.substring(0, path.length() - METADATA_EXTENSION.length()))) {
+                        // metadata for a texture that doesn't exist, it would be
+                        // discarded anyway, so don't even read it
+                        continue;
+                    }
+
                     Key key = Key.key(namespace, keyOfMetadata);
-                    Metadata metadata = MetadataSerializer.INSTANCE.readFromTree(parseJson(reader.stream()));
+                    Metadata metadata = cached(reader, path, PackFormat.UNKNOWN, Metadata.class,
+                            source -> MetadataSerializer.INSTANCE.readFromTree(parseJson(open(source, path))));
 
                     Map<Key, Texture> incompleteTexturesThisContainer = incompleteTextures.computeIfAbsent(overlayDir, k -> new LinkedHashMap<>());
                     Texture texture = incompleteTexturesThisContainer.remove(key);
@@ -260,7 +284,14 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                     }
                 } else {
                     Key key = Key.key(namespace, categoryPath);
-                    Writable data = reader.content().asWritable();
+                    Writable data = content(reader, path);
+
+                    if (indexed && !reader.contains(path + METADATA_EXTENSION)) {
+                        // texture without metadata, no need to wait
+                        container.texture(Texture.texture(key, data));
+                        continue;
+                    }
+
                     Map<Key, Texture> incompleteTexturesThisContainer = incompleteTextures.computeIfAbsent(overlayDir, k -> new LinkedHashMap<>());
                     Texture waiting = incompleteTexturesThisContainer.remove(key);
 
@@ -278,48 +309,41 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                 }
             } else {
                 // get the resource category, if the local pack format (overlay or root) is the same as the
-                // root pack format, we can use the previously computed map, otherwise we need to compute it
-                // (we could save some time by caching the computed map, but, is it worth it?)
+                // root pack format, we can use the previously obtained map, otherwise look up the cached one
                 ResourceCategory<?> category = (localPackFormat == packFormat
                         ? categoriesByFolderThisPackFormat
-                        : ResourceCategories.buildCategoryMapByFolder(localPackFormat)).get(categoryName);
+                        : ResourceCategories.categoriesByFolder(localPackFormat)).get(categoryName);
                 if (category == null) {
                     // unknown category
-                    container.unknownFile(containerPath, reader.content().asWritable());
+                    container.unknownFile(containerPath, content(reader, path));
                     continue;
                 }
                 String keyValue = withoutExtension(categoryPath, category.extension(PackFormat.UNKNOWN));
                 if (keyValue == null) {
                     // wrong extension
-                    container.unknownFile(containerPath, reader.content().asWritable());
+                    container.unknownFile(containerPath, content(reader, path));
                     continue;
                 }
 
                 if (keyValue.startsWith("equipment/")) {
                     // skip trying to load "namespace:equipment/X.json" as a normal model
-                    container.unknownFile(containerPath, reader.content().asWritable());
+                    container.unknownFile(containerPath, content(reader, path));
                     continue;
                 }
 
                 Key key = Key.key(namespace, keyValue);
-                try {
-                    ResourceDeserializer<? extends ResourcePackPart> deserializer = category.deserializer();
-                    ResourcePackPart resource = (ResourcePackPart) switch (deserializer) {
-                        case BinaryResourceDeserializer binaryResourceDeserializer -> binaryResourceDeserializer
-                                .deserializeBinary(reader.content().asWritable(), key);
-                        case JsonResourceDeserializer jsonResourceDeserializer -> jsonResourceDeserializer
-                                .deserializeFromJson(parseJson(reader.stream()), key, localPackFormat);
-                        default -> deserializer.deserialize(reader.stream(), key);
-                    };
-                    resource.addTo(container);
-                } catch (IOException e) {
-                    String message = "Failed to deserialize resource at: '" + path;
-                    if (debugPrint) message += "\n" + e.getMessage();
-                    throw new UncheckedIOException(message, e);
-                }
+                PackFormat resourcePackFormat = localPackFormat;
+                ResourcePackPart resource = cached(reader, path, resourcePackFormat, ResourcePackPart.class,
+                        source -> deserialize(source, path, category, key, resourcePackFormat));
+                resource.addTo(container);
             }
         }
 
+        if (readPaths != null) {
+            cache.retainAll(readPaths);
+            cache.save();
+        }
+
         for (Map.Entry<String, Map<Key, Texture>> entry : incompleteTextures.entrySet()) {
             @Subst("dir")
             @Nullable String overlayDir = entry.getKey();
@@ -344,6 +368,91 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
         return resourcePack;
     }
 
+    private @NotNull ResourcePackPart deserialize(
+            final @NotNull Readable source,
+            final @NotNull String path,
+            final @NotNull ResourceCategory<?> category,
+            final @NotNull Key key,
+            final @NotNull PackFormat packFormat
+    ) {
+        try {
+            ResourceDeserializer<? extends ResourcePackPart> deserializer = category.deserializer();
+            return (ResourcePackPart) switch (deserializer) {
+                case BinaryResourceDeserializer binaryResourceDeserializer -> binaryResourceDeserializer
+                        .deserializeBinary(readContent(source, path), key);
+                case JsonResourceDeserializer jsonResourceDeserializer -> {
+                    // pull-parse the resource, deserializers that do not
+                    // support streaming fall back to building a tree
+                    try (JsonReader jsonReader = jsonReader(source.open())) {
+                        yield jsonResourceDeserializer.deserializeFromJson(jsonReader, key, packFormat);
+                    }
+                }
+                default -> deserializer.deserialize(source.open(), key);
+            };
+        } catch (IOException e) {
+            String message = "Failed to deserialize resource at: '" + path;
+            if (debugPrint) message += "\n" + e.getMessage();
+            throw new UncheckedIOException(message, e);
+        }
+    }
+
+    private @NotNull Writable content(final @NotNull FileTreeReader reader, final @NotNull String path) {
+        // file contents don't depend on the pack format
+        return cached(reader, path, PackFormat.UNKNOWN, Writable.class, source -> readContent(source, path));
+    }
+
+    private @NotNull Writable readContent(final @NotNull Readable source, final @NotNull String path) {
+        if (blobStore == null) {
+            return source.asWritable();
+        }
+        try (InputStream input = source.open()) {
+            return blobStore.store(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store file at: '" + path + "'", e);
+        }
+    }
+
+    private <T> @NotNull T cached(
+            final @NotNull FileTreeReader reader,
+            final @NotNull String path,
+            final @NotNull PackFormat packFormat,
+            final @NotNull Class<T> type,
+            final @NotNull Function<Readable, T> loader
+    ) {
+        if (cache == null || reader.lastModified() < 0 || reader.size() < 0) {
+            // no cache, or we can't know if the entry changed
+            return loader.apply(source(reader));
+        } else {
+            return cache.computeIfChanged(reader, path, packFormat, type, loader);
+        }
+    }
+
+    /**
+     * Returns a {@link Readable} view of the current entry of the given
+     * reader, which streams it and only copies it when stored.
+     */
+    private static @NotNull Readable source(final @NotNull FileTreeReader reader) {
+        return new Readable() {
+            @Override
+            public @NotNull InputStream open() {
+                return reader.stream();
+            }
+
+            @Override
+            public @NotNull Writable asWritable() {
+                return reader.content().asWritable();
+            }
+        };
+    }
+
+    private static @NotNull InputStream open(final @NotNull Readable source, final @NotNull String path) {
+        try {
+            return source.open();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read file at: '" + path + "'", e);
+        }
+    }
+
     private static @Nullable String withoutExtension(String string, String extension) {
         if (string.endsWith(extension)) {
             return string.substring(0, string.length() - extension.length());
@@ -362,9 +471,64 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
         }
     }
 
+    private static @NotNull JsonReader jsonReader(final @NotNull InputStream input) {
+        final JsonReader jsonReader = new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        // the tree parser used before streaming support is always
+        // lenient, keep accepting the same inputs
+        jsonReader.setLenient(true);
+        return jsonReader;
+    }
+
+    /**
+     * Sequential access to the sections of a path, separated by
+     * slashes, without splitting the whole path beforehand.
+     */
+    private static final class PathTokens {
+        private final String path;
+        // start index of the next token, past the end if there are no more
+        private int start;
+
+        PathTokens(final @NotNull String path) {
+            this.path = path;
+        }
+
+        boolean isEmpty() {
+            return start > path.length();
+        }
+
+        /**
+         * Determines whether the next token is the last one.
+         */
+        boolean isLast() {
+            return !isEmpty() && path.indexOf(FILE_SEPARATOR, start) == -1;
+        }
+
+        @Nullable String poll() {
+            if (isEmpty()) {
+                return null;
+            }
+            int end = path.indexOf(FILE_SEPARATOR, start);
+            if (end == -1) {
+                end = path.length();
+            }
+            String token = path.substring(start, end);
+            start = end + 1;
+            return token;
+        }
+
+        /**
+         * Returns the remaining tokens, joined by slashes.
+         */
+        @NotNull String remaining() {
+            return isEmpty() ? "" : path.substring(start);
+        }
+    }
+
     static final class BuilderImpl implements Builder {
         private boolean lenient = false;
         private boolean debugPrint = false;
+        private @Nullable ResourcePackReadCache cache;
+        private @Nullable BlobStore blobStore;
 
         @Override
         public @NotNull Builder lenient(final boolean lenient) {
@@ -378,9 +542,21 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
             return this;
         }
 
+        @Override
+        public @NotNull Builder cache(final @Nullable ResourcePackReadCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder blobStore(final @Nullable BlobStore blobStore) {
+            this.blobStore = blobStore;
+            return this;
+        }
+
         @Override
         public @NotNull MinecraftResourcePackReader build() {
-            return new MinecraftResourcePackReaderImpl(lenient);
+            return new MinecraftResourcePackReaderImpl(lenient, debugPrint, cache, blobStore);
         }
     }
 }
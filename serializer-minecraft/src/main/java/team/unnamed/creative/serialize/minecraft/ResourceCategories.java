@@ -39,11 +39,15 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ResourceCategories {
 
     private static final List<ResourceCategory<?>> CATEGORIES;
 
+    // immutable category maps by folder, computed once per pack format
+    private static final Map<PackFormat, Map<String, ResourceCategory<?>>> CATEGORIES_BY_FOLDER = new ConcurrentHashMap<>();
+
     static {
         CATEGORIES = new ArrayList<>();
         registerCategory(AtlasSerializer.CATEGORY);
@@ -68,6 +72,21 @@ public class ResourceCategories {
         return CATEGORIES;
     }
 
+    /**
+     * Returns an immutable map of the registered categories by their
+     * folder name in the given pack format.
+     *
+     * <p>Unlike {@link #buildCategoryMapByFolder(PackFormat)}, the map
+     * is only computed once for every distinct pack format.</p>
+     *
+     * @param packFormat The pack format
+     * @return The categories by folder name
+     * @since 1.13.0
+     */
+    public static Map<String, ResourceCategory<?>> categoriesByFolder(final PackFormat packFormat) {
+        return CATEGORIES_BY_FOLDER.computeIfAbsent(packFormat, format -> Map.copyOf(buildCategoryMapByFolder(format)));
+    }
+
     public static Map<String, ResourceCategory<?>> buildCategoryMapByFolder(final PackFormat packFormat) {
         Map<String, ResourceCategory<?>> map = new HashMap<>(); // note: no need to be linked list
         for (ResourceCategory<?> category : ResourceCategories.categories()) {
@@ -0,0 +1,361 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.metadata.pack.FormatVersion;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An index of the files read by a {@link MinecraftResourcePackReader},
+ * used to skip reading and deserializing files that didn't change since the
+ * last read.
+ *
+ * <p>Every entry is stored by its path and validated using the last
+ * modification time and size reported by the {@link FileTreeReader}, so
+ * the cache only works with readers that report them, like
+ * {@link FileTreeReader#directory(java.nio.file.Path) directory readers}.
+ * A file whose size changed is read and deserialized again, a file whose
+ * only modification time changed (e.g. after a checkout or a copy) is
+ * read and compared with the content hash of its entry, and only
+ * deserialized again if the content is different.</p>
+ *
+ * <p>A cache instance should only be used to read the same resource pack
+ * (e.g. the same directory) repeatedly, like when reloading it during
+ * development. Entries for files that no longer exist are evicted after
+ * every read.</p>
+ *
+ * <p>Caches created with {@link #create(Path)} are persisted to the given
+ * file: the index (path, modification time, size and content hash) and a
+ * snapshot of every file are loaded from it on creation and written back
+ * after every read, so that a read after a restart takes everything from
+ * a single file instead of opening every file of the pack. Snapshots are
+ * deserialized the first time they are used.</p>
+ *
+ * @since 1.13.0
+ */
+public final class ResourcePackReadCache {
+    private static final int MAGIC = 0x43524331; // "CRC1"
+    private static final int VERSION = 1;
+    private static final String HASH_ALGORITHM = "SHA-1";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final @Nullable Path file;
+    private volatile boolean dirty;
+
+    private ResourcePackReadCache(final @Nullable Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Creates a new, empty {@link ResourcePackReadCache} that
+     * only lives in memory.
+     *
+     * @return The created cache
+     * @since 1.13.0
+     */
+    @Contract("-> new")
+    public static @NotNull ResourcePackReadCache create() {
+        return new ResourcePackReadCache(null);
+    }
+
+    /**
+     * Creates a new {@link ResourcePackReadCache} persisted to the
+     * given file, loading its entries from it if it exists.
+     *
+     * <p>A file that can't be understood (e.g. written by another
+     * version) is ignored and replaced on the next save.</p>
+     *
+     * @param file The file to load the cache from and save it to
+     * @return The created cache
+     * @throws UncheckedIOException If the file exists but couldn't be read
+     * @since 1.13.0
+     */
+    @Contract("_ -> new")
+    public static @NotNull ResourcePackReadCache create(final @NotNull Path file) {
+        requireNonNull(file, "file");
+        final ResourcePackReadCache cache = new ResourcePackReadCache(file);
+        cache.load();
+        return cache;
+    }
+
+    /**
+     * Returns the number of files currently cached.
+     *
+     * @return The number of cached files
+     * @since 1.13.0
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all the cached files, so that the next
+     * read deserializes every file again.
+     *
+     * @since 1.13.0
+     */
+    public void clear() {
+        entries.clear();
+        dirty = true;
+    }
+
+    /**
+     * Writes this cache to its file, if it was created with one and
+     * changed since it was loaded or last saved. Readers call this
+     * method after every read.
+     *
+     * <p>The file is replaced atomically where the file system
+     * supports it, so a failed save never leaves a partial file.</p>
+     *
+     * @throws UncheckedIOException If writing fails
+     * @since 1.13.0
+     */
+    public synchronized void save() {
+        if (file == null || !dirty) {
+            return;
+        }
+        dirty = false;
+        try {
+            final Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            final Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                write(temp);
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (final AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (final IOException e) {
+            dirty = true;
+            throw new UncheckedIOException("Failed to save read cache to: " + file, e);
+        }
+    }
+
+    /**
+     * Returns the cached value for the current entry of the given reader if
+     * it didn't change since it was cached, otherwise, computes it using the
+     * given loader, which reads the given entry contents, and caches it.
+     *
+     * <p>The reader must report the entry modification time and size.</p>
+     */
+    <T> @NotNull T computeIfChanged(
+            final @NotNull FileTreeReader reader,
+            final @NotNull String path,
+            final @NotNull PackFormat packFormat,
+            final @NotNull Class<T> type,
+            final @NotNull Function<Readable, T> loader
+    ) {
+        final long lastModified = reader.lastModified();
+        final long size = reader.size();
+
+        final Entry entry = entries.get(path);
+        final boolean candidate = entry != null && entry.size == size && entry.packFormat.equals(packFormat);
+        if (candidate && entry.lastModified == lastModified) {
+            final T value = entry.value(type, loader);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        final byte[] data = reader.content().readAsByteArray();
+        final byte[] hash = hash(data);
+        if (candidate && Arrays.equals(entry.hash, hash)) {
+            // only the modification time changed
+            final T value = entry.value(type, loader);
+            if (value != null) {
+                entries.put(path, new Entry(lastModified, size, packFormat, hash, entry.data, value));
+                dirty = true;
+                return value;
+            }
+        }
+
+        final T value = requireNonNull(loader.apply(snapshot(data)), "value");
+        // snapshots are only needed to persist the cache
+        entries.put(path, new Entry(lastModified, size, packFormat, hash, file == null ? null : data, value));
+        dirty = true;
+        return value;
+    }
+
+    /**
+     * Evicts the entries whose path is not in the given set.
+     */
+    void retainAll(final @NotNull Set<String> paths) {
+        if (entries.keySet().retainAll(paths)) {
+            dirty = true;
+        }
+    }
+
+    private void load() {
+        requireNonNull(file, "file");
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                // unknown format, start from scratch
+                return;
+            }
+            final int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                final String path = input.readUTF();
+                final long lastModified = input.readLong();
+                final long size = input.readLong();
+                final PackFormat packFormat = PackFormat.format(
+                        FormatVersion.of(input.readInt(), input.readInt()),
+                        FormatVersion.of(input.readInt(), input.readInt())
+                );
+                final byte[] hash = new byte[input.readUnsignedByte()];
+                input.readFully(hash);
+                final byte[] data = new byte[input.readInt()];
+                input.readFully(data);
+                entries.put(path, new Entry(lastModified, size, packFormat, hash, data, null));
+            }
+        } catch (final NoSuchFileException e) {
+            // nothing saved yet
+        } catch (final EOFException e) {
+            // truncated file, start from scratch
+            entries.clear();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to load read cache from: " + file, e);
+        }
+    }
+
+    private void write(final @NotNull Path target) throws IOException {
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            // copy first, so that the count matches the written entries
+            final Map<String, Entry> snapshot = Map.copyOf(entries);
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(snapshot.size());
+            for (final Map.Entry<String, Entry> mapEntry : snapshot.entrySet()) {
+                final Entry entry = mapEntry.getValue();
+                requireNonNull(entry.data, "data");
+                output.writeUTF(mapEntry.getKey());
+                output.writeLong(entry.lastModified);
+                output.writeLong(entry.size);
+                output.writeInt(entry.packFormat.min().major());
+                output.writeInt(entry.packFormat.min().minor());
+                output.writeInt(entry.packFormat.max().major());
+                output.writeInt(entry.packFormat.max().minor());
+                output.writeByte(entry.hash.length);
+                output.write(entry.hash);
+                output.writeInt(entry.data.length);
+                output.write(entry.data);
+            }
+        }
+    }
+
+    private static byte @NotNull [] hash(final byte @NotNull [] data) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(data);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every JVM must support " + HASH_ALGORITHM, e);
+        }
+    }
+
+    private static @NotNull Readable snapshot(final byte @NotNull [] data) {
+        return new Readable() {
+            @Override
+            public @NotNull InputStream open() {
+                return new ByteArrayInputStream(data);
+            }
+
+            @Override
+            public @NotNull Writable asWritable() {
+                return Writable.bytes(data);
+            }
+        };
+    }
+
+    private static final class Entry {
+        private final long lastModified;
+        private final long size;
+        private final PackFormat packFormat;
+        private final byte[] hash;
+        private final byte @Nullable [] data;
+        // null until a snapshot loaded from the file is used
+        private volatile @Nullable Object value;
+
+        Entry(
+                final long lastModified,
+                final long size,
+                final @NotNull PackFormat packFormat,
+                final byte @NotNull [] hash,
+                final byte @Nullable [] data,
+                final @Nullable Object value
+        ) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.packFormat = packFormat;
+            this.hash = hash;
+            this.data = data;
+            this.value = value;
+        }
+
+        /**
+         * Returns the value of this entry if it is of the given type,
+         * deserializing the snapshot with the given loader if needed.
+         */
+        <T> @Nullable T value(final @NotNull Class<T> type, final @NotNull Function<Readable, T> loader) {
+            Object value = this.value;
+            if (value == null) {
+                requireNonNull(data, "data");
+                value = loader.apply(snapshot(data));
+                this.value = value;
+            }
+            return type.isInstance(value) ? type.cast(value) : null;
+        }
+    }
+}
@@ -25,6 +25,8 @@ package team.unnamed.creative.serialize.minecraft.blockstate;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import team.unnamed.creative.blockstate.BlockState;
@@ -117,6 +119,37 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         return BlockState.of(key, variants, multipart);
     }
 
+    @Override
+    public BlockState deserializeFromJson(JsonReader reader, Key key, PackFormat packFormat) throws IOException {
+        Map<String, MultiVariant> variants = new LinkedHashMap<>();
+        List<Selector> multipart = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "variants" -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String variantKey = reader.nextName();
+                        variants.put(variantKey, readMultiVariant(reader));
+                    }
+                    reader.endObject();
+                }
+                case "multipart" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        multipart.add(readSelector(reader));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return BlockState.of(key, variants, multipart);
+    }
+
     private static void writeMultiVariant(JsonWriter writer, MultiVariant multiVariant) throws IOException {
         List<Variant> variants = multiVariant.variants();
         if (variants.size() == 1) {
@@ -146,6 +179,22 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         }
     }
 
+    private static MultiVariant readMultiVariant(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            // single variant
+            return MultiVariant.of(readVariant(reader));
+        } else {
+            // multiple variants
+            List<Variant> variants = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                variants.add(readVariant(reader));
+            }
+            reader.endArray();
+            return MultiVariant.of(variants);
+        }
+    }
+
     private static void writeVariant(JsonWriter writer, Variant variant) throws IOException {
         writer
                 .beginObject()
@@ -179,6 +228,23 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
                 .build();
     }
 
+    private static Variant readVariant(JsonReader reader) throws IOException {
+        Variant.Builder builder = Variant.builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "model" -> builder.model(Key.key(reader.nextString()));
+                case "x" -> builder.x(GsonUtil.nextInt(reader, "x"));
+                case "y" -> builder.y(GsonUtil.nextInt(reader, "y"));
+                case "uvlock" -> builder.uvLock(GsonUtil.nextBoolean(reader, "uvlock"));
+                case "weight" -> builder.weight(GsonUtil.nextInt(reader, "weight"));
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return builder.build();
+    }
+
     private static void writeSelector(JsonWriter writer, Selector selector) throws IOException {
         writer.beginObject();
 
@@ -205,6 +271,27 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         return Selector.of(condition, multiVariant);
     }
 
+    private static Selector readSelector(JsonReader reader) throws IOException {
+        Condition condition = Condition.NONE;
+        MultiVariant multiVariant = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                // conditions are small and need to know their entry count
+                // before being read, so they are parsed as a tree
+                case "when" -> condition = readCondition(GsonUtil.parseReader(reader).getAsJsonObject());
+                case "apply" -> multiVariant = readMultiVariant(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (multiVariant == null) {
+            throw new IllegalStateException("Selector must have an 'apply' property");
+        }
+        return Selector.of(condition, multiVariant);
+    }
+
     private static void writeCondition(JsonWriter writer, Condition condition) throws IOException {
         writeCondition(writer, condition, false);
     }
@@ -25,61 +25,82 @@ package team.unnamed.creative.serialize.minecraft.fs;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
 
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
-final class DirectoryFileTreeReader implements FileTreeReader {
+import static java.util.Objects.requireNonNull;
 
-    private final File root;
-    private final List<File> folders = new ArrayList<>();
-    private int folderCursor;
-    private File @Nullable [] files;
-    private int fileCursor;
+final class DirectoryFileTreeReader implements FileTreeReader {
 
-    private InputStream currentStream;
+    private final Path root;
 
-    DirectoryFileTreeReader(File root) {
-        this.root = root;
-        folders.add(root);
-    }
+    // files found by walking the root directory, filled
+    // lazily the first time the reader is queried
+    private @Nullable List<FileEntry> files;
+    private int cursor;
 
-    @Override
-    public boolean hasNext() {
-        while (true) {
-            if (files == null) {
-                // we must look for a folder and make
-                // files be equal to its children
-                if (folderCursor >= folders.size()) {
-                    // no more folders
-                    return false;
-                }
+    // relative paths of the found files, only computed
+    // if requested by contains()
+    private @Nullable Set<String> paths;
 
-                File folder = folders.get(folderCursor++);
-                files = folder.listFiles();
+    private @Nullable FileEntry current;
+    private @Nullable InputStream currentStream;
 
-                if (files == null) {
-                    throw new IllegalStateException("Null children from file " + folder);
-                }
-            }
+    DirectoryFileTreeReader(final @NotNull Path root) {
+        this.root = requireNonNull(root, "root");
+    }
 
-            while (fileCursor < files.length) {
-                File file = files[fileCursor];
-                if (file.isDirectory()) {
-                    folders.add(file);
-                    fileCursor++;
-                } else {
-                    return true;
-                }
+    private @NotNull List<FileEntry> files() {
+        if (files == null) {
+            final List<FileEntry> found = new ArrayList<>();
+            try {
+                Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                    @Override
+                    public @NotNull FileVisitResult visitFile(final @NotNull Path file, final @NotNull BasicFileAttributes attributes) {
+                        if (!attributes.isDirectory()) {
+                            // keep the attributes, they are already read by the walk
+                            found.add(new FileEntry(file, attributes.lastModifiedTime().toMillis(), attributes.size()));
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to walk directory " + root, e);
             }
-            files = null;
-            fileCursor = 0;
+            // keep shallower files first (like a breadth-first walk), so
+            // that top-level files such as pack.mcmeta are always read
+            // before the overlay folders they describe (stable sort)
+            found.sort(Comparator.comparingInt(entry -> entry.file().getNameCount()));
+            files = found;
         }
+        return files;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor < files().size();
     }
 
     @Override
@@ -88,50 +109,152 @@ final class DirectoryFileTreeReader implements FileTreeReader {
             throw new NoSuchElementException("No more elements");
         }
 
-        if (currentStream != null) {
-            Streams.closeUnchecked(currentStream);
-            currentStream = null;
-        }
+        closeCurrentStream();
+        current = files().get(cursor++);
+        return relativize(current.file());
+    }
 
-        if (files == null || fileCursor >= files.length) {
-            throw new NoSuchElementException("No more elements");
-        } else {
-            File current = files[fileCursor++];
-            try {
-                currentStream = new FileInputStream(current);
-            } catch (IOException e) {
-                throw new IllegalStateException("Couldn't open InputStream for: " + current, e);
+    @Override
+    public boolean indexed() {
+        return true;
+    }
+
+    @Override
+    public boolean contains(final @NotNull String path) {
+        requireNonNull(path, "path");
+        if (paths == null) {
+            final List<FileEntry> files = files();
+            final Set<String> found = new HashSet<>(files.size() * 4 / 3 + 1);
+            for (final FileEntry entry : files) {
+                found.add(relativize(entry.file()));
             }
-            return relativize(root, current);
+            paths = found;
         }
+        return paths.contains(path);
+    }
+
+    @Override
+    public long lastModified() {
+        return current().lastModified();
+    }
+
+    @Override
+    public long size() {
+        return current().size();
     }
 
     @Override
     public @NotNull InputStream stream() {
+        final Path file = current().file();
+        closeCurrentStream();
+        try {
+            currentStream = Files.newInputStream(file);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Couldn't open InputStream for: " + file, e);
+        }
         return currentStream;
     }
 
+    @Override
+    public @NotNull Readable content() {
+        // read the whole file at once into an array of the exact
+        // file size, no intermediate buffers or copies are needed
+        return new FileContentReadable(read(current().file()));
+    }
+
     @Override
     public void close() {
+        closeCurrentStream();
+    }
+
+    private @NotNull FileEntry current() {
+        if (current == null) {
+            throw new IllegalStateException("No current entry, call next() first");
+        }
+        return current;
+    }
+
+    private void closeCurrentStream() {
         if (currentStream != null) {
             Streams.closeUnchecked(currentStream);
             currentStream = null;
         }
     }
 
-    private static String relativize(File parent, File child) {
-        StringBuilder builder = new StringBuilder();
-        builder.append(child.getName());
+    private @NotNull String relativize(final @NotNull Path file) {
+        final Path relative = root.relativize(file);
+        final String separator = relative.getFileSystem().getSeparator();
+        final String path = relative.toString();
+        // paths in the tree always use forward slashes
+        return separator.equals("/") ? path : path.replace(separator, "/");
+    }
 
-        while ((child = child.getParentFile()) != null) {
-            if (parent.equals(child)) {
-                // finished!
-                return builder.toString();
+    private static byte @NotNull [] read(final @NotNull Path file) {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too big: " + file);
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    throw new EOFException("Unexpected end of file: " + file);
+                }
             }
-            // prepend current folder to the string builder
-            builder.insert(0, child.getName() + "/");
+            return buffer.array();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read file: " + file, e);
         }
-        throw new IllegalStateException("");
     }
 
+    private record FileEntry(@NotNull Path file, long lastModified, long size) {
+    }
+
+    private static final class FileContentReadable implements Readable {
+        private final byte[] bytes;
+
+        FileContentReadable(final byte @NotNull [] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public @NotNull InputStream open() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public @NotNull Writable asWritable() {
+            return new Writable() {
+                @Override
+                public void write(final @NotNull OutputStream output) throws IOException {
+                    output.write(bytes);
+                }
+
+                @Override
+                public long length() {
+                    return bytes.length;
+                }
+
+                @Override
+                public @NotNull ByteBuffer asByteBuffer() {
+                    return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+                }
+
+                @Override
+                public byte @NotNull [] toByteArray() {
+                    return bytes.clone();
+                }
+            };
+        }
+
+        @Override
+        public byte @NotNull [] readAsByteArray() {
+            return bytes.clone();
+        }
+
+        @Override
+        public @NotNull String readAsUTF8String() {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
 }
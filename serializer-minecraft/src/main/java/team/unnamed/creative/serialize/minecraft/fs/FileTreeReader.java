@@ -30,6 +30,7 @@ import team.unnamed.creative.base.Readable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
@@ -39,6 +40,31 @@ public interface FileTreeReader extends AutoCloseable {
 
     String next();
 
+    /**
+     * Determines whether this reader knows all of its entries
+     * beforehand, e.g. from the central directory of a ZIP file,
+     * so that {@link #contains(String)} can be used.
+     *
+     * @return True if this reader supports {@link #contains(String)}
+     * @since 1.13.0
+     */
+    default boolean indexed() {
+        return false;
+    }
+
+    /**
+     * Determines whether this reader has an entry with the given
+     * path, whether it was already read or not.
+     *
+     * @param path The entry path
+     * @return True if there is an entry with the given path
+     * @throws UnsupportedOperationException If this reader is not {@link #indexed()}
+     * @since 1.13.0
+     */
+    default boolean contains(final @NotNull String path) {
+        throw new UnsupportedOperationException("This file tree reader is not indexed");
+    }
+
     /**
      * Returns the current entry's data as an input stream.
      *
@@ -66,6 +92,32 @@ public interface FileTreeReader extends AutoCloseable {
         return Readable.copyInputStream(stream());
     }
 
+    /**
+     * Returns the last modification time of the current entry,
+     * in milliseconds since the epoch, or {@code -1} if this
+     * reader doesn't know it.
+     *
+     * <p>Together with {@link #size()}, it is used to detect
+     * entries that didn't change between reads.</p>
+     *
+     * @return The current entry's last modification time
+     * @since 1.13.0
+     */
+    default long lastModified() {
+        return -1L;
+    }
+
+    /**
+     * Returns the size in bytes of the current entry, or
+     * {@code -1} if this reader doesn't know it.
+     *
+     * @return The current entry's size
+     * @since 1.13.0
+     */
+    default long size() {
+        return -1L;
+    }
+
     /**
      * Returns the current entry's data as an input stream.
      *
@@ -104,6 +156,21 @@ public interface FileTreeReader extends AutoCloseable {
     }
 
     static FileTreeReader directory(File root) {
+        return directory(root.toPath());
+    }
+
+    /**
+     * Creates a new {@link FileTreeReader} for the given root
+     * directory {@link Path}.
+     *
+     * <p>The directory is walked once, when the reader is first
+     * queried, and file contents are read using file channels.</p>
+     *
+     * @param root The root directory
+     * @return The created file tree reader
+     * @since 1.13.0
+     */
+    static @NotNull FileTreeReader directory(final @NotNull Path root) {
         return new DirectoryFileTreeReader(root);
     }
 
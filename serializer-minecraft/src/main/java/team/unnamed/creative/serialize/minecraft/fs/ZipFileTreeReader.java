@@ -84,6 +84,19 @@ final class ZipFileTreeReader implements FileTreeReader {
         return currentEntry.getName();
     }
 
+    @Override
+    public boolean indexed() {
+        return true;
+    }
+
+    @Override
+    public boolean contains(final @NotNull String path) {
+        requireNonNull(path, "path");
+        // looked up in the central directory
+        final ZipEntry entry = zipFile.getEntry(path);
+        return entry != null && !entry.isDirectory();
+    }
+
     @Override
     public @NotNull InputStream stream() {
         if (this.currentEntry == null) {
@@ -24,6 +24,7 @@
 package team.unnamed.creative.serialize.minecraft.io;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
 import net.kyori.adventure.key.Key;
 import org.intellij.lang.annotations.Language;
 import team.unnamed.creative.metadata.pack.PackFormat;
@@ -32,21 +33,42 @@ import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 
 public interface JsonResourceDeserializer<T> extends ResourceDeserializer<T> {
 
     T deserializeFromJson(JsonElement node, Key key, PackFormat packFormat) throws IOException;
 
+    /**
+     * Deserializes a resource by pulling tokens directly from the
+     * given {@link JsonReader}, without building an intermediate
+     * {@link JsonElement} tree.
+     *
+     * <p>The default implementation parses the next value as a tree
+     * and delegates to {@link #deserializeFromJson(JsonElement, Key, PackFormat)},
+     * deserializers for big or frequent resources should override it.</p>
+     *
+     * @param reader The JSON reader, positioned before the resource value
+     * @param key The resource key
+     * @param packFormat The pack format
+     * @return The deserialized resource
+     * @throws IOException If reading fails
+     * @since 1.13.0
+     */
+    default T deserializeFromJson(JsonReader reader, Key key, PackFormat packFormat) throws IOException {
+        return deserializeFromJson(GsonUtil.parseReader(reader), key, packFormat);
+    }
+
     default T deserializeFromJsonString(@Language("JSON") String json, Key key) throws IOException {
         return deserializeFromJson(GsonUtil.parseString(json), key, PackFormat.UNKNOWN);
     }
 
     @Override
     default T deserialize(InputStream input, Key key) throws IOException {
-        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
-            return deserializeFromJson(GsonUtil.parseReader(reader), key, PackFormat.UNKNOWN);
+        try (JsonReader reader = new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            // the tree parser is always lenient, keep the same behavior
+            reader.setLenient(true);
+            return deserializeFromJson(reader, key, PackFormat.UNKNOWN);
         }
     }
 }
@@ -27,6 +27,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.ApiStatus;
@@ -200,6 +201,62 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    @Override
+    public Model deserializeFromJson(JsonReader reader, Key key, PackFormat packFormat) throws IOException {
+        Key parent = null;
+        Map<ItemTransform.Type, ItemTransform> display = new LinkedHashMap<>();
+        List<Element> elements = new ArrayList<>();
+        boolean ambientOcclusion = Model.DEFAULT_AMBIENT_OCCLUSION;
+        ModelTextures texture = ModelTextures.builder().build();
+        Model.GuiLight guiLight = null;
+        List<ItemOverride> overrides = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "parent" -> parent = Key.key(reader.nextString());
+                case "display" -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        ItemTransform.Type type = ItemTransform.Type.valueOf(reader.nextName().toUpperCase(Locale.ROOT));
+                        display.put(type, readItemTransform(reader));
+                    }
+                    reader.endObject();
+                }
+                case "elements" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        elements.add(readElement(reader, packFormat));
+                    }
+                    reader.endArray();
+                }
+                case "ambientocclusion" -> ambientOcclusion = GsonUtil.nextBoolean(reader, "ambientocclusion");
+                case "textures" -> texture = readTextures(reader);
+                case "gui_light" -> guiLight = Model.GuiLight.valueOf(reader.nextString().toUpperCase(Locale.ROOT));
+                case "overrides" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        overrides.add(readItemOverride(reader));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return Model.model()
+                .key(key)
+                .parent(parent)
+                .display(display)
+                .elements(elements)
+                .ambientOcclusion(ambientOcclusion)
+                .textures(texture)
+                .guiLight(guiLight)
+                .overrides(overrides)
+                .build();
+    }
+
     private static void writeElement(JsonWriter writer, Element element, boolean writeLegacy) throws IOException {
         writer.beginObject().name("from");
         GsonUtil.writeVector3Float(writer, element.from());
@@ -288,12 +345,7 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
             TextureUV uv = null;
             if (elementFaceNode.has("uv")) {
                 JsonArray array = elementFaceNode.getAsJsonArray("uv");
-                Vector2Float from = new Vector2Float(array.get(0).getAsFloat(), array.get(1).getAsFloat());
-                Vector2Float to = new Vector2Float(array.get(2).getAsFloat(), array.get(3).getAsFloat());
-                uv = TextureUV.uv(
-                        from.divide(MINECRAFT_UV_UNIT),
-                        to.divide(MINECRAFT_UV_UNIT)
-                );
+                uv = readUv(array.get(0).getAsFloat(), array.get(1).getAsFloat(), array.get(2).getAsFloat(), array.get(3).getAsFloat());
             }
 
             CubeFace cullFace = null;
@@ -327,6 +379,112 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    private static Element readElement(JsonReader reader, PackFormat packFormat) throws IOException {
+        Vector3Float from = null;
+        Vector3Float to = null;
+        ElementRotation rotation = null;
+        boolean shade = Element.DEFAULT_SHADE;
+        int lightEmission = 0;
+        Map<CubeFace, ElementFace> faces = new LinkedHashMap<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "from" -> from = GsonUtil.readVector3Float(reader);
+                case "to" -> to = GsonUtil.readVector3Float(reader);
+                case "rotation" -> rotation = readElementRotation(reader, packFormat);
+                case "shade" -> shade = GsonUtil.nextBoolean(reader, "shade");
+                case "light_emission" -> lightEmission = GsonUtil.nextInt(reader, "light_emission");
+                case "faces" -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        CubeFace face = CubeFace.valueOf(reader.nextName().toUpperCase(Locale.ROOT));
+                        ElementFace elementFace = readElementFace(reader);
+                        if (elementFace != null) {
+                            faces.put(face, elementFace);
+                        }
+                    }
+                    reader.endObject();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (from == null || to == null) {
+            throw new IllegalStateException("Element must have 'from' and 'to' properties");
+        }
+
+        return Element.element()
+                .from(from)
+                .to(to)
+                .rotation(rotation)
+                .shade(shade)
+                .lightEmission(lightEmission)
+                .faces(faces)
+                .build();
+    }
+
+    private static ElementFace readElementFace(JsonReader reader) throws IOException {
+        TextureUV uv = null;
+        String texture = null;
+        CubeFace cullFace = null;
+        boolean invalidCullFace = false;
+        int rotation = ElementFace.DEFAULT_ROTATION;
+        int tintIndex = ElementFace.DEFAULT_TINT_INDEX;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "uv" -> {
+                    reader.beginArray();
+                    float fromX = GsonUtil.nextFloat(reader);
+                    float fromY = GsonUtil.nextFloat(reader);
+                    float toX = GsonUtil.nextFloat(reader);
+                    float toY = GsonUtil.nextFloat(reader);
+                    while (reader.hasNext()) {
+                        reader.skipValue();
+                    }
+                    reader.endArray();
+                    uv = readUv(fromX, fromY, toX, toY);
+                }
+                case "texture" -> texture = reader.nextString();
+                case "cullface" -> {
+                    try {
+                        cullFace = CubeFace.valueOf(reader.nextString().toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        invalidCullFace = true;
+                    }
+                }
+                case "rotation" -> rotation = GsonUtil.nextInt(reader, "rotation");
+                case "tintindex" -> tintIndex = GsonUtil.nextInt(reader, "tintindex");
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (invalidCullFace) {
+            // faces with an unknown cull face are skipped,
+            // same as the tree-based reader
+            return null;
+        }
+
+        return ElementFace.face()
+                .uv(uv)
+                .texture(texture)
+                .cullFace(cullFace)
+                .rotation(rotation)
+                .tintIndex(tintIndex)
+                .build();
+    }
+
+    private static TextureUV readUv(float fromX, float fromY, float toX, float toY) {
+        return TextureUV.uv(
+                new Vector2Float(fromX, fromY).divide(MINECRAFT_UV_UNIT),
+                new Vector2Float(toX, toY).divide(MINECRAFT_UV_UNIT)
+        );
+    }
+
     private static void writeElementRotation(JsonWriter writer, ElementRotation rotation, boolean writeLegacy) throws IOException {
         writer.beginObject().name("origin");
         GsonUtil.writeVector3Float(writer, rotation.origin());
@@ -353,12 +511,7 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
         Vector3Float rotation;
         if (objectNode.has("axis") && objectNode.has("angle")) {
             Axis3D axis = Axis3D.valueOf(objectNode.get("axis").getAsString().toUpperCase(Locale.ROOT));
-            float angle = objectNode.get("angle").getAsFloat();
-            float abs = Math.abs(angle);
-            if ((packFormat.min().major() < 75) && (abs > 45f || abs < -45f)) {
-                throw new IllegalArgumentException("Angle must be between [-45.0, 45.0] (inclusive), but was " + abs);
-            }
-            rotation = Vector3Float.ZERO.with(axis, angle);
+            rotation = legacyRotation(axis, objectNode.get("angle").getAsFloat(), packFormat);
         } else {
             float x = objectNode.get("x").getAsFloat();
             float y = objectNode.get("y").getAsFloat();
@@ -371,6 +524,55 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    private static ElementRotation readElementRotation(JsonReader reader, PackFormat packFormat) throws IOException {
+        Axis3D axis = null;
+        Float angle = null;
+        Float x = null;
+        Float y = null;
+        Float z = null;
+        Vector3Float origin = null;
+        boolean rescale = ElementRotation.DEFAULT_RESCALE;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "axis" -> axis = Axis3D.valueOf(reader.nextString().toUpperCase(Locale.ROOT));
+                case "angle" -> angle = GsonUtil.nextFloat(reader);
+                case "x" -> x = GsonUtil.nextFloat(reader);
+                case "y" -> y = GsonUtil.nextFloat(reader);
+                case "z" -> z = GsonUtil.nextFloat(reader);
+                case "origin" -> origin = GsonUtil.readVector3Float(reader);
+                case "rescale" -> rescale = GsonUtil.nextBoolean(reader, "rescale");
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        Vector3Float rotation;
+        if (axis != null && angle != null) {
+            rotation = legacyRotation(axis, angle, packFormat);
+        } else if (x != null && y != null && z != null) {
+            rotation = new Vector3Float(x, y, z);
+        } else {
+            throw new IllegalStateException("Element rotation must have 'axis' and 'angle', or 'x', 'y' and 'z' properties");
+        }
+        if (origin == null) {
+            throw new IllegalStateException("Element rotation must have an 'origin' property");
+        }
+        return ElementRotation.builder().rotation(rotation)
+                .origin(origin)
+                .rescale(rescale)
+                .build();
+    }
+
+    private static Vector3Float legacyRotation(Axis3D axis, float angle, PackFormat packFormat) {
+        float abs = Math.abs(angle);
+        if ((packFormat.min().major() < 75) && (abs > 45f || abs < -45f)) {
+            throw new IllegalArgumentException("Angle must be between [-45.0, 45.0] (inclusive), but was " + abs);
+        }
+        return Vector3Float.ZERO.with(axis, angle);
+    }
+
     private static void writeItemOverride(JsonWriter writer, ItemOverride override) throws IOException {
         writer.beginObject().name("predicate").beginObject();
         for (ItemPredicate predicate : override.predicate()) {
@@ -404,8 +606,40 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
         return ItemOverride.of(key, predicates);
     }
 
+    private static ItemOverride readItemOverride(JsonReader reader) throws IOException {
+        Key key = null;
+        List<ItemPredicate> predicates = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "model" -> key = Key.key(reader.nextString());
+                case "predicate" -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        // predicate values are tiny, parse them as a tree
+                        // to get the exact same value types
+                        predicates.add(ItemPredicate.custom(name, getObject(GsonUtil.parseReader(reader))));
+                    }
+                    reader.endObject();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (key == null) {
+            throw new IllegalStateException("Item override must have a 'model' property");
+        }
+        return ItemOverride.of(key, predicates);
+    }
+
     private static Object getObject(Map.Entry<String, JsonElement> predicateEntry) {
-        JsonElement value = predicateEntry.getValue();
+        return getObject(predicateEntry.getValue());
+    }
+
+    private static Object getObject(JsonElement value) {
         // TODO: better transformation
         Object object;
         if (value.isJsonPrimitive()) {
@@ -452,26 +686,50 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
             rotation = GsonUtil.readVector3Float(objectNode.get("rotation"));
         }
         if (objectNode.has("translation")) {
-            translation = GsonUtil.readVector3Float(objectNode.get("translation"));
-            // clamp translations between -80 and 80 (what Minecraft does)
-            translation = new Vector3Float(
-                    Math.max(-80F, Math.min(80F, translation.x())),
-                    Math.max(-80F, Math.min(80F, translation.y())),
-                    Math.max(-80F, Math.min(80F, translation.z()))
-            );
+            translation = clampTranslation(GsonUtil.readVector3Float(objectNode.get("translation")));
         }
         if (objectNode.has("scale")) {
-            scale = GsonUtil.readVector3Float(objectNode.get("scale"));
-            // set max to 4 (what Minecraft does)
-            scale = new Vector3Float(
-                    Math.min(4F, scale.x()),
-                    Math.min(4F, scale.y()),
-                    Math.min(4F, scale.z())
-            );
+            scale = clampScale(GsonUtil.readVector3Float(objectNode.get("scale")));
         }
         return ItemTransform.transform(rotation, translation, scale);
     }
 
+    private static ItemTransform readItemTransform(JsonReader reader) throws IOException {
+        Vector3Float rotation = ItemTransform.DEFAULT_ROTATION;
+        Vector3Float translation = ItemTransform.DEFAULT_TRANSLATION;
+        Vector3Float scale = ItemTransform.DEFAULT_SCALE;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "rotation" -> rotation = GsonUtil.readVector3Float(reader);
+                case "translation" -> translation = clampTranslation(GsonUtil.readVector3Float(reader));
+                case "scale" -> scale = clampScale(GsonUtil.readVector3Float(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return ItemTransform.transform(rotation, translation, scale);
+    }
+
+    private static Vector3Float clampTranslation(Vector3Float translation) {
+        // clamp translations between -80 and 80 (what Minecraft does)
+        return new Vector3Float(
+                Math.max(-80F, Math.min(80F, translation.x())),
+                Math.max(-80F, Math.min(80F, translation.y())),
+                Math.max(-80F, Math.min(80F, translation.z()))
+        );
+    }
+
+    private static Vector3Float clampScale(Vector3Float scale) {
+        // set max to 4 (what Minecraft does)
+        return new Vector3Float(
+                Math.min(4F, scale.x()),
+                Math.min(4F, scale.y()),
+                Math.min(4F, scale.z())
+        );
+    }
+
     private static void writeTextures(JsonWriter writer, ModelTextures texture) throws IOException {
         ModelTexture particle = texture.particle();
         final List<ModelTexture> layers = texture.layers();
@@ -524,33 +782,41 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
     private static ModelTextures readTextures(JsonElement node) {
 
         JsonObject objectNode = node.getAsJsonObject();
-        ModelTexture particle = null;
-        List<ModelTexture> layers = new ArrayList<>(objectNode.entrySet().size());
-        Map<String, ModelTexture> variables = new LinkedHashMap<>();
+        ModelTextures.Builder builder = ModelTextures.builder();
 
         for (Map.Entry<String, JsonElement> entry : objectNode.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue().getAsString();
-            ModelTexture texture = value.charAt(0) == '#'
-                    ? ModelTexture.ofReference(value.substring(1))
-                    : ModelTexture.ofKey(Key.key(value));
-
-            if ("particle".equals(key)) {
-                particle = texture;
-            } else if (key.startsWith("layer")) {
-                int layer = Integer.parseInt(key.substring("layer".length()));
-                // TODO: Fix
-                layers.add(texture);
-            } else {
-                variables.put(key, texture);
-            }
+            readTexture(builder, entry.getKey(), entry.getValue().getAsString());
         }
 
-        return ModelTextures.builder()
-                .particle(particle)
-                .layers(layers)
-                .variables(variables)
-                .build();
+        return builder.build();
+    }
+
+    private static ModelTextures readTextures(JsonReader reader) throws IOException {
+        ModelTextures.Builder builder = ModelTextures.builder();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            readTexture(builder, reader.nextName(), reader.nextString());
+        }
+        reader.endObject();
+
+        return builder.build();
+    }
+
+    private static void readTexture(ModelTextures.Builder builder, String key, String value) {
+        ModelTexture texture = value.charAt(0) == '#'
+                ? ModelTexture.ofReference(value.substring(1))
+                : ModelTexture.ofKey(Key.key(value));
+
+        if ("particle".equals(key)) {
+            builder.particle(texture);
+        } else if (key.startsWith("layer")) {
+            int layer = Integer.parseInt(key.substring("layer".length()));
+            // TODO: Fix
+            builder.addLayer(texture);
+        } else {
+            builder.addVariable(key, texture);
+        }
     }
 
 }
\ No newline at end of file
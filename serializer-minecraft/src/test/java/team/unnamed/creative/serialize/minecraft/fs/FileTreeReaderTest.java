@@ -93,4 +93,21 @@ interface FileTreeReaderTest {
         }
     }
 
+    @Test
+    @DisplayName("Test FileTreeReader entry lookup, if indexed")
+    default void test_file_tree_contains() throws IOException {
+        try (FileTreeReader reader = createReader()) {
+            if (!reader.indexed()) {
+                Assertions.assertThrows(UnsupportedOperationException.class, () -> reader.contains("file.txt"));
+                return;
+            }
+
+            // entries can be looked up before they are read
+            assertTrue(reader.contains("file.txt"));
+            assertTrue(reader.contains("dir/subdir/file3.txt"));
+            Assertions.assertFalse(reader.contains("dir/subdir"));
+            Assertions.assertFalse(reader.contains("dir/nonexistent.txt"));
+        }
+    }
+
 }
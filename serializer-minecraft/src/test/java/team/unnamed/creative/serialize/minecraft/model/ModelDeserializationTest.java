@@ -23,12 +23,14 @@
  */
 package team.unnamed.creative.serialize.minecraft.model;
 
+import com.google.gson.stream.JsonReader;
 import net.kyori.adventure.key.Key;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import team.unnamed.creative.base.Axis3D;
 import team.unnamed.creative.base.CubeFace;
 import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.metadata.pack.PackFormat;
 import team.unnamed.creative.base.Vector3Float;
 import team.unnamed.creative.model.Element;
 import team.unnamed.creative.model.ElementFace;
@@ -36,8 +38,10 @@ import team.unnamed.creative.model.ElementRotation;
 import team.unnamed.creative.model.Model;
 import team.unnamed.creative.model.ModelTexture;
 import team.unnamed.creative.model.ModelTextures;
+import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import team.unnamed.creative.texture.TextureUV;
 
+import java.io.StringReader;
 import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -120,4 +124,21 @@ class ModelDeserializationTest {
         );
     }
 
+    @Test
+    @DisplayName("Test that streaming and tree-based model deserialization are equivalent")
+    void test_streaming_matches_tree() throws Exception {
+        for (String name : new String[]{"cross", "cube", "cube_all", "door_top_left_open"}) {
+            String json = Readable.resource(getClass().getClassLoader(), "model/" + name + ".json").readAsUTF8String();
+            Key key = Key.key("block/" + name);
+
+            Model fromTree = ModelSerializer.INSTANCE.deserializeFromJson(GsonUtil.parseString(json), key, PackFormat.UNKNOWN);
+            Model fromStream;
+            try (JsonReader reader = new JsonReader(new StringReader(json))) {
+                fromStream = ModelSerializer.INSTANCE.deserializeFromJson(reader, key, PackFormat.UNKNOWN);
+            }
+
+            assertEquals(fromTree, fromStream, "Streaming result differs for model '" + name + "'");
+        }
+    }
+
 }
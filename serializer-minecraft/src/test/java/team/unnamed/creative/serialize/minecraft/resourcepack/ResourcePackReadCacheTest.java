@@ -0,0 +1,174 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.ResourcePackReadCache;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourcePackReadCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void test_unchanged_files_are_reused() throws IOException {
+        final Path modelFile = directory.resolve("assets/minecraft/models/item/apple.json");
+        final Path textureFile = directory.resolve("assets/minecraft/textures/item/apple.png");
+        Files.createDirectories(modelFile.getParent());
+        Files.createDirectories(textureFile.getParent());
+        Files.writeString(directory.resolve("pack.mcmeta"), "{ \"pack\": { \"pack_format\": 34, \"description\": \"\" } }");
+        Files.writeString(modelFile, "{ \"parent\": \"minecraft:item/generated\" }");
+        Files.write(textureFile, new byte[] { 1, 2, 3 });
+
+        final ResourcePackReadCache cache = ResourcePackReadCache.create();
+        final MinecraftResourcePackReader reader = MinecraftResourcePackReader.builder()
+                .cache(cache)
+                .build();
+
+        final ResourcePack first = reader.readFromDirectory(directory);
+        final ResourcePack second = reader.readFromDirectory(directory);
+
+        final Model model = first.model(Key.key("item/apple"));
+        final Texture texture = first.texture(Key.key("item/apple.png"));
+        assertNotNull(model);
+        assertNotNull(texture);
+        assertSame(model, second.model(Key.key("item/apple")), "unchanged model should be reused");
+        assertSame(texture.data(), second.texture(Key.key("item/apple.png")).data(), "unchanged texture should be reused");
+
+        // change the model and remove the texture
+        Files.writeString(modelFile, "{ \"parent\": \"minecraft:item/handheld\" }");
+        Files.delete(textureFile);
+        final int sizeBefore = cache.size();
+
+        final ResourcePack third = reader.readFromDirectory(directory);
+        final Model changed = third.model(Key.key("item/apple"));
+        assertNotNull(changed);
+        assertNotSame(model, changed);
+        assertEquals(Key.key("item/handheld"), changed.parent());
+        assertEquals(0, third.textures().size());
+        assertEquals(sizeBefore - 1, cache.size(), "removed texture should be evicted");
+    }
+
+    @Test
+    void test_persisted_cache_is_loaded_on_creation() throws IOException {
+        final Path modelFile = directory.resolve("assets/minecraft/models/item/apple.json");
+        final Path textureFile = directory.resolve("assets/minecraft/textures/item/apple.png");
+        final Path cacheFile = cacheDirectory.resolve("read-cache.bin");
+        Files.createDirectories(modelFile.getParent());
+        Files.createDirectories(textureFile.getParent());
+        Files.writeString(directory.resolve("pack.mcmeta"), "{ \"pack\": { \"pack_format\": 34, \"description\": \"\" } }");
+        Files.writeString(modelFile, "{ \"parent\": \"minecraft:item/generated\" }");
+        Files.write(textureFile, new byte[] { 1, 2, 3 });
+
+        MinecraftResourcePackReader.builder()
+                .cache(ResourcePackReadCache.create(cacheFile))
+                .build()
+                .readFromDirectory(directory);
+        assertTrue(Files.exists(cacheFile), "cache should be saved after reading");
+
+        // replace the texture keeping its size and modification time, so
+        // that only a loaded index can make the reader keep the old data
+        final FileTime textureTime = Files.getLastModifiedTime(textureFile);
+        Files.write(textureFile, new byte[] { 4, 5, 6 });
+        Files.setLastModifiedTime(textureFile, textureTime);
+
+        // touch the model without changing it
+        final FileTime modelTime = Files.getLastModifiedTime(modelFile);
+        Files.setLastModifiedTime(modelFile, FileTime.fromMillis(modelTime.toMillis() + 60_000L));
+
+        final ResourcePackReadCache restarted = ResourcePackReadCache.create(cacheFile);
+        assertEquals(2, restarted.size());
+        final ResourcePack pack = MinecraftResourcePackReader.builder()
+                .cache(restarted)
+                .build()
+                .readFromDirectory(directory);
+
+        final Texture texture = pack.texture(Key.key("item/apple.png"));
+        assertNotNull(texture);
+        assertArrayEquals(new byte[] { 1, 2, 3 }, texture.data().toByteArray(), "unchanged entry should come from the cache file");
+
+        final Model model = pack.model(Key.key("item/apple"));
+        assertNotNull(model);
+        assertEquals(Key.key("item/generated"), model.parent());
+
+        // the touched model is stored with its new time
+        final ResourcePackReadCache again = ResourcePackReadCache.create(cacheFile);
+        final Model reloaded = MinecraftResourcePackReader.builder()
+                .cache(again)
+                .build()
+                .readFromDirectory(directory)
+                .model(Key.key("item/apple"));
+        assertNotNull(reloaded);
+        assertEquals(model, reloaded);
+    }
+
+    @Test
+    void test_unknown_cache_file_is_ignored() throws IOException {
+        final Path cacheFile = cacheDirectory.resolve("read-cache.bin");
+        Files.writeString(cacheFile, "not a cache");
+        assertEquals(0, ResourcePackReadCache.create(cacheFile).size());
+
+        Files.write(cacheFile, new byte[] { 0x43, 0x52 });
+        assertEquals(0, ResourcePackReadCache.create(cacheFile).size());
+    }
+
+    @Test
+    void test_touched_files_are_reused() throws IOException {
+        final Path modelFile = directory.resolve("assets/minecraft/models/item/apple.json");
+        Files.createDirectories(modelFile.getParent());
+        Files.writeString(modelFile, "{ \"parent\": \"minecraft:item/generated\" }");
+
+        final MinecraftResourcePackReader reader = MinecraftResourcePackReader.builder()
+                .cache(ResourcePackReadCache.create())
+                .build();
+        final Model model = reader.readFromDirectory(directory).model(Key.key("item/apple"));
+        assertNotNull(model);
+
+        final FileTime time = Files.getLastModifiedTime(modelFile);
+        Files.setLastModifiedTime(modelFile, FileTime.fromMillis(time.toMillis() + 60_000L));
+        assertSame(model, reader.readFromDirectory(directory).model(Key.key("item/apple")), "content hash should match");
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.metadata.animation.AnimationMeta;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TextureMetadataPairingTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void test_zip_texture_metadata_pairing() throws IOException {
+        final String animation = "{ \"animation\": { \"frametime\": 2 } }";
+        final Path file = directory.resolve("pack.zip");
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(file), StandardCharsets.UTF_8)) {
+            // metadata before its texture
+            put(output, "assets/minecraft/textures/block/water.png.mcmeta", animation);
+            put(output, "assets/minecraft/textures/block/stone.png", "stone");
+            put(output, "assets/minecraft/textures/block/water.png", "water");
+            // texture before its metadata
+            put(output, "assets/minecraft/textures/block/lava.png", "lava");
+            put(output, "assets/minecraft/textures/block/lava.png.mcmeta", animation);
+            // metadata without texture
+            put(output, "assets/minecraft/textures/block/missing.png.mcmeta", animation);
+        }
+
+        final ResourcePack resourcePack = MinecraftResourcePackReader.minecraft().readFromZipFile(file);
+        assertEquals(3, resourcePack.textures().size());
+
+        final Texture stone = resourcePack.texture(Key.key("block/stone.png"));
+        assertNotNull(stone);
+        assertNull(stone.meta().meta(AnimationMeta.class));
+
+        for (final String name : new String[] { "block/water.png", "block/lava.png" }) {
+            final Texture texture = resourcePack.texture(Key.key(name));
+            assertNotNull(texture, name);
+            assertNotNull(texture.meta().meta(AnimationMeta.class), name + " should have its metadata");
+        }
+    }
+
+    private static void put(final ZipOutputStream output, final String name, final String content) throws IOException {
+        output.putNextEntry(new ZipEntry(name));
+        output.write(content.getBytes(StandardCharsets.UTF_8));
+        output.closeEntry();
+    }
+
+}
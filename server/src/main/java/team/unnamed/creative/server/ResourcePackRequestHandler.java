@@ -28,6 +28,7 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.server.request.ResourcePackDownloadRequest;
 
 import java.io.IOException;
@@ -115,11 +116,13 @@ public interface ResourcePackRequestHandler extends team.unnamed.creative.server
             @Override
             public void onRequest(@Nullable ResourcePackRequest request, HttpExchange exchange) throws IOException {
                 if (request != null || !validOnly) {
-                    byte[] data = pack.data().toByteArray();
+                    Writable data = pack.data();
+                    long length = data.length();
                     exchange.getResponseHeaders().set("Content-Type", "application/zip");
-                    exchange.sendResponseHeaders(200, data.length);
+                    // write the data directly, if its length is unknown, use chunked encoding (0)
+                    exchange.sendResponseHeaders(200, length < 0 ? 0 : length);
                     try (OutputStream responseStream = exchange.getResponseBody()) {
-                        responseStream.write(data);
+                        data.write(responseStream);
                     }
                 } else {
                     ResourcePackRequestHandler.super.onInvalidRequest(exchange);
@@ -27,6 +27,7 @@ import com.sun.net.httpserver.HttpExchange;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.server.request.ResourcePackDownloadRequest;
 
 import java.io.IOException;
@@ -55,11 +56,13 @@ final class FixedResourcePackRequestHandler implements ResourcePackRequestHandle
             return;
         }
 
-        final byte[] data = pack.data().toByteArray();
+        final Writable data = pack.data();
+        final long length = data.length();
         exchange.getResponseHeaders().set("Content-Type", "application/zip");
-        exchange.sendResponseHeaders(200, data.length);
+        // write the data directly, if its length is unknown, use chunked encoding (0)
+        exchange.sendResponseHeaders(200, length < 0 ? 0 : length);
         try (final OutputStream responseStream = exchange.getResponseBody()) {
-            responseStream.write(data);
+            data.write(responseStream);
         }
     }
 